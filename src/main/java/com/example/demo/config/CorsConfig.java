@@ -1,5 +1,7 @@
 package com.example.demo.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.cors.CorsConfiguration;
@@ -12,10 +14,10 @@ import java.util.List;
 @Configuration
 public class CorsConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(CorsConfig.class);
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
-        System.out.println("=== CORS CONFIG LOADING ===");
-        
         CorsConfiguration configuration = new CorsConfiguration();
         
         // Allow specific origins (update with your frontend domains)
@@ -65,12 +67,8 @@ public class CorsConfig {
         source.registerCorsConfiguration("/api/**", configuration);
         source.registerCorsConfiguration("/error", configuration); // For error pages
         
-        System.out.println("Allowed Origins: " + allowedOrigins);
-        System.out.println("Allowed Methods: " + allowedMethods);
-        System.out.println("Allowed Headers: " + allowedHeaders);
-        System.out.println("Allow Credentials: " + configuration.getAllowCredentials());
-        System.out.println("✓ CORS configuration applied successfully");
-        System.out.println("============================");
+        log.debug("CORS allowed origins: {}, methods: {}, headers: {}, credentials: {}",
+                allowedOrigins, allowedMethods, allowedHeaders, configuration.getAllowCredentials());
         
         return source;
     }
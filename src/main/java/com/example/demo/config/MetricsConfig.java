@@ -0,0 +1,98 @@
+package com.example.demo.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Slice;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Application metrics, all browsable under /actuator/metrics and scraped from
+ * /actuator/prometheus (both require an authenticated caller):
+ *
+ * sports.service              - timer per service method (@Timed on the service classes)
+ * spring.data.repository.invocations - timer per repository method (actuator)
+ * sports.repository.results   - documents returned per repository call
+ * mongodb.driver.commands     - driver latency per command and collection (see MongoConfig)
+ * mongodb.driver.commands.slow - commands over the slow-query threshold
+ * sports.write-behind.batch.size / .queue / .rejections - group commit of creates (see GroupCommitWriter)
+ * sports.rate-limit.rejections - requests refused with 429, tagged by endpoint class (see RateLimiter)
+ * sports.auth.hash.queue-wait / .time / .queue / .rejections - BCrypt on its bounded pool (see PasswordHasher)
+ *
+ * Percentiles and histograms are switched on in application.properties.
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String SERVICE_TIMER = "sports.service";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public RepositoryResultSizeAspect repositoryResultSizeAspect(MeterRegistry meterRegistry) {
+        return new RepositoryResultSizeAspect(meterRegistry);
+    }
+
+    /**
+     * Records how many documents each repository query method returns. Latency is
+     * already covered by the actuator's repository timer; streaming methods are
+     * skipped because their size is only known once the caller has drained them.
+     */
+    @Aspect
+    public static class RepositoryResultSizeAspect {
+
+        private final MeterRegistry meterRegistry;
+        private final Map<Method, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+        public RepositoryResultSizeAspect(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Around("execution(* com.example.demo.repository.*Repository.*(..))")
+        public Object recordResultSize(ProceedingJoinPoint joinPoint) throws Throwable {
+            Object result = joinPoint.proceed();
+            int size = resultSize(result);
+            if (size >= 0) {
+                Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+                summaries.computeIfAbsent(method, this::summary).record(size);
+            }
+            return result;
+        }
+
+        private DistributionSummary summary(Method method) {
+            return DistributionSummary.builder("sports.repository.results")
+                    .description("Documents returned per repository call")
+                    .baseUnit("documents")
+                    .tag("repository", method.getDeclaringClass().getSimpleName())
+                    .tag("method", method.getName())
+                    .register(meterRegistry);
+        }
+
+        static int resultSize(Object result) {
+            if (result instanceof Collection<?> collection) {
+                return collection.size();
+            }
+            if (result instanceof Slice<?> slice) {
+                return slice.getNumberOfElements();
+            }
+            if (result instanceof Optional<?> optional) {
+                return optional.isPresent() ? 1 : 0;
+            }
+            return -1;
+        }
+    }
+}
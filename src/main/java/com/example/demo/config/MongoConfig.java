@@ -1,13 +1,50 @@
 package com.example.demo.config;
 
+import com.mongodb.MongoClientSettings;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsCommandListener;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsConnectionPoolListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.config.AbstractMongoClientConfiguration;
 
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class MongoConfig extends AbstractMongoClientConfiguration {
-    
+
+    // Provided by the actuator's Mongo metrics auto-configuration; it only customizes
+    // Boot's own client, so the listeners are attached to ours here
+    @Autowired
+    private ObjectProvider<MongoMetricsCommandListener> commandMetricsListener;
+
+    @Autowired
+    private ObjectProvider<MongoMetricsConnectionPoolListener> connectionPoolMetricsListener;
+
+    @Autowired
+    private SlowMongoCommandListener slowCommandListener;
+
+    // Connections per server, and how long a request waits for one before failing
+    @Value("${app.mongo.pool.max-size:100}")
+    private int poolMaxSize;
+
+    @Value("${app.mongo.pool.max-wait-ms:120000}")
+    private long poolMaxWaitMs;
+
     @Override
     protected String getDatabaseName() {
         return "sports_investment_db";
     }
+
+    @Override
+    protected void configureClientSettings(MongoClientSettings.Builder builder) {
+        builder.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(poolMaxSize)
+                .maxWaitTime(poolMaxWaitMs, TimeUnit.MILLISECONDS));
+        commandMetricsListener.ifAvailable(builder::addCommandListener);
+        connectionPoolMetricsListener.ifAvailable(listener ->
+                builder.applyToConnectionPoolSettings(pool -> pool.addConnectionPoolListener(listener)));
+        builder.addCommandListener(slowCommandListener);
+    }
 }
@@ -0,0 +1,314 @@
+package com.example.demo.config;
+
+import com.example.demo.model.AnalyticsRollup;
+import com.example.demo.model.InvestmentRecord;
+import com.example.demo.model.RecordBucket;
+import com.example.demo.model.Schedule;
+import com.example.demo.model.User;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Creates the indexes declared on the models (@Indexed / @CompoundIndex) once the
+ * application is ready, and optionally verifies that every repository access path
+ * is served by an index.
+ *
+ * MongoConfig keeps auto index creation off so that mapping never blocks on the
+ * database; this component takes over that job explicitly.
+ *
+ * With app.mongo.indexes.verify-query-plans=true each repository query shape is
+ * explained against the live database and startup fails if any winning plan
+ * contains a COLLSCAN stage.
+ */
+@Component
+public class MongoIndexInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+
+    private static final List<Class<?>> INDEXED_ENTITIES =
+            List.of(InvestmentRecord.class, Schedule.class, User.class, AnalyticsRollup.class, RecordBucket.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${app.mongo.indexes.ensure-on-startup:true}")
+    private boolean ensureOnStartup;
+
+    @Value("${app.mongo.indexes.verify-query-plans:false}")
+    private boolean verifyQueryPlans;
+
+    // Runs before other ready listeners (e.g. the rollup rebuild) so they already hit indexes
+    @Order(0)
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (ensureOnStartup) {
+            ensureIndexes();
+            backfillMatchNameKeys();
+        }
+        if (verifyQueryPlans) {
+            List<String> collectionScans = findCollectionScans();
+            if (!collectionScans.isEmpty()) {
+                throw new IllegalStateException("Repository queries without index support: " + collectionScans);
+            }
+            log.info("Verified query plans for {} repository queries", queryShapes().size());
+        }
+    }
+
+    // ==================== INDEX CREATION ====================
+
+    public int ensureIndexes() {
+        MongoMappingContext mappingContext =
+                (MongoMappingContext) mongoTemplate.getConverter().getMappingContext();
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+
+        int created = 0;
+        for (Class<?> entity : INDEXED_ENTITIES) {
+            IndexOperations indexOps = mongoTemplate.indexOps(entity);
+            for (IndexDefinition index : resolver.resolveIndexFor(entity)) {
+                try {
+                    indexOps.ensureIndex(index);
+                    created++;
+                } catch (Exception e) {
+                    log.warn("Failed to ensure index {} on {}",
+                            index.getIndexKeys().toJson(), entity.getSimpleName(), e);
+                }
+            }
+        }
+        log.info("Ensured {} MongoDB indexes", created);
+        return created;
+    }
+
+    /**
+     * Derives Schedule.matchNameKey for schedules saved before the key existed, so
+     * the duplicate check finds them through user_match_name_date. Keys are computed
+     * with the same Java normalisation new writes use.
+     */
+    public int backfillMatchNameKeys() {
+        Query missing = Query.query(Criteria.where("matchNameKey").exists(false).and("matchName").exists(true));
+        missing.fields().include("matchName");
+
+        int updated = 0;
+        BulkOperations bulk = null;
+        try (Stream<Schedule> schedules = mongoTemplate.stream(missing, Schedule.class)) {
+            Iterator<Schedule> it = schedules.iterator();
+            while (it.hasNext()) {
+                Schedule schedule = it.next();
+                if (bulk == null) {
+                    bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, Schedule.class);
+                }
+                bulk.updateOne(Query.query(Criteria.where("_id").is(schedule.getId())),
+                        Update.update("matchNameKey", Schedule.matchNameKey(schedule.getMatchName())));
+                if (++updated % BACKFILL_BATCH_SIZE == 0) {
+                    bulk.execute();
+                    bulk = null;
+                }
+            }
+        }
+        if (bulk != null) {
+            bulk.execute();
+        }
+        if (updated > 0) {
+            log.info("Backfilled matchNameKey on {} schedules", updated);
+        }
+        return updated;
+    }
+
+    // ==================== QUERY PLAN VERIFICATION ====================
+
+    /**
+     * Explains every repository query shape and returns the ones whose winning
+     * plan scans the whole collection.
+     */
+    public List<String> findCollectionScans() {
+        List<String> collectionScans = new ArrayList<>();
+        for (QueryShape shape : queryShapes()) {
+            Document explain = mongoTemplate.getCollection(mongoTemplate.getCollectionName(shape.entity))
+                    .find(shape.filter)
+                    .sort(shape.sort)
+                    .explain();
+            Document queryPlanner = explain.get("queryPlanner", Document.class);
+            Object winningPlan = queryPlanner != null ? queryPlanner.get("winningPlan") : null;
+            if (winningPlan == null || containsStage(winningPlan, "COLLSCAN")) {
+                collectionScans.add(shape.name);
+            }
+        }
+        return collectionScans;
+    }
+
+    /**
+     * One entry per repository method, mirroring the filter and sort Spring Data
+     * derives for it. Keep in step with the repositories when adding queries.
+     */
+    static List<QueryShape> queryShapes() {
+        String userId = "index-check";
+        Date today = toDate(LocalDate.now());
+        Date monthAgo = toDate(LocalDate.now().minusMonths(1));
+        Document dateRange = new Document("$gte", monthAgo).append("$lte", today);
+        Document betweenRange = new Document("$gt", monthAgo).append("$lt", today);
+        Document byUser = new Document("userId", userId);
+        Document none = new Document();
+
+        List<QueryShape> shapes = new ArrayList<>();
+
+        // InvestmentRecordRepository
+        shapes.add(new QueryShape("InvestmentRecord.findByUserId", InvestmentRecord.class, byUser, none));
+        shapes.add(new QueryShape("InvestmentRecord.findByUserIdAndSportType", InvestmentRecord.class,
+                new Document("userId", userId).append("sportType", "CRICKET"), none));
+        shapes.add(new QueryShape("InvestmentRecord.findByUserIdOrderByEntryDateDesc", InvestmentRecord.class,
+                byUser, new Document("entryDate", -1)));
+        shapes.add(new QueryShape("InvestmentRecord.findByUserIdAndDateRange", InvestmentRecord.class,
+                new Document("userId", userId).append("entryDate", dateRange), none));
+        shapes.add(new QueryShape("InvestmentRecord.findByUserIdAndEntryDateBetween", InvestmentRecord.class,
+                new Document("userId", userId).append("entryDate", betweenRange), none));
+        shapes.add(new QueryShape("InvestmentRecord.findByUserIdAndSportTypeAndDateRange", InvestmentRecord.class,
+                new Document("userId", userId).append("sportType", "CRICKET").append("entryDate", dateRange), none));
+        shapes.add(new QueryShape("InvestmentRecord.findByUserId(Pageable)", InvestmentRecord.class,
+                byUser, new Document("createdDate", -1)));
+        shapes.add(new QueryShape("InvestmentRecord.findByUserIdAndSportType(Pageable)", InvestmentRecord.class,
+                new Document("userId", userId).append("sportType", "CRICKET"), new Document("createdDate", -1)));
+        shapes.add(new QueryShape("InvestmentRecord.findByUserIdAndDateRange(Pageable)", InvestmentRecord.class,
+                new Document("userId", userId).append("entryDate", dateRange), new Document("createdDate", -1)));
+        shapes.add(new QueryShape("InvestmentRecord.streamByUserIdOrderByEntryDateDesc", InvestmentRecord.class,
+                byUser, new Document("entryDate", -1)));
+        shapes.add(new QueryShape("InvestmentRecord.streamByUserIdAndSportType", InvestmentRecord.class,
+                new Document("userId", userId).append("sportType", "CRICKET"), none));
+        shapes.add(new QueryShape("InvestmentRecord.streamByUserIdAndEntryDateBetween", InvestmentRecord.class,
+                new Document("userId", userId).append("entryDate", betweenRange), none));
+        shapes.add(new QueryShape("InvestmentRecord.findAmountsByUserId", InvestmentRecord.class, byUser, none));
+        shapes.add(new QueryShape("InvestmentRecord.findAmountsByUserIdAndSportType", InvestmentRecord.class,
+                new Document("userId", userId).append("sportType", "CRICKET"), none));
+        shapes.add(new QueryShape("InvestmentRecord.findAmountsByUserIdAndDateRange", InvestmentRecord.class,
+                new Document("userId", userId).append("entryDate", dateRange), none));
+        shapes.add(new QueryShape("InvestmentRecord.findByIdAndUserId", InvestmentRecord.class,
+                new Document("_id", userId).append("userId", userId), none));
+        shapes.add(new QueryShape("InvestmentRecord.countByUserId", InvestmentRecord.class, byUser, none));
+
+        // ScheduleRepository
+        shapes.add(new QueryShape("Schedule.findByUserId", Schedule.class, byUser, none));
+        shapes.add(new QueryShape("Schedule.findByIdAndUserId", Schedule.class,
+                new Document("_id", userId).append("userId", userId), none));
+        shapes.add(new QueryShape("Schedule.findByUserIdOrderByMatchDateDesc", Schedule.class,
+                byUser, new Document("matchDate", -1)));
+        shapes.add(new QueryShape("Schedule.findByUserIdAndSportType", Schedule.class,
+                new Document("userId", userId).append("sportType", "CRICKET"), none));
+        shapes.add(new QueryShape("Schedule.findByUserIdAndMatchDateAfterOrderByMatchDateAsc", Schedule.class,
+                new Document("userId", userId).append("matchDate", new Document("$gt", today)),
+                new Document("matchDate", 1)));
+        shapes.add(new QueryShape("Schedule.findUpcomingMatches", Schedule.class,
+                new Document("userId", userId).append("matchDate", new Document("$gt", today)), none));
+        shapes.add(new QueryShape("Schedule.findByUserIdAndMatchDateBetween", Schedule.class,
+                new Document("userId", userId).append("matchDate", betweenRange), none));
+        shapes.add(new QueryShape("Schedule.findByUserIdAndMatchDate", Schedule.class,
+                new Document("userId", userId).append("matchDate", today), none));
+        shapes.add(new QueryShape("Schedule.findByUserIdAndDateRange", Schedule.class,
+                new Document("userId", userId).append("matchDate", dateRange), none));
+        shapes.add(new QueryShape("Schedule.existsByUserIdAndMatchNameKeyAndMatchDate", Schedule.class,
+                new Document("userId", userId).append("matchNameKey", "final").append("matchDate", today), none));
+        shapes.add(new QueryShape("Schedule.streamByUserIdOrderByMatchDateDesc", Schedule.class,
+                byUser, new Document("matchDate", -1)));
+        shapes.add(new QueryShape("Schedule.streamByUserIdAndSportType", Schedule.class,
+                new Document("userId", userId).append("sportType", "CRICKET"), none));
+        shapes.add(new QueryShape("Schedule.streamByUserIdAndMatchDateBetween", Schedule.class,
+                new Document("userId", userId).append("matchDate", betweenRange), none));
+        shapes.add(new QueryShape("Schedule.countByUserId", Schedule.class, byUser, none));
+        shapes.add(new QueryShape("Schedule.findRecentSchedules", Schedule.class,
+                new Document("userId", userId).append("matchDate", new Document("$gte", monthAgo)), none));
+
+        // KeysetPager pages resuming after a cursor
+        Document afterCursor = new Document("$or", List.of(
+                new Document("entryDate", new Document("$lt", monthAgo)),
+                new Document("entryDate", monthAgo).append("_id", new Document("$lt", userId))));
+        Document pageOrder = new Document("entryDate", -1).append("_id", -1);
+        shapes.add(new QueryShape("SportsService.getUserRecordsPage", InvestmentRecord.class,
+                new Document("userId", userId).append("entryDate", new Document("$lte", monthAgo))
+                        .append("$or", afterCursor.get("$or")), pageOrder));
+        shapes.add(new QueryShape("SportsService.getUserRecordsPage(sportType)", InvestmentRecord.class,
+                new Document("userId", userId).append("sportType", "CRICKET")
+                        .append("entryDate", new Document("$lte", monthAgo)), pageOrder));
+        shapes.add(new QueryShape("SportsService.getUserSchedulesPage", Schedule.class,
+                new Document("userId", userId).append("matchDate", new Document("$lte", monthAgo)),
+                new Document("matchDate", -1).append("_id", -1)));
+        shapes.add(new QueryShape("PublicScheduleFeed.load", Schedule.class, none,
+                new Document("matchDate", -1).append("_id", -1)));
+
+        // UserRepository / AnalyticsRollupRepository
+        shapes.add(new QueryShape("User.findByUsername", User.class, new Document("username", userId), none));
+        shapes.add(new QueryShape("AnalyticsRollup.findByUserId", AnalyticsRollup.class, byUser, none));
+
+        // RecordBucketStore (app.records.storage=buckets)
+        shapes.add(new QueryShape("RecordBucketStore.stream", RecordBucket.class,
+                new Document("userId", userId).append("month", new Document("$lte", "9999-12")),
+                new Document("month", -1).append("seq", 1)));
+        shapes.add(new QueryShape("RecordBucketStore.findById", RecordBucket.class,
+                new Document("userId", userId).append("e.i", userId), none));
+
+        return shapes;
+    }
+
+    static boolean containsStage(Object plan, String stage) {
+        if (plan instanceof Document document) {
+            if (stage.equals(document.get("stage"))) {
+                return true;
+            }
+            for (Object value : document.values()) {
+                if (containsStage(value, stage)) {
+                    return true;
+                }
+            }
+        } else if (plan instanceof List<?> list) {
+            for (Object value : list) {
+                if (containsStage(value, stage)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Date toDate(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    static final class QueryShape {
+        final String name;
+        final Class<?> entity;
+        final Document filter;
+        final Document sort;
+
+        QueryShape(String name, Class<?> entity, Document filter, Document sort) {
+            this.name = name;
+            this.entity = entity;
+            this.filter = filter;
+            this.sort = sort;
+        }
+    }
+}
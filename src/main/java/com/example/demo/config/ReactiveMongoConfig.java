@@ -0,0 +1,57 @@
+package com.example.demo.config;
+
+import com.example.demo.repository.ReactiveUserRepository;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import org.bson.UuidRepresentation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.config.EnableReactiveMongoAuditing;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.SimpleReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+
+/**
+ * Reactive Streams MongoDB client for the reactive profile (application-reactive.properties).
+ *
+ * It talks to the same database as MongoConfig, with the same metrics and
+ * slow-query listeners, and shares its mapping converter so both stacks read and
+ * write identical documents. Boot's own reactive Mongo auto-configuration is
+ * excluded in application.properties; it would otherwise build a second client
+ * from spring.data.mongodb.uri and register the Reactive* repositories even on
+ * the servlet stack. Enabling the reactive repositories switches off Boot's
+ * blocking repository auto-configuration, so both sets are enabled here; the
+ * blocking ones still back index checks and rollup rebuilds.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+@EnableMongoRepositories(basePackageClasses = ReactiveUserRepository.class)
+@EnableReactiveMongoRepositories(basePackageClasses = ReactiveUserRepository.class)
+@EnableReactiveMongoAuditing
+public class ReactiveMongoConfig {
+
+    @Autowired
+    private MongoConfig mongoConfig;
+
+    @Bean
+    public MongoClient reactiveMongoClient() {
+        MongoClientSettings.Builder builder = MongoClientSettings.builder()
+                .uuidRepresentation(UuidRepresentation.JAVA_LEGACY);
+        mongoConfig.configureClientSettings(builder);
+        return MongoClients.create(builder.build());
+    }
+
+    @Bean
+    public ReactiveMongoTemplate reactiveMongoTemplate(MongoClient reactiveMongoClient,
+                                                       MappingMongoConverter mappingMongoConverter) {
+        return new ReactiveMongoTemplate(
+                new SimpleReactiveMongoDatabaseFactory(reactiveMongoClient, mongoConfig.getDatabaseName()),
+                mappingMongoConverter);
+    }
+}
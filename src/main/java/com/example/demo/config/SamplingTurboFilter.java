@@ -0,0 +1,73 @@
+package com.example.demo.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps only one in N enabled events below WARN for the configured logger categories,
+ * so chatty per-request logging can stay on without flooding the appender.
+ *
+ * Configured in logback-spring.xml from app.logging.sampling, e.g.
+ * "com.example.demo.security=100,com.example.demo.service.impl=10".
+ * WARN and ERROR are never sampled; level checks (isDebugEnabled etc.) are not counted.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final List<Category> categories = new ArrayList<>();
+
+    public void setCategories(String spec) {
+        categories.clear();
+        if (spec == null || spec.isBlank()) {
+            return;
+        }
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                addWarn("Ignoring sampling entry '" + entry + "', expected <logger>=<rate>");
+                continue;
+            }
+            // A rate of 1 keeps everything, letting a narrower prefix opt out of a sampled parent
+            long rate = Math.max(1, Long.parseLong(parts[1].trim()));
+            categories.add(new Category(parts[0].trim(), rate));
+        }
+        // Most specific prefix wins
+        categories.sort((a, b) -> Integer.compare(b.prefix.length(), a.prefix.length()));
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (format == null || level == null || level.isGreaterOrEqual(Level.WARN) || categories.isEmpty()) {
+            return FilterReply.NEUTRAL;
+        }
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            // Disabled by level anyway; don't spend a sample on it
+            return FilterReply.NEUTRAL;
+        }
+
+        String name = logger.getName();
+        for (Category category : categories) {
+            if (name.startsWith(category.prefix)) {
+                return category.counter.getAndIncrement() % category.rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    private static final class Category {
+        final String prefix;
+        final long rate;
+        final AtomicLong counter = new AtomicLong();
+
+        Category(String prefix, long rate) {
+            this.prefix = prefix;
+            this.rate = rate;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.demo.config;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes MongoDB commands slower than app.mongo.slow-query.threshold-ms to the
+ * "mongo.slow-query" logger and counts them in mongodb.driver.commands.slow.
+ *
+ * Only the command name, collection and the field names of the filter are logged,
+ * never the values, so the log can be shipped without leaking user data. Route or
+ * silence it with logging.level.mongo.slow-query.
+ */
+@Component
+public class SlowMongoCommandListener implements CommandListener {
+
+    private static final Logger slowQueryLog = LoggerFactory.getLogger("mongo.slow-query");
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.mongo.slow-query.threshold-ms:100}")
+    private long thresholdMs;
+
+    // requestId -> "command collection [filter fields]", captured while the command document is still readable
+    private final Map<Integer, String> inFlight = new ConcurrentHashMap<>();
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (thresholdMs >= 0) {
+            inFlight.put(event.getRequestId(), describe(event.getCommandName(), event.getCommand()));
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        complete(event.getRequestId(), event.getCommandName(), event.getElapsedTime(TimeUnit.MILLISECONDS), "ok");
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        complete(event.getRequestId(), event.getCommandName(), event.getElapsedTime(TimeUnit.MILLISECONDS), "failed");
+    }
+
+    private void complete(int requestId, String commandName, long elapsedMs, String status) {
+        String description = inFlight.remove(requestId);
+        if (thresholdMs < 0 || elapsedMs < thresholdMs) {
+            return;
+        }
+
+        slowQueryLog.atWarn()
+                .addKeyValue("command", commandName)
+                .addKeyValue("elapsedMs", elapsedMs)
+                .addKeyValue("status", status)
+                .log("Slow MongoDB command ({} ms, {}): {}",
+                        elapsedMs, status, description != null ? description : commandName);
+
+        if (meterRegistry != null) {
+            Counter.builder("mongodb.driver.commands.slow")
+                    .description("MongoDB commands slower than app.mongo.slow-query.threshold-ms")
+                    .tag("command", commandName)
+                    .tag("status", status)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    /**
+     * Command name, target collection and the shape of the filter, e.g.
+     * "find investment_records [userId, entryDate]".
+     */
+    static String describe(String commandName, BsonDocument command) {
+        StringBuilder description = new StringBuilder(commandName);
+        BsonValue target = command.get(commandName);
+        if (target != null && target.isString()) {
+            description.append(' ').append(target.asString().getValue());
+        }
+        BsonValue filter = command.get("filter");
+        if (filter == null) {
+            filter = command.get("query");
+        }
+        if (filter != null && filter.isDocument()) {
+            description.append(' ').append(filter.asDocument().keySet());
+        }
+        return description.toString();
+    }
+}
@@ -1,16 +1,23 @@
 package com.example.demo.controller;
 
 import com.example.demo.dto.response.AnalyticsResponse;
+import com.example.demo.security.UserPrincipal;
 import com.example.demo.service.AnalyticsService;
+import com.example.demo.service.DataVersionService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
+import java.util.Map;
 
 @RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
 @RequestMapping("/api/analytics")
 @CrossOrigin(origins = "*")
 public class AnalyticsController {
@@ -18,10 +25,16 @@ public class AnalyticsController {
     @Autowired
     private AnalyticsService analyticsService;
     
+    @Autowired
+    private DataVersionService dataVersionService;
+    
     @GetMapping("/dashboard")
-    public ResponseEntity<AnalyticsResponse> getDashboardData(Authentication authentication) {
-        String username = authentication.getName();
-        AnalyticsResponse analytics = analyticsService.getDashboardAnalytics(username);
+    public ResponseEntity<AnalyticsResponse> getDashboardData(Authentication authentication, WebRequest webRequest) {
+        String userId = UserPrincipal.userIdOf(authentication);
+        if (webRequest.checkNotModified(dataVersionService.etag(userId))) {
+            return null;
+        }
+        AnalyticsResponse analytics = analyticsService.getDashboardAnalytics(userId);
         return ResponseEntity.ok(analytics);
     }
     
@@ -29,20 +42,28 @@ public class AnalyticsController {
     public ResponseEntity<AnalyticsResponse> getMonthlyAnalytics(
             @RequestParam int year,
             @RequestParam int month,
-            Authentication authentication) {
+            Authentication authentication,
+            WebRequest webRequest) {
         
-        String username = authentication.getName();
-        AnalyticsResponse analytics = analyticsService.getMonthlyAnalytics(username, year, month);
+        String userId = UserPrincipal.userIdOf(authentication);
+        if (webRequest.checkNotModified(dataVersionService.etag(userId))) {
+            return null;
+        }
+        AnalyticsResponse analytics = analyticsService.getMonthlyAnalytics(userId, year, month);
         return ResponseEntity.ok(analytics);
     }
     
     @GetMapping("/sport-wise")
     public ResponseEntity<AnalyticsResponse> getSportWiseAnalytics(
             @RequestParam String sportType,
-            Authentication authentication) {
+            Authentication authentication,
+            WebRequest webRequest) {
         
-        String username = authentication.getName();
-        AnalyticsResponse analytics = analyticsService.getSportWiseAnalytics(username, sportType);
+        String userId = UserPrincipal.userIdOf(authentication);
+        if (webRequest.checkNotModified(dataVersionService.etag(userId))) {
+            return null;
+        }
+        AnalyticsResponse analytics = analyticsService.getSportWiseAnalytics(userId, sportType);
         return ResponseEntity.ok(analytics);
     }
     
@@ -50,13 +71,27 @@ public class AnalyticsController {
     public ResponseEntity<AnalyticsResponse> getProfitLossAnalytics(
             @RequestParam(required = false) String startDate,
             @RequestParam(required = false) String endDate,
-            Authentication authentication) {
+            Authentication authentication,
+            WebRequest webRequest) {
         
-        String username = authentication.getName();
+        String userId = UserPrincipal.userIdOf(authentication);
+        if (webRequest.checkNotModified(dataVersionService.etag(userId))) {
+            return null;
+        }
         LocalDate start = startDate != null ? LocalDate.parse(startDate) : null;
         LocalDate end = endDate != null ? LocalDate.parse(endDate) : null;
         
-        AnalyticsResponse analytics = analyticsService.getProfitLossAnalytics(username, start, end);
+        AnalyticsResponse analytics = analyticsService.getProfitLossAnalytics(userId, start, end);
         return ResponseEntity.ok(analytics);
     }
+    
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildRollups(Authentication authentication) {
+        String userId = UserPrincipal.userIdOf(authentication);
+        int buckets = analyticsService.rebuildRollups(userId);
+        return ResponseEntity.ok(Map.of(
+            "success", true,
+            "buckets", buckets
+        ));
+    }
 }
@@ -3,15 +3,21 @@ package com.example.demo.controller;
 import com.example.demo.dto.request.LoginRequest;
 import com.example.demo.dto.request.RegisterRequest;
 import com.example.demo.dto.response.AuthResponse;
+import com.example.demo.exception.ServiceUnavailableException;
 import com.example.demo.service.AuthService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 
 @RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
 @RequestMapping("/api/auth")  // ✅ CORRECT: Authentication endpoints
 @CrossOrigin(origins = "*")
 public class AuthController {
@@ -24,6 +30,8 @@ public class AuthController {
         try {
             AuthResponse response = authService.login(request);
             return ResponseEntity.ok(response);
+        } catch (ServiceUnavailableException e) {
+            return busy(e);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(new ErrorResponse("Login failed: " + e.getMessage()));
@@ -35,6 +43,8 @@ public class AuthController {
         try {
             AuthResponse response = authService.register(request);
             return ResponseEntity.ok(response);
+        } catch (ServiceUnavailableException e) {
+            return busy(e);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(new ErrorResponse("Registration failed: " + e.getMessage()));
@@ -58,6 +68,13 @@ public class AuthController {
         }
     }
 
+    // Password hashing is saturated: tell the client to retry instead of queueing it
+    private ResponseEntity<?> busy(ServiceUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(new ErrorResponse(e.getMessage()));
+    }
+
     // ================== RESPONSE CLASSES ==================
 
     public static class ErrorResponse {
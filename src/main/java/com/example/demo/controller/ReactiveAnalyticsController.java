@@ -0,0 +1,77 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.response.AnalyticsResponse;
+import com.example.demo.security.UserPrincipal;
+import com.example.demo.service.ReactiveAnalyticsService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * WebFlux version of AnalyticsController for the reactive profile.
+ */
+@RestController
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "*")
+public class ReactiveAnalyticsController {
+    
+    @Autowired
+    private ReactiveAnalyticsService analyticsService;
+    
+    @GetMapping("/dashboard")
+    public Mono<ResponseEntity<AnalyticsResponse>> getDashboardData(Authentication authentication) {
+        String userId = UserPrincipal.userIdOf(authentication);
+        return analyticsService.getDashboardAnalytics(userId).map(ResponseEntity::ok);
+    }
+    
+    @GetMapping("/monthly")
+    public Mono<ResponseEntity<AnalyticsResponse>> getMonthlyAnalytics(
+            @RequestParam int year,
+            @RequestParam int month,
+            Authentication authentication) {
+        
+        String userId = UserPrincipal.userIdOf(authentication);
+        return analyticsService.getMonthlyAnalytics(userId, year, month).map(ResponseEntity::ok);
+    }
+    
+    @GetMapping("/sport-wise")
+    public Mono<ResponseEntity<AnalyticsResponse>> getSportWiseAnalytics(
+            @RequestParam String sportType,
+            Authentication authentication) {
+        
+        String userId = UserPrincipal.userIdOf(authentication);
+        return analyticsService.getSportWiseAnalytics(userId, sportType).map(ResponseEntity::ok);
+    }
+    
+    @GetMapping("/profit-loss")
+    public Mono<ResponseEntity<AnalyticsResponse>> getProfitLossAnalytics(
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            Authentication authentication) {
+        
+        String userId = UserPrincipal.userIdOf(authentication);
+        LocalDate start = startDate != null ? LocalDate.parse(startDate) : null;
+        LocalDate end = endDate != null ? LocalDate.parse(endDate) : null;
+        
+        return analyticsService.getProfitLossAnalytics(userId, start, end).map(ResponseEntity::ok);
+    }
+    
+    @PostMapping("/rollups/rebuild")
+    public Mono<ResponseEntity<Map<String, Object>>> rebuildRollups(Authentication authentication) {
+        String userId = UserPrincipal.userIdOf(authentication);
+        return analyticsService.rebuildRollups(userId)
+            .map(buckets -> ResponseEntity.ok(Map.<String, Object>of(
+                "success", true,
+                "buckets", buckets
+            )));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.demo.controller;
+
+import com.example.demo.controller.AuthController.ErrorResponse;
+import com.example.demo.controller.AuthController.RefreshTokenRequest;
+import com.example.demo.controller.AuthController.SuccessResponse;
+import com.example.demo.dto.request.LoginRequest;
+import com.example.demo.dto.request.RegisterRequest;
+import com.example.demo.service.AuthService;
+import com.example.demo.service.ReactiveAuthService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import jakarta.validation.Valid;
+
+/**
+ * WebFlux version of AuthController for the reactive profile.
+ */
+@RestController
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+@RequestMapping("/api/auth")
+@CrossOrigin(origins = "*")
+public class ReactiveAuthController {
+
+    @Autowired
+    private ReactiveAuthService authService;
+
+    @Autowired
+    private AuthService blockingAuthService;
+
+    @PostMapping("/login")
+    public Mono<ResponseEntity<?>> login(@Valid @RequestBody LoginRequest request) {
+        return authService.login(request)
+            .<ResponseEntity<?>>map(ResponseEntity::ok)
+            .onErrorResume(e -> Mono.just(ResponseEntity.badRequest()
+                .body(new ErrorResponse("Login failed: " + e.getMessage()))));
+    }
+
+    @PostMapping("/register")
+    public Mono<ResponseEntity<?>> register(@Valid @RequestBody RegisterRequest request) {
+        return authService.register(request)
+            .<ResponseEntity<?>>map(ResponseEntity::ok)
+            .onErrorResume(e -> Mono.just(ResponseEntity.badRequest()
+                .body(new ErrorResponse("Registration failed: " + e.getMessage()))));
+    }
+
+    @PostMapping("/logout")
+    public Mono<ResponseEntity<?>> logout() {
+        return Mono.just(ResponseEntity.ok(new SuccessResponse("Logged out successfully")));
+    }
+
+    @PostMapping("/refresh")
+    public Mono<ResponseEntity<?>> refreshToken(@RequestBody RefreshTokenRequest request) {
+        // Same (unimplemented) behaviour as the servlet endpoint; no I/O involved
+        return Mono.fromCallable(() -> blockingAuthService.refreshToken(request))
+            .<ResponseEntity<?>>map(ResponseEntity::ok)
+            .onErrorResume(e -> Mono.just(ResponseEntity.badRequest()
+                .body(new ErrorResponse("Token refresh failed: " + e.getMessage()))));
+    }
+}
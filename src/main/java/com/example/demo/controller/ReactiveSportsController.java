@@ -0,0 +1,402 @@
+package com.example.demo.controller;
+
+import com.example.demo.controller.SportsController.AnalyticsResponse;
+import com.example.demo.controller.SportsController.ErrorResponse;
+import com.example.demo.controller.SportsController.SuccessResponse;
+import com.example.demo.dto.request.RecordRequest;
+import com.example.demo.dto.request.ScheduleRequest;
+import com.example.demo.dto.response.KeysetPage;
+import com.example.demo.exception.BadRequestException;
+import com.example.demo.model.InvestmentRecord;
+import com.example.demo.model.Schedule;
+import com.example.demo.security.UserPrincipal;
+import com.example.demo.service.FieldSelection;
+import com.example.demo.service.PublicScheduleFeed;
+import com.example.demo.service.ReactiveSportsService;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * WebFlux version of SportsController for the reactive profile: same paths,
+ * status codes and JSON bodies, backed by ReactiveSportsService.
+ */
+@RestController
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+@RequestMapping("/api/sports")
+@CrossOrigin(origins = "*")
+@Validated
+public class ReactiveSportsController {
+
+    @Autowired
+    private ReactiveSportsService sportsService;
+
+    @Autowired
+    private PublicScheduleFeed publicScheduleFeed;
+
+    // ==================== SCHEDULE OPERATIONS ====================
+
+    @PostMapping("/schedules")
+    public Mono<ResponseEntity<?>> addSchedule(@Valid @RequestBody ScheduleRequest request,
+                                               Authentication authentication) {
+        return userId(authentication)
+            .flatMap(userId -> sportsService.addSchedule(request, userId))
+            .<ResponseEntity<?>>map(schedule -> ResponseEntity.status(HttpStatus.CREATED)
+                .body(new SuccessResponse<>("Schedule created successfully", schedule)))
+            .onErrorResume(IllegalArgumentException.class, e -> badRequest("Invalid input: " + e.getMessage()))
+            .onErrorResume(e -> serverError("Failed to create schedule: " + e.getMessage()));
+    }
+
+    @GetMapping("/schedules")
+    public Mono<ResponseEntity<?>> getSchedules(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "0") int page,
+            Authentication authentication) {
+
+        Mono<FieldSelection> selection = Mono.fromCallable(() -> FieldSelection.parse(fields, Schedule.class));
+        Mono<ResponseEntity<?>> response;
+        if (isAnonymous(authentication)) {
+            // Anonymous users get pre-serialized pages of the public feed (?cursor= or ?page=);
+            // the first request loads the snapshot from Mongo, so keep it off the event loop
+            response = Mono.fromCallable(() -> cursor != null
+                    ? publicScheduleFeed.after(cursor)
+                    : publicScheduleFeed.page(page))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(feedPage -> {
+                    ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+                    if (feedPage.getNextCursor() != null) {
+                        ok.header(SportsController.NEXT_CURSOR_HEADER, feedPage.getNextCursor());
+                    }
+                    return ok.contentType(MediaType.APPLICATION_JSON).body(feedPage.getBody());
+                });
+        } else {
+            response = Mono.zip(userId(authentication), selection)
+                .flatMap(args -> sportsService.getUserSchedulesPage(args.getT1(), null, null, null, cursor, limit,
+                    args.getT2()))
+                .map(userPage -> {
+                    Map<String, Object> body = schedulesBody(userPage);
+                    body.put("user", authentication.getName());
+                    return withNextCursor(userPage).body(body);
+                });
+        }
+
+        return response
+            .onErrorResume(BadRequestException.class, e -> badRequest(e.getMessage()))
+            .onErrorResume(e -> serverError("Failed to get schedules: " + e.getMessage()));
+    }
+
+    @GetMapping("/schedules/{id}")
+    public Mono<ResponseEntity<?>> getScheduleById(@PathVariable String id, Authentication authentication) {
+        return userId(authentication)
+            .flatMap(userId -> sportsService.getScheduleById(id, userId))
+            .<ResponseEntity<?>>map(ResponseEntity::ok)
+            .onErrorResume(e -> notFound("Schedule not found or access denied"));
+    }
+
+    @DeleteMapping("/schedules/{id}")
+    public Mono<ResponseEntity<?>> deleteSchedule(@PathVariable String id, Authentication authentication) {
+        return userId(authentication)
+            .flatMap(userId -> sportsService.deleteSchedule(id, userId))
+            .then(Mono.<ResponseEntity<?>>fromSupplier(
+                () -> ResponseEntity.ok(new SuccessResponse<>("Schedule deleted successfully"))))
+            .onErrorResume(e -> notFound("Schedule not found or access denied"));
+    }
+
+    // ==================== INVESTMENT RECORD OPERATIONS ====================
+
+    @PostMapping("/records")
+    public Mono<ResponseEntity<?>> addRecord(@Valid @RequestBody RecordRequest request,
+                                             Authentication authentication) {
+        return userId(authentication)
+            .flatMap(userId -> sportsService.addRecord(request, userId))
+            .<ResponseEntity<?>>map(record -> ResponseEntity.status(HttpStatus.CREATED)
+                .body(new SuccessResponse<>("Investment record created successfully", record)))
+            .onErrorResume(IllegalArgumentException.class, e -> badRequest("Invalid input: " + e.getMessage()))
+            .onErrorResume(e -> serverError("Failed to create investment record: " + e.getMessage()));
+    }
+
+    /**
+     * Imports many records in one request. The body is either a JSON array of
+     * RecordRequest objects or NDJSON (one object per line); items are decoded
+     * one by one as the body arrives.
+     */
+    @PostMapping(value = "/records/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<?>> importRecords(@RequestBody Flux<JsonNode> items, Authentication authentication) {
+        return userId(authentication)
+            .flatMap(userId -> sportsService.importRecords(items, userId))
+            .<ResponseEntity<?>>map(result -> ResponseEntity
+                .status(result.getInserted() > 0 ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST)
+                .body(result))
+            .onErrorResume(e -> serverError("Failed to import investment records: " + e.getMessage()));
+    }
+
+    @GetMapping("/records")
+    public Mono<ResponseEntity<?>> getRecords(
+            @RequestParam(required = false) String sportType,
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            Authentication authentication) {
+
+        return userId(authentication)
+            .flatMap(userId -> sportsService.getUserRecordsPage(userId, sportType, parseDate(startDate),
+                parseDate(endDate), cursor, limit, FieldSelection.parse(fields, InvestmentRecord.class)))
+            .<ResponseEntity<?>>map(page -> withNextCursor(page).body(page.getItems()))
+            .onErrorResume(DateTimeParseException.class,
+                e -> badRequest("Invalid date format. Use YYYY-MM-DD format."))
+            .onErrorResume(BadRequestException.class, e -> badRequest(e.getMessage()))
+            .onErrorResume(e -> serverError("Failed to fetch records: " + e.getMessage()));
+    }
+
+    @GetMapping("/records/{id}")
+    public Mono<ResponseEntity<?>> getRecordById(@PathVariable String id, Authentication authentication) {
+        return userId(authentication)
+            .flatMap(userId -> sportsService.getRecordById(id, userId))
+            .<ResponseEntity<?>>map(ResponseEntity::ok)
+            .onErrorResume(e -> notFound("Investment record not found or access denied"));
+    }
+
+    @PutMapping("/records/{id}")
+    public Mono<ResponseEntity<?>> updateRecord(@PathVariable String id,
+                                                @Valid @RequestBody RecordRequest request,
+                                                Authentication authentication) {
+        return userId(authentication)
+            .flatMap(userId -> sportsService.updateRecord(id, request, userId))
+            .<ResponseEntity<?>>map(updated -> ResponseEntity.ok(
+                new SuccessResponse<>("Investment record updated successfully", updated)))
+            .onErrorResume(e -> notFound("Investment record not found or access denied"));
+    }
+
+    @DeleteMapping("/records/{id}")
+    public Mono<ResponseEntity<?>> deleteRecord(@PathVariable String id, Authentication authentication) {
+        return userId(authentication)
+            .flatMap(userId -> sportsService.deleteRecord(id, userId))
+            .then(Mono.<ResponseEntity<?>>fromSupplier(
+                () -> ResponseEntity.ok(new SuccessResponse<>("Investment record deleted successfully"))))
+            .onErrorResume(e -> notFound("Investment record not found or access denied"));
+    }
+
+    // ==================== EXPORT/DOWNLOAD ENDPOINTS ====================
+
+    @GetMapping("/export/monthly")
+    public Mono<ResponseEntity<?>> exportDataByMonth(
+            @RequestParam int year,
+            @RequestParam int month,
+            Authentication authentication) {
+        return userId(authentication)
+            .<ResponseEntity<?>>map(userId -> {
+                LocalDate startDate = LocalDate.of(year, month, 1);
+                LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
+                return csvAttachment(String.format("sports_data_%04d_%02d.csv", year, month),
+                    sportsService.streamUserRecords(userId, null, startDate, endDate),
+                    sportsService.streamUserSchedules(userId, null, startDate, endDate));
+            })
+            .onErrorResume(e -> serverError("Failed to export monthly data: " + e.getMessage()));
+    }
+
+    @GetMapping("/export/overall")
+    public Mono<ResponseEntity<?>> exportOverallData(Authentication authentication) {
+        return userId(authentication)
+            .<ResponseEntity<?>>map(userId -> csvAttachment("sports_data_overall.csv",
+                sportsService.streamUserRecords(userId, null, null, null),
+                sportsService.streamUserSchedules(userId, null, null, null)))
+            .onErrorResume(e -> serverError("Failed to export overall data: " + e.getMessage()));
+    }
+
+    @GetMapping("/export/by-sport")
+    public Mono<ResponseEntity<?>> exportDataBySport(
+            @RequestParam @NotBlank String sportType,
+            Authentication authentication) {
+        return userId(authentication)
+            .<ResponseEntity<?>>map(userId -> csvAttachment(
+                String.format("sports_data_%s.csv", sportType.toLowerCase()),
+                sportsService.streamUserRecords(userId, sportType, null, null),
+                sportsService.streamUserSchedules(userId, sportType, null, null)))
+            .onErrorResume(e -> serverError("Failed to export sport data: " + e.getMessage()));
+    }
+
+    // ==================== FILTERED OPERATIONS ====================
+
+    @GetMapping("/schedules/filtered")
+    public Mono<ResponseEntity<?>> getFilteredSchedules(
+            @RequestParam(required = false) String sportType,
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            Authentication authentication) {
+
+        return userId(authentication)
+            .flatMap(userId -> sportsService.getUserSchedulesPage(userId, sportType, parseDate(startDate),
+                parseDate(endDate), cursor, limit, FieldSelection.parse(fields, Schedule.class)))
+            .<ResponseEntity<?>>map(page -> withNextCursor(page).body(page.getItems()))
+            .onErrorResume(DateTimeParseException.class,
+                e -> badRequest("Invalid date format. Use YYYY-MM-DD format."))
+            .onErrorResume(BadRequestException.class, e -> badRequest(e.getMessage()))
+            .onErrorResume(e -> serverError("Failed to fetch filtered schedules: " + e.getMessage()));
+    }
+
+    // ==================== UTILITY ENDPOINTS ====================
+
+    @GetMapping("/schedules/upcoming")
+    public Mono<ResponseEntity<?>> getUpcomingSchedules(Authentication authentication) {
+        return userId(authentication)
+            .flatMap(userId -> sportsService.getUpcomingSchedules(userId).collectList())
+            .<ResponseEntity<?>>map(ResponseEntity::ok)
+            .onErrorResume(e -> serverError("Failed to fetch upcoming schedules: " + e.getMessage()));
+    }
+
+    @GetMapping("/analytics/dashboard")
+    public Mono<ResponseEntity<?>> getDashboardStats(Authentication authentication) {
+        return userId(authentication)
+            .flatMap(sportsService::getDashboardStats)
+            .<ResponseEntity<?>>map(ResponseEntity::ok)
+            .onErrorResume(e -> serverError("Failed to fetch dashboard stats: " + e.getMessage()));
+    }
+
+    @GetMapping("/analytics/investment-total")
+    public Mono<ResponseEntity<?>> getTotalInvestment(Authentication authentication) {
+        return userId(authentication)
+            .flatMap(sportsService::getRecordTotals)
+            .<ResponseEntity<?>>map(totals -> ResponseEntity.ok(
+                new AnalyticsResponse("Total Investment", totals.getInvestment())))
+            .onErrorResume(e -> serverError("Failed to calculate total investment: " + e.getMessage()));
+    }
+
+    @GetMapping("/analytics/profit-total")
+    public Mono<ResponseEntity<?>> getTotalProfit(Authentication authentication) {
+        return userId(authentication)
+            .flatMap(sportsService::getRecordTotals)
+            .<ResponseEntity<?>>map(totals -> ResponseEntity.ok(
+                new AnalyticsResponse("Total Estimated Profit", totals.getEstimatedProfit())))
+            .onErrorResume(e -> serverError("Failed to calculate total profit: " + e.getMessage()));
+    }
+
+    @GetMapping("/health")
+    public Mono<Map<String, Object>> healthCheck() {
+        return Mono.just(Map.of(
+            "status", "UP",
+            "timestamp", System.currentTimeMillis(),
+            "service", "Sports Investment API"
+        ));
+    }
+
+    // ==================== PRIVATE HELPER METHODS ====================
+
+    // Deferred so a missing or anonymous caller becomes an error signal for onErrorResume
+    private static Mono<String> userId(Authentication authentication) {
+        return Mono.fromCallable(() -> UserPrincipal.userIdOf(authentication));
+    }
+
+    private static boolean isAnonymous(Authentication auth) {
+        return auth == null ||
+            !auth.isAuthenticated() ||
+            auth instanceof AnonymousAuthenticationToken ||
+            "anonymous".equals(auth.getName()) ||
+            "anonymousUser".equals(auth.getName());
+    }
+
+    private static LocalDate parseDate(String date) {
+        return date != null && !date.trim().isEmpty() ? LocalDate.parse(date) : null;
+    }
+
+    private static Map<String, Object> schedulesBody(KeysetPage<Schedule> page) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("schedules", page.getItems());
+        body.put("nextCursor", page.getNextCursor());
+        body.put("hasMore", page.isHasMore());
+        body.put("success", true);
+        body.put("timestamp", System.currentTimeMillis());
+        return body;
+    }
+
+    private static ResponseEntity.BodyBuilder withNextCursor(KeysetPage<?> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(SportsController.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response;
+    }
+
+    private static Mono<ResponseEntity<?>> badRequest(String message) {
+        return Mono.just(ResponseEntity.badRequest().body(new ErrorResponse(message)));
+    }
+
+    private static Mono<ResponseEntity<?>> notFound(String message) {
+        return Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse(message)));
+    }
+
+    private static Mono<ResponseEntity<?>> serverError(String message) {
+        return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ErrorResponse(message)));
+    }
+
+    /**
+     * Builds a CSV download with the same rows as SportsController, one buffer per
+     * row as documents arrive from the Mongo cursors. The schedule query starts
+     * only once every record has been written.
+     */
+    private static ResponseEntity<Flux<DataBuffer>> csvAttachment(String filename,
+                                                                  Flux<InvestmentRecord> records,
+                                                                  Flux<Schedule> schedules) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        headers.setContentDispositionFormData("attachment", filename);
+
+        LocalDate today = LocalDate.now();
+        Flux<String> rows = Flux.concat(
+            Flux.just(SportsController.CSV_HEADER),
+            records.map(record -> csvRow(csv -> SportsController.writeRecordRow(csv, record))),
+            schedules.map(schedule -> csvRow(csv -> SportsController.writeScheduleRow(csv, schedule, today))));
+
+        return ResponseEntity.ok()
+            .headers(headers)
+            .body(rows.map(row -> DefaultDataBufferFactory.sharedInstance.wrap(row.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static String csvRow(RowWriter writer) {
+        StringWriter row = new StringWriter(128);
+        try {
+            writer.write(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return row.toString();
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(StringWriter csv) throws IOException;
+    }
+}
@@ -1,13 +1,28 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.request.BulkSelectionRequest;
+import com.example.demo.dto.request.BulkUpdateRequest;
 import com.example.demo.dto.request.RecordRequest;
 import com.example.demo.dto.request.ScheduleRequest;
+import com.example.demo.dto.response.BulkImportResponse;
+import com.example.demo.dto.response.BulkWriteResponse;
+import com.example.demo.dto.response.KeysetPage;
+import com.example.demo.exception.BadRequestException;
 import com.example.demo.model.InvestmentRecord;
 import com.example.demo.model.Schedule;
+import com.example.demo.security.UserPrincipal;
+import com.example.demo.service.DataVersionService;
+import com.example.demo.service.FieldSelection;
+import com.example.demo.service.PublicScheduleFeed;
+import com.example.demo.service.RecordImportService;
 import com.example.demo.service.SportsService;
 import com.example.demo.service.ScheduleService;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -16,22 +31,44 @@ import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.validation.annotation.Validated;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * REST Controller for Sports Investment Management
  * Provides endpoints for managing schedules, investment records, analytics, and exports
+ *
+ * Listings (GET /records, /schedules, /schedules/filtered) are keyset-paginated:
+ * a request without limit returns the newest app.pagination.default-limit items
+ * (100), not the whole collection. The cursor of the next page is in the
+ * X-Next-Cursor header (and nextCursor on map bodies); it is absent on the last page.
  */
 @RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
 @RequestMapping("/api/sports")
 @CrossOrigin(origins = "*")
 @Validated
@@ -43,14 +80,35 @@ public class SportsController {
     @Autowired
     private ScheduleService scheduleService;
     
+    @Autowired
+    private RecordImportService recordImportService;
+    
+    @Autowired
+    private DataVersionService dataVersionService;
+    
+    @Autowired
+    private PublicScheduleFeed publicScheduleFeed;
+    
+    private static final Logger log = LoggerFactory.getLogger(SportsController.class);
+    
+    // Opaque keyset cursor for the next page; absent on the last page
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    
+    static final String CSV_HEADER =
+        "Type,Match Name,Sport,Team A,Team B,Amount (₹),Ratio,Est. Profit (₹),Actual Profit (₹),Date,Status\n";
+    
+    // Last line of a download that failed mid-stream, so a truncated file is recognisable
+    static final String EXPORT_FAILED_ROW = "Error,Export incomplete - please retry,,,,,,,,,Failed\n";
+    private static final String CSV_EXPORT_INTERCEPTOR = SportsController.class.getName() + ".csvExport";
+    
     // ==================== SCHEDULE OPERATIONS ====================
     
     @PostMapping("/schedules")
     public ResponseEntity<?> addSchedule(@Valid @RequestBody ScheduleRequest request, 
                                         Authentication authentication) {
         try {
-            String username = authentication.getName();
-            Schedule schedule = sportsService.addSchedule(request, username);
+            String userId = UserPrincipal.userIdOf(authentication);
+            Schedule schedule = sportsService.addSchedule(request, userId);
             return ResponseEntity.status(HttpStatus.CREATED)
                 .body(new SuccessResponse<>("Schedule created successfully", schedule));
         } catch (IllegalArgumentException e) {
@@ -63,7 +121,13 @@ public class SportsController {
     }
     
     @GetMapping("/schedules")
-    public ResponseEntity<?> getSchedules(Authentication authentication) {
+    public ResponseEntity<?> getSchedules(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "0") int page,
+            Authentication authentication,
+            WebRequest webRequest) {
         try {
             Authentication auth = SecurityContextHolder.getContext().getAuthentication();
             
@@ -74,30 +138,41 @@ public class SportsController {
                 "anonymous".equals(auth.getName()) ||
                 "anonymousUser".equals(auth.getName())) {
                 
-                // Handle anonymous users - return all schedules for testing
-                List<Schedule> allSchedules = scheduleService.getAllSchedules();
-                
-                return ResponseEntity.ok(Map.of(
-                    "schedules", allSchedules,
-                    "success", true,
-                    "message", "Public access - showing all schedules",
-                    "user", "anonymous",
-                    "timestamp", System.currentTimeMillis()
-                ));
+                // Handle anonymous users - pre-serialized pages of the public feed (?cursor= or ?page=)
+                PublicScheduleFeed.FeedPage feedPage = cursor != null
+                    ? publicScheduleFeed.after(cursor)
+                    : publicScheduleFeed.page(page);
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                if (feedPage.getNextCursor() != null) {
+                    response.header(NEXT_CURSOR_HEADER, feedPage.getNextCursor());
+                }
+                return response
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(feedPage.getBody());
                 
             } else {
                 // Handle authenticated users
                 String username = auth.getName();
-                List<Schedule> userSchedules = scheduleService.getSchedulesByUser(username);
+                String userId = UserPrincipal.userIdOf(auth);
+                FieldSelection selection = FieldSelection.parse(fields, Schedule.class);
+                if (webRequest.checkNotModified(dataVersionService.etag(userId))) {
+                    return null;
+                }
+                KeysetPage<Schedule> schedulesPage = sportsService.getUserSchedulesPage(
+                        userId, null, null, null, cursor, limit, selection);
                 
-                return ResponseEntity.ok(Map.of(
-                    "schedules", userSchedules,
-                    "success", true,
-                    "user", username,
-                    "timestamp", System.currentTimeMillis()
-                ));
+                Map<String, Object> body = new HashMap<>();
+                body.put("schedules", schedulesPage.getItems());
+                body.put("nextCursor", schedulesPage.getNextCursor());
+                body.put("hasMore", schedulesPage.isHasMore());
+                body.put("success", true);
+                body.put("user", username);
+                body.put("timestamp", System.currentTimeMillis());
+                return withNextCursor(schedulesPage).body(body);
             }
             
+        } catch (BadRequestException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(new ErrorResponse("Failed to get schedules: " + e.getMessage()));
@@ -105,10 +180,14 @@ public class SportsController {
     }
     
     @GetMapping("/schedules/{id}")
-    public ResponseEntity<?> getScheduleById(@PathVariable String id, Authentication authentication) {
+    public ResponseEntity<?> getScheduleById(@PathVariable String id, Authentication authentication,
+                                             WebRequest webRequest) {
         try {
-            String username = authentication.getName();
-            Schedule schedule = sportsService.getScheduleById(id, username);
+            String userId = UserPrincipal.userIdOf(authentication);
+            if (webRequest.checkNotModified(dataVersionService.etag(userId))) {
+                return null;
+            }
+            Schedule schedule = sportsService.getScheduleById(id, userId);
             return ResponseEntity.ok(schedule);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -124,8 +203,8 @@ public class SportsController {
     @DeleteMapping("/schedules/{id}")
     public ResponseEntity<?> deleteSchedule(@PathVariable String id, Authentication authentication) {
         try {
-            String username = authentication.getName();
-            sportsService.deleteSchedule(id, username);
+            String userId = UserPrincipal.userIdOf(authentication);
+            sportsService.deleteSchedule(id, userId);
             return ResponseEntity.ok(new SuccessResponse("Schedule deleted successfully"));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -136,14 +215,45 @@ public class SportsController {
         }
     }
     
+    // Bulk re-tag: {"ids": [...] and/or "sportType"/"startDate"/"endDate", "set": {...}}
+    @PostMapping("/schedules/bulk-update")
+    public ResponseEntity<?> updateSchedules(@Valid @RequestBody BulkUpdateRequest request,
+                                             Authentication authentication) {
+        try {
+            String userId = UserPrincipal.userIdOf(authentication);
+            BulkWriteResponse result = sportsService.updateSchedules(request, userId);
+            return ResponseEntity.ok(new SuccessResponse<>("Schedules updated", result));
+        } catch (BadRequestException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/schedules/bulk-delete")
+    public ResponseEntity<?> deleteSchedules(@Valid @RequestBody BulkSelectionRequest request,
+                                             Authentication authentication) {
+        try {
+            String userId = UserPrincipal.userIdOf(authentication);
+            BulkWriteResponse result = sportsService.deleteSchedules(request, userId);
+            return ResponseEntity.ok(new SuccessResponse<>("Schedules deleted", result));
+        } catch (BadRequestException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+    
     // ==================== INVESTMENT RECORD OPERATIONS ====================
     
     @PostMapping("/records")
     public ResponseEntity<?> addRecord(@Valid @RequestBody RecordRequest request,
                                       Authentication authentication) {
         try {
-            String username = authentication.getName();
-            InvestmentRecord record = sportsService.addRecord(request, username);
+            String userId = UserPrincipal.userIdOf(authentication);
+            InvestmentRecord record = sportsService.addRecord(request, userId);
             return ResponseEntity.status(HttpStatus.CREATED)
                 .body(new SuccessResponse<>("Investment record created successfully", record));
         } catch (IllegalArgumentException e) {
@@ -155,15 +265,36 @@ public class SportsController {
         }
     }
     
+    /**
+     * Imports many records in one request. The body is either a JSON array of
+     * RecordRequest objects or NDJSON (one object per line); it is read as a stream.
+     */
+    @PostMapping(value = "/records/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<?> importRecords(HttpServletRequest request, Authentication authentication) {
+        try {
+            String userId = UserPrincipal.userIdOf(authentication);
+            BulkImportResponse result = recordImportService.importRecords(request.getInputStream(), userId);
+            HttpStatus status = result.getInserted() > 0 ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+            return ResponseEntity.status(status).body(result);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorResponse("Failed to import investment records: " + e.getMessage()));
+        }
+    }
+    
     @GetMapping("/records")
     public ResponseEntity<?> getRecords(
             @RequestParam(required = false) String sportType,
             @RequestParam(required = false) String startDate,
             @RequestParam(required = false) String endDate,
-            Authentication authentication) {
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            Authentication authentication,
+            WebRequest webRequest) {
         
         try {
-            String username = authentication.getName();
+            String userId = UserPrincipal.userIdOf(authentication);
             
             LocalDate start = null;
             LocalDate end = null;
@@ -174,13 +305,20 @@ public class SportsController {
             if (endDate != null && !endDate.trim().isEmpty()) {
                 end = LocalDate.parse(endDate);
             }
+            FieldSelection selection = FieldSelection.parse(fields, InvestmentRecord.class);
             
-            List<InvestmentRecord> records = sportsService.getUserRecords(username, sportType, start, end);
-            return ResponseEntity.ok(records);
+            if (webRequest.checkNotModified(dataVersionService.etag(userId))) {
+                return null;
+            }
+            KeysetPage<InvestmentRecord> page = sportsService.getUserRecordsPage(
+                    userId, sportType, start, end, cursor, limit, selection);
+            return withNextCursor(page).body(page.getItems());
             
         } catch (DateTimeParseException e) {
             return ResponseEntity.badRequest()
                 .body(new ErrorResponse("Invalid date format. Use YYYY-MM-DD format."));
+        } catch (BadRequestException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(new ErrorResponse("Failed to fetch records: " + e.getMessage()));
@@ -188,10 +326,14 @@ public class SportsController {
     }
     
     @GetMapping("/records/{id}")
-    public ResponseEntity<?> getRecordById(@PathVariable String id, Authentication authentication) {
+    public ResponseEntity<?> getRecordById(@PathVariable String id, Authentication authentication,
+                                           WebRequest webRequest) {
         try {
-            String username = authentication.getName();
-            InvestmentRecord record = sportsService.getRecordById(id, username);
+            String userId = UserPrincipal.userIdOf(authentication);
+            if (webRequest.checkNotModified(dataVersionService.etag(userId))) {
+                return null;
+            }
+            InvestmentRecord record = sportsService.getRecordById(id, userId);
             return ResponseEntity.ok(record);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -207,8 +349,8 @@ public class SportsController {
                                         @Valid @RequestBody RecordRequest request, 
                                         Authentication authentication) {
         try {
-            String username = authentication.getName();
-            InvestmentRecord updatedRecord = sportsService.updateRecord(id, request, username);
+            String userId = UserPrincipal.userIdOf(authentication);
+            InvestmentRecord updatedRecord = sportsService.updateRecord(id, request, userId);
             return ResponseEntity.ok(new SuccessResponse<>("Investment record updated successfully", updatedRecord));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -222,8 +364,8 @@ public class SportsController {
     @DeleteMapping("/records/{id}")
     public ResponseEntity<?> deleteRecord(@PathVariable String id, Authentication authentication) {
         try {
-            String username = authentication.getName();
-            sportsService.deleteRecord(id, username);
+            String userId = UserPrincipal.userIdOf(authentication);
+            sportsService.deleteRecord(id, userId);
             return ResponseEntity.ok(new SuccessResponse("Investment record deleted successfully"));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -234,32 +376,55 @@ public class SportsController {
         }
     }
     
+    // Bulk re-tag: {"ids": [...] and/or "sportType"/"startDate"/"endDate", "set": {...}}
+    @PostMapping("/records/bulk-update")
+    public ResponseEntity<?> updateRecords(@Valid @RequestBody BulkUpdateRequest request,
+                                             Authentication authentication) {
+        try {
+            String userId = UserPrincipal.userIdOf(authentication);
+            BulkWriteResponse result = sportsService.updateRecords(request, userId);
+            return ResponseEntity.ok(new SuccessResponse<>("Investment records updated", result));
+        } catch (BadRequestException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/records/bulk-delete")
+    public ResponseEntity<?> deleteRecords(@Valid @RequestBody BulkSelectionRequest request,
+                                             Authentication authentication) {
+        try {
+            String userId = UserPrincipal.userIdOf(authentication);
+            BulkWriteResponse result = sportsService.deleteRecords(request, userId);
+            return ResponseEntity.ok(new SuccessResponse<>("Investment records deleted", result));
+        } catch (BadRequestException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+    
     // ==================== EXPORT/DOWNLOAD ENDPOINTS ====================
     
     @GetMapping("/export/monthly")
     public ResponseEntity<?> exportDataByMonth(
             @RequestParam int year,
             @RequestParam int month,
-            Authentication authentication) {
+            Authentication authentication,
+            WebRequest webRequest) {
         try {
-            String username = authentication.getName();
+            String userId = UserPrincipal.userIdOf(authentication);
             
             LocalDate startDate = LocalDate.of(year, month, 1);
             LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
             
-            List<InvestmentRecord> records = sportsService.getUserRecords(username, null, startDate, endDate);
-            List<Schedule> schedules = sportsService.getUserSchedules(username, null, startDate, endDate);
-            
-            String csvContent = generateCsvContent(records, schedules);
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-            headers.setContentDispositionFormData("attachment", 
-                String.format("sports_data_%04d_%02d.csv", year, month));
-            
-            return ResponseEntity.ok()
-                .headers(headers)
-                .body(csvContent);
+            return csvAttachment(String.format("sports_data_%04d_%02d.csv", year, month),
+                () -> sportsService.streamUserRecords(userId, null, startDate, endDate),
+                () -> sportsService.streamUserSchedules(userId, null, startDate, endDate),
+                webRequest);
                 
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -268,22 +433,14 @@ public class SportsController {
     }
     
     @GetMapping("/export/overall")
-    public ResponseEntity<?> exportOverallData(Authentication authentication) {
+    public ResponseEntity<?> exportOverallData(Authentication authentication, WebRequest webRequest) {
         try {
-            String username = authentication.getName();
-            
-            List<InvestmentRecord> records = sportsService.getUserRecords(username, null, null, null);
-            List<Schedule> schedules = sportsService.getUserSchedules(username);
-            
-            String csvContent = generateCsvContent(records, schedules);
+            String userId = UserPrincipal.userIdOf(authentication);
             
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-            headers.setContentDispositionFormData("attachment", "sports_data_overall.csv");
-            
-            return ResponseEntity.ok()
-                .headers(headers)
-                .body(csvContent);
+            return csvAttachment("sports_data_overall.csv",
+                () -> sportsService.streamUserRecords(userId, null, null, null),
+                () -> sportsService.streamUserSchedules(userId, null, null, null),
+                webRequest);
                 
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -294,23 +451,15 @@ public class SportsController {
     @GetMapping("/export/by-sport")
     public ResponseEntity<?> exportDataBySport(
             @RequestParam @NotBlank String sportType,
-            Authentication authentication) {
+            Authentication authentication,
+            WebRequest webRequest) {
         try {
-            String username = authentication.getName();
-            
-            List<InvestmentRecord> records = sportsService.getUserRecords(username, sportType, null, null);
-            List<Schedule> schedules = sportsService.getUserSchedules(username, sportType, null, null);
-            
-            String csvContent = generateCsvContent(records, schedules);
+            String userId = UserPrincipal.userIdOf(authentication);
             
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-            headers.setContentDispositionFormData("attachment", 
-                String.format("sports_data_%s.csv", sportType.toLowerCase()));
-            
-            return ResponseEntity.ok()
-                .headers(headers)
-                .body(csvContent);
+            return csvAttachment(String.format("sports_data_%s.csv", sportType.toLowerCase()),
+                () -> sportsService.streamUserRecords(userId, sportType, null, null),
+                () -> sportsService.streamUserSchedules(userId, sportType, null, null),
+                webRequest);
                 
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -325,10 +474,14 @@ public class SportsController {
             @RequestParam(required = false) String sportType,
             @RequestParam(required = false) String startDate,
             @RequestParam(required = false) String endDate,
-            Authentication authentication) {
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            Authentication authentication,
+            WebRequest webRequest) {
         
         try {
-            String username = authentication.getName();
+            String userId = UserPrincipal.userIdOf(authentication);
             
             LocalDate start = null;
             LocalDate end = null;
@@ -339,13 +492,20 @@ public class SportsController {
             if (endDate != null && !endDate.trim().isEmpty()) {
                 end = LocalDate.parse(endDate);
             }
+            FieldSelection selection = FieldSelection.parse(fields, Schedule.class);
             
-            List<Schedule> schedules = sportsService.getUserSchedules(username, sportType, start, end);
-            return ResponseEntity.ok(schedules);
+            if (webRequest.checkNotModified(dataVersionService.etag(userId))) {
+                return null;
+            }
+            KeysetPage<Schedule> page = sportsService.getUserSchedulesPage(
+                    userId, sportType, start, end, cursor, limit, selection);
+            return withNextCursor(page).body(page.getItems());
             
         } catch (DateTimeParseException e) {
             return ResponseEntity.badRequest()
                 .body(new ErrorResponse("Invalid date format. Use YYYY-MM-DD format."));
+        } catch (BadRequestException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(new ErrorResponse("Failed to fetch filtered schedules: " + e.getMessage()));
@@ -355,10 +515,14 @@ public class SportsController {
     // ==================== UTILITY ENDPOINTS ====================
     
     @GetMapping("/schedules/upcoming")
-    public ResponseEntity<?> getUpcomingSchedules(Authentication authentication) {
+    public ResponseEntity<?> getUpcomingSchedules(Authentication authentication, WebRequest webRequest) {
         try {
-            String username = authentication.getName();
-            List<Schedule> upcomingSchedules = sportsService.getUpcomingSchedules(username);
+            String userId = UserPrincipal.userIdOf(authentication);
+            // What counts as upcoming also moves with the date
+            if (webRequest.checkNotModified(dataVersionService.etag(userId, LocalDate.now()))) {
+                return null;
+            }
+            List<Schedule> upcomingSchedules = sportsService.getUpcomingSchedules(userId);
             return ResponseEntity.ok(upcomingSchedules);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -367,24 +531,13 @@ public class SportsController {
     }
     
     @GetMapping("/analytics/dashboard")
-    public ResponseEntity<?> getDashboardStats(Authentication authentication) {
+    public ResponseEntity<?> getDashboardStats(Authentication authentication, WebRequest webRequest) {
         try {
-            String username = authentication.getName();
-            
-            Double totalInvestment = sportsService.getTotalInvestment(username);
-            Double totalProfit = sportsService.getTotalEstimatedProfit(username);
-            List<InvestmentRecord> allRecords = sportsService.getUserRecords(username, null, null, null);
-            List<Schedule> allSchedules = sportsService.getUserSchedules(username);
-            
-            Map<String, Object> dashboard = new HashMap<>();
-            dashboard.put("totalInvestment", totalInvestment);
-            dashboard.put("totalProfit", totalProfit);
-            dashboard.put("netProfit", totalProfit - totalInvestment);
-            dashboard.put("totalRecords", allRecords.size());
-            dashboard.put("totalSchedules", allSchedules.size());
-            dashboard.put("winRate", calculateWinRate(allRecords));
-            
-            return ResponseEntity.ok(dashboard);
+            String userId = UserPrincipal.userIdOf(authentication);
+            if (webRequest.checkNotModified(dataVersionService.etag(userId))) {
+                return null;
+            }
+            return ResponseEntity.ok(sportsService.getDashboardStats(userId));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(new ErrorResponse("Failed to fetch dashboard stats: " + e.getMessage()));
@@ -392,10 +545,13 @@ public class SportsController {
     }
     
     @GetMapping("/analytics/investment-total")
-    public ResponseEntity<?> getTotalInvestment(Authentication authentication) {
+    public ResponseEntity<?> getTotalInvestment(Authentication authentication, WebRequest webRequest) {
         try {
-            String username = authentication.getName();
-            Double totalInvestment = sportsService.getTotalInvestment(username);
+            String userId = UserPrincipal.userIdOf(authentication);
+            if (webRequest.checkNotModified(dataVersionService.etag(userId))) {
+                return null;
+            }
+            Double totalInvestment = sportsService.getTotalInvestment(userId);
             return ResponseEntity.ok(new AnalyticsResponse("Total Investment", totalInvestment));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -404,10 +560,13 @@ public class SportsController {
     }
     
     @GetMapping("/analytics/profit-total")
-    public ResponseEntity<?> getTotalProfit(Authentication authentication) {
+    public ResponseEntity<?> getTotalProfit(Authentication authentication, WebRequest webRequest) {
         try {
-            String username = authentication.getName();
-            Double totalProfit = sportsService.getTotalEstimatedProfit(username);
+            String userId = UserPrincipal.userIdOf(authentication);
+            if (webRequest.checkNotModified(dataVersionService.etag(userId))) {
+                return null;
+            }
+            Double totalProfit = sportsService.getTotalEstimatedProfit(userId);
             return ResponseEntity.ok(new AnalyticsResponse("Total Estimated Profit", totalProfit));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -426,41 +585,131 @@ public class SportsController {
     
     // ==================== PRIVATE HELPER METHODS ====================
     
-    private String generateCsvContent(List<InvestmentRecord> records, List<Schedule> schedules) {
-        StringBuilder csv = new StringBuilder();
-        
-        csv.append("Type,Match Name,Sport,Team A,Team B,Amount (₹),Ratio,Est. Profit (₹),Actual Profit (₹),Date,Status\n");
+    private static ResponseEntity.BodyBuilder withNextCursor(KeysetPage<?> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response;
+    }
+    
+    /**
+     * Builds a CSV download whose rows are written straight from Mongo cursors.
+     * The records query runs and its first batch is read before the response is
+     * returned, so a failing query still answers 500. Each cursor is closed as soon
+     * as it is drained; the schedules cursor opens only when its section starts.
+     * If the async request completes without the body ever running (client gone,
+     * timeout), a completion callback closes the records cursor instead.
+     * A failure after the 200 has gone out ends the file with EXPORT_FAILED_ROW.
+     */
+    private ResponseEntity<StreamingResponseBody> csvAttachment(String filename,
+                                                                Supplier<Stream<InvestmentRecord>> records,
+                                                                Supplier<Stream<Schedule>> schedules,
+                                                                WebRequest webRequest) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        headers.setContentDispositionFormData("attachment", filename);
         
-        for (InvestmentRecord record : records) {
-            csv.append("Investment,")
-               .append(escapeForCsv(record.getMatchName())).append(",")
-               .append(record.getSportType()).append(",")
-               .append(escapeForCsv(record.getTeamA())).append(",")
-               .append(escapeForCsv(record.getTeamB())).append(",")
-               .append(record.getAmountInvested() != null ? record.getAmountInvested() : 0).append(",")
-               .append(record.getRatio() != null ? record.getRatio() : 0).append(",")
-               .append(record.getEstimatedProfit() != null ? record.getEstimatedProfit() : 0).append(",")
-               .append(calculateActualProfit(record)).append(",")
-               .append(record.getEntryDate() != null ? record.getEntryDate() : "").append(",")
-               .append("Completed\n");
+        Stream<InvestmentRecord> recordStream = records.get();
+        Iterator<InvestmentRecord> recordRows;
+        try {
+            recordRows = recordStream.iterator();
+            recordRows.hasNext();
+        } catch (RuntimeException e) {
+            recordStream.close();
+            throw e;
         }
         
-        for (Schedule schedule : schedules) {
-            csv.append("Schedule,")
-               .append(escapeForCsv(schedule.getMatchName())).append(",")
-               .append(schedule.getSportType()).append(",")
-               .append(escapeForCsv(schedule.getTeamA())).append(",")
-               .append(escapeForCsv(schedule.getTeamB())).append(",")
-               .append(",,,,")
-               .append(schedule.getMatchDate() != null ? schedule.getMatchDate() : "").append(",")
-               .append(isUpcomingMatch(schedule) ? "Upcoming" : "Past")
-               .append("\n");
+        // Whoever claims the cursor first owns it: the body drains and closes it,
+        // the completion callback only closes it if the body never started
+        AtomicBoolean claimed = new AtomicBoolean();
+        WebAsyncUtils.getAsyncManager(webRequest).registerCallableInterceptor(CSV_EXPORT_INTERCEPTOR,
+            new CallableProcessingInterceptor() {
+                @Override
+                public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                    if (claimed.compareAndSet(false, true)) {
+                        log.warn("CSV export {} ended before its body ran, closing the records cursor", filename);
+                        recordStream.close();
+                    }
+                }
+            });
+        
+        StreamingResponseBody body = outputStream -> {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            Writer csv = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            try {
+                writeCsvContent(csv, recordStream, recordRows, schedules);
+            } catch (RuntimeException e) {
+                log.error("CSV export {} failed after the response was committed", filename, e);
+                csv.write(EXPORT_FAILED_ROW);
+                csv.flush();
+                throw e;
+            }
+            csv.flush();
+        };
+        
+        return ResponseEntity.ok()
+            .headers(headers)
+            .body(body);
+    }
+    
+    static void writeCsvContent(Writer csv,
+                                Supplier<Stream<InvestmentRecord>> records,
+                                Supplier<Stream<Schedule>> schedules) throws IOException {
+        Stream<InvestmentRecord> recordStream = records.get();
+        writeCsvContent(csv, recordStream, recordStream.iterator(), schedules);
+    }
+    
+    static void writeCsvContent(Writer csv,
+                                Stream<InvestmentRecord> recordStream,
+                                Iterator<InvestmentRecord> recordRows,
+                                Supplier<Stream<Schedule>> schedules) throws IOException {
+        try (recordStream) {
+            csv.write(CSV_HEADER);
+            csv.flush();
+            while (recordRows.hasNext()) {
+                writeRecordRow(csv, recordRows.next());
+            }
         }
         
-        return csv.toString();
+        LocalDate today = LocalDate.now();
+        try (Stream<Schedule> scheduleStream = schedules.get()) {
+            Iterator<Schedule> it = scheduleStream.iterator();
+            while (it.hasNext()) {
+                writeScheduleRow(csv, it.next(), today);
+            }
+        }
+    }
+    
+    static void writeRecordRow(Writer csv, InvestmentRecord record) throws IOException {
+        csv.append("Investment,")
+           .append(escapeForCsv(record.getMatchName())).append(",")
+           .append(record.getSportType()).append(",")
+           .append(escapeForCsv(record.getTeamA())).append(",")
+           .append(escapeForCsv(record.getTeamB())).append(",")
+           .append(String.valueOf(record.getAmountInvested() != null ? record.getAmountInvested() : 0)).append(",")
+           .append(String.valueOf(record.getRatio() != null ? record.getRatio() : 0)).append(",")
+           .append(String.valueOf(record.getEstimatedProfit() != null ? record.getEstimatedProfit() : 0)).append(",")
+           .append(String.valueOf(calculateActualProfit(record))).append(",")
+           .append(record.getEntryDate() != null ? record.getEntryDate().toString() : "").append(",")
+           .append("Completed\n");
+    }
+    
+    static void writeScheduleRow(Writer csv, Schedule schedule, LocalDate today) throws IOException {
+        csv.append("Schedule,")
+           .append(escapeForCsv(schedule.getMatchName())).append(",")
+           .append(schedule.getSportType()).append(",")
+           .append(escapeForCsv(schedule.getTeamA())).append(",")
+           .append(escapeForCsv(schedule.getTeamB())).append(",")
+           .append(",,,,")
+           .append(schedule.getMatchDate() != null ? schedule.getMatchDate().toString() : "").append(",")
+           .append(isUpcomingMatch(schedule, today) ? "Upcoming" : "Past")
+           .append("\n");
     }
     
-    private String escapeForCsv(String value) {
+    static String escapeForCsv(String value) {
         if (value == null) return "";
         if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
             return "\"" + value.replace("\"", "\"\"") + "\"";
@@ -468,28 +717,16 @@ public class SportsController {
         return value;
     }
     
-    private double calculateActualProfit(InvestmentRecord record) {
+    private static double calculateActualProfit(InvestmentRecord record) {
         if (record.getEstimatedProfit() != null && record.getAmountInvested() != null) {
             return record.getEstimatedProfit() - record.getAmountInvested();
         }
         return 0.0;
     }
     
-    private boolean isUpcomingMatch(Schedule schedule) {
+    private static boolean isUpcomingMatch(Schedule schedule, LocalDate today) {
         if (schedule.getMatchDate() == null) return false;
-        return LocalDate.now().isBefore(schedule.getMatchDate());
-    }
-    
-    private double calculateWinRate(List<InvestmentRecord> records) {
-        if (records.isEmpty()) return 0.0;
-        
-        long wins = records.stream()
-            .mapToLong(record -> 
-                (record.getEstimatedProfit() != null && record.getAmountInvested() != null && 
-                 record.getEstimatedProfit() > record.getAmountInvested()) ? 1 : 0)
-            .sum();
-            
-        return (double) wins / records.size() * 100;
+        return today.isBefore(schedule.getMatchDate());
     }
     
     // ==================== RESPONSE CLASSES ====================
@@ -0,0 +1,43 @@
+package com.example.demo.dto.request;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import jakarta.validation.constraints.Size;
+
+/**
+ * Entries of the caller a bulk update or delete applies to: the listed ids, narrowed
+ * by any of sportType and the inclusive date range. At least one criterion is required.
+ */
+public class BulkSelectionRequest {
+    @Size(max = 5000)
+    private List<String> ids;
+    
+    private String sportType;
+    
+    private LocalDate startDate;
+    
+    private LocalDate endDate;
+    
+    // Constructors
+    public BulkSelectionRequest() {}
+    
+    public boolean isEmpty() {
+        return (ids == null || ids.isEmpty())
+            && (sportType == null || "ALL".equals(sportType))
+            && startDate == null && endDate == null;
+    }
+    
+    // Getters and Setters
+    public List<String> getIds() { return ids; }
+    public void setIds(List<String> ids) { this.ids = ids; }
+    
+    public String getSportType() { return sportType; }
+    public void setSportType(String sportType) { this.sportType = sportType; }
+    
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+    
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+}
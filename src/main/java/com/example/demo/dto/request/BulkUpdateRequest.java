@@ -0,0 +1,41 @@
+package com.example.demo.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * A bulk update: the selection plus the values to set on every selected entry.
+ */
+public class BulkUpdateRequest extends BulkSelectionRequest {
+    @Valid
+    @NotNull
+    private Changes set;
+    
+    // Constructors
+    public BulkUpdateRequest() {}
+    
+    /**
+     * Fields a bulk update may change; null fields are left as they are.
+     * winnerOrDraw only applies to investment records.
+     */
+    public static class Changes {
+        private String sportType;
+        private String winnerOrDraw;
+        
+        public Changes() {}
+        
+        public boolean isEmpty() {
+            return sportType == null && winnerOrDraw == null;
+        }
+        
+        public String getSportType() { return sportType; }
+        public void setSportType(String sportType) { this.sportType = sportType; }
+        
+        public String getWinnerOrDraw() { return winnerOrDraw; }
+        public void setWinnerOrDraw(String winnerOrDraw) { this.winnerOrDraw = winnerOrDraw; }
+    }
+    
+    // Getters and Setters
+    public Changes getSet() { return set; }
+    public void setSet(Changes set) { this.set = set; }
+}
@@ -0,0 +1,52 @@
+package com.example.demo.dto.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkImportResponse {
+    private int received;
+    private int inserted;
+    private int failed;
+    
+    // Per-item failures, capped so a bad file cannot blow up the response
+    private List<ItemError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+    
+    // Constructors
+    public BulkImportResponse() {}
+    
+    public static class ItemError {
+        private int index;
+        private List<String> messages;
+        
+        public ItemError() {}
+        
+        public ItemError(int index, List<String> messages) {
+            this.index = index;
+            this.messages = messages;
+        }
+        
+        // Getters and Setters
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+        
+        public List<String> getMessages() { return messages; }
+        public void setMessages(List<String> messages) { this.messages = messages; }
+    }
+    
+    // Getters and Setters
+    public int getReceived() { return received; }
+    public void setReceived(int received) { this.received = received; }
+    
+    public int getInserted() { return inserted; }
+    public void setInserted(int inserted) { this.inserted = inserted; }
+    
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+    
+    public List<ItemError> getErrors() { return errors; }
+    public void setErrors(List<ItemError> errors) { this.errors = errors; }
+    
+    public boolean isErrorsTruncated() { return errorsTruncated; }
+    public void setErrorsTruncated(boolean errorsTruncated) { this.errorsTruncated = errorsTruncated; }
+}
@@ -0,0 +1,36 @@
+package com.example.demo.dto.response;
+
+/**
+ * Outcome of a bulk update (matched/modified) or bulk delete (deleted).
+ */
+public class BulkWriteResponse {
+    private Long matched;
+    private Long modified;
+    private Long deleted;
+    
+    // Constructors
+    public BulkWriteResponse() {}
+    
+    public static BulkWriteResponse updated(long matched, long modified) {
+        BulkWriteResponse response = new BulkWriteResponse();
+        response.matched = matched;
+        response.modified = modified;
+        return response;
+    }
+    
+    public static BulkWriteResponse deleted(long deleted) {
+        BulkWriteResponse response = new BulkWriteResponse();
+        response.deleted = deleted;
+        return response;
+    }
+    
+    // Getters and Setters
+    public Long getMatched() { return matched; }
+    public void setMatched(Long matched) { this.matched = matched; }
+    
+    public Long getModified() { return modified; }
+    public void setModified(Long modified) { this.modified = modified; }
+    
+    public Long getDeleted() { return deleted; }
+    public void setDeleted(Long deleted) { this.deleted = deleted; }
+}
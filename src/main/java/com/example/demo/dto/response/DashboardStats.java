@@ -0,0 +1,36 @@
+package com.example.demo.dto.response;
+
+/**
+ * Body of /api/sports/analytics/dashboard; same keys and types as the map the
+ * endpoint used to build.
+ */
+public class DashboardStats {
+    private final Double totalInvestment;
+    private final Double totalProfit;
+    private final Double netProfit;
+    private final int totalRecords;
+    private final int totalSchedules;
+    private final double winRate;
+
+    public DashboardStats(double totalInvestment, double totalProfit, long totalRecords,
+                          long winningRecords, long totalSchedules) {
+        this.totalInvestment = totalInvestment;
+        this.totalProfit = totalProfit;
+        this.netProfit = totalProfit - totalInvestment;
+        this.totalRecords = (int) totalRecords;
+        this.totalSchedules = (int) totalSchedules;
+        this.winRate = totalRecords == 0 ? 0.0 : (double) winningRecords / totalRecords * 100;
+    }
+
+    public Double getTotalInvestment() { return totalInvestment; }
+
+    public Double getTotalProfit() { return totalProfit; }
+
+    public Double getNetProfit() { return netProfit; }
+
+    public int getTotalRecords() { return totalRecords; }
+
+    public int getTotalSchedules() { return totalSchedules; }
+
+    public double getWinRate() { return winRate; }
+}
@@ -0,0 +1,22 @@
+package com.example.demo.dto.response;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. nextCursor is null on the last page.
+ */
+public class KeysetPage<T> {
+    private final List<T> items;
+    private final String nextCursor;
+    
+    public KeysetPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+    
+    public List<T> getItems() { return items; }
+    
+    public String getNextCursor() { return nextCursor; }
+    
+    public boolean isHasMore() { return nextCursor != null; }
+}
@@ -0,0 +1,73 @@
+package com.example.demo.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Pre-aggregated investment totals for one user, month (yyyy-MM of entryDate) and sport.
+ * Maintained with atomic $inc deltas on every record write; see AnalyticsRollupService.
+ */
+@Document(collection = "analytics_rollups")
+public class AnalyticsRollup {
+    @Id
+    private String id;  // userId:month:sportType
+
+    @Indexed
+    private String userId;
+    private String month;
+    private String sportType;
+
+    private double totalInvestment;
+    private double profitSum;       // sum of estimatedProfit
+    private double positiveProfit;  // sum of max(0, estimatedProfit)
+    private double negativeProfit;  // sum of min(0, estimatedProfit)
+    private int totalBets;
+    private int winningBets;
+    private Double bestProfit;
+    private Double worstLoss;
+
+    // Constructors
+    public AnalyticsRollup() {}
+
+    public static String idFor(String userId, String month, String sportType) {
+        return userId + ":" + month + ":" + sportType;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public String getMonth() { return month; }
+    public void setMonth(String month) { this.month = month; }
+
+    public String getSportType() { return sportType; }
+    public void setSportType(String sportType) { this.sportType = sportType; }
+
+    public double getTotalInvestment() { return totalInvestment; }
+    public void setTotalInvestment(double totalInvestment) { this.totalInvestment = totalInvestment; }
+
+    public double getProfitSum() { return profitSum; }
+    public void setProfitSum(double profitSum) { this.profitSum = profitSum; }
+
+    public double getPositiveProfit() { return positiveProfit; }
+    public void setPositiveProfit(double positiveProfit) { this.positiveProfit = positiveProfit; }
+
+    public double getNegativeProfit() { return negativeProfit; }
+    public void setNegativeProfit(double negativeProfit) { this.negativeProfit = negativeProfit; }
+
+    public int getTotalBets() { return totalBets; }
+    public void setTotalBets(int totalBets) { this.totalBets = totalBets; }
+
+    public int getWinningBets() { return winningBets; }
+    public void setWinningBets(int winningBets) { this.winningBets = winningBets; }
+
+    public Double getBestProfit() { return bestProfit; }
+    public void setBestProfit(Double bestProfit) { this.bestProfit = bestProfit; }
+
+    public Double getWorstLoss() { return worstLoss; }
+    public void setWorstLoss(Double worstLoss) { this.worstLoss = worstLoss; }
+}
@@ -2,12 +2,19 @@ package com.example.demo.model;
 
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Document(collection = "investment_records")
+@CompoundIndexes({
+    @CompoundIndex(name = "user_entry_date", def = "{'userId': 1, 'entryDate': -1, '_id': -1}"),
+    @CompoundIndex(name = "user_sport_entry_date", def = "{'userId': 1, 'sportType': 1, 'entryDate': -1, '_id': -1}"),
+    @CompoundIndex(name = "user_created_date", def = "{'userId': 1, 'createdDate': -1}")
+})
 public class InvestmentRecord {
     @Id
     private String id;
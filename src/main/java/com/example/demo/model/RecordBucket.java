@@ -0,0 +1,168 @@
+package com.example.demo.model;
+
+import com.example.demo.repository.projection.RecordAmounts;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Investment records of one user and month (yyyy-MM of entryDate) in a single
+ * document, used instead of investment_records when app.records.storage=buckets.
+ *
+ * Entries are stored under one- and two-letter keys, and the bucket keeps running
+ * totals so sums over a range of months never have to read the entries. A bucket
+ * holds a bounded number of entries; further records of the month go to overflow
+ * buckets numbered by seq. See RecordBucketStore.
+ */
+@Document(collection = "investment_record_buckets")
+@CompoundIndexes({
+    @CompoundIndex(name = "user_month_seq", def = "{'userId': 1, 'month': -1, 'seq': 1}"),
+    @CompoundIndex(name = "user_entry_id", def = "{'userId': 1, 'e.i': 1}")
+})
+public class RecordBucket {
+
+    @Id
+    private String id;  // userId:month, userId:month:seq for overflow buckets
+
+    private String userId;
+    private String month;
+    private int seq;                // 0 for the first bucket of the month
+
+    private int count;
+    private double totalInvestment;
+    private double profitSum;       // sum of estimatedProfit
+    private int stakeBeaten;        // entries whose estimatedProfit exceeds amountInvested (dashboard wins)
+
+    @Field("e")
+    private List<Entry> entries = new ArrayList<>();
+
+    // Constructors
+    public RecordBucket() {}
+
+    public static String idFor(String userId, String month) {
+        return userId + ":" + month;
+    }
+
+    public static String idFor(String userId, String month, int seq) {
+        return seq == 0 ? idFor(userId, month) : idFor(userId, month) + ":" + seq;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public String getMonth() { return month; }
+    public void setMonth(String month) { this.month = month; }
+
+    public int getSeq() { return seq; }
+    public void setSeq(int seq) { this.seq = seq; }
+
+    public int getCount() { return count; }
+    public void setCount(int count) { this.count = count; }
+
+    public double getTotalInvestment() { return totalInvestment; }
+    public void setTotalInvestment(double totalInvestment) { this.totalInvestment = totalInvestment; }
+
+    public double getProfitSum() { return profitSum; }
+    public void setProfitSum(double profitSum) { this.profitSum = profitSum; }
+
+    public int getStakeBeaten() { return stakeBeaten; }
+    public void setStakeBeaten(int stakeBeaten) { this.stakeBeaten = stakeBeaten; }
+
+    public List<Entry> getEntries() { return entries; }
+    public void setEntries(List<Entry> entries) { this.entries = entries; }
+
+    /**
+     * One bet; the owning user is the bucket's.
+     */
+    public static class Entry implements RecordAmounts {
+        @Field("i")
+        private String id;
+        @Field("m")
+        private String matchName;
+        @Field("s")
+        private String sportType;
+        @Field("ta")
+        private String teamA;
+        @Field("tb")
+        private String teamB;
+        @Field("w")
+        private String winnerOrDraw;
+        @Field("a")
+        private Double amountInvested;
+        @Field("r")
+        private Double ratio;
+        @Field("p")
+        private Double estimatedProfit;
+        @Field("d")
+        private LocalDate entryDate;
+        @Field("c")
+        private LocalDateTime createdDate;
+
+        public Entry() {}
+
+        public static Entry of(InvestmentRecord record) {
+            Entry entry = new Entry();
+            entry.id = record.getId();
+            entry.matchName = record.getMatchName();
+            entry.sportType = record.getSportType();
+            entry.teamA = record.getTeamA();
+            entry.teamB = record.getTeamB();
+            entry.winnerOrDraw = record.getWinnerOrDraw();
+            entry.amountInvested = record.getAmountInvested();
+            entry.ratio = record.getRatio();
+            entry.estimatedProfit = record.getEstimatedProfit();
+            entry.entryDate = record.getEntryDate();
+            entry.createdDate = record.getCreatedDate();
+            return entry;
+        }
+
+        public InvestmentRecord toRecord(String userId) {
+            InvestmentRecord record = new InvestmentRecord();
+            record.setId(id);
+            record.setUserId(userId);
+            record.setMatchName(matchName);
+            record.setSportType(sportType);
+            record.setTeamA(teamA);
+            record.setTeamB(teamB);
+            record.setWinnerOrDraw(winnerOrDraw);
+            record.setAmountInvested(amountInvested);
+            record.setRatio(ratio);
+            record.setEstimatedProfit(estimatedProfit);
+            record.setEntryDate(entryDate);
+            record.setCreatedDate(createdDate);
+            return record;
+        }
+
+        public String getId() { return id; }
+
+        public String getMatchName() { return matchName; }
+
+        @Override
+        public String getSportType() { return sportType; }
+
+        public String getWinnerOrDraw() { return winnerOrDraw; }
+
+        @Override
+        public Double getAmountInvested() { return amountInvested; }
+
+        @Override
+        public Double getEstimatedProfit() { return estimatedProfit; }
+
+        @Override
+        public LocalDate getEntryDate() { return entryDate; }
+
+        public LocalDateTime getCreatedDate() { return createdDate; }
+    }
+}
@@ -2,11 +2,20 @@ package com.example.demo.model;
 
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
+import java.util.Locale;
 
 @Document(collection = "schedules")
+@CompoundIndexes({
+    @CompoundIndex(name = "user_match_date", def = "{'userId': 1, 'matchDate': -1, '_id': -1}"),
+    @CompoundIndex(name = "user_sport_match_date", def = "{'userId': 1, 'sportType': 1, 'matchDate': -1, '_id': -1}"),
+    @CompoundIndex(name = "match_date", def = "{'matchDate': -1, '_id': -1}"),
+    @CompoundIndex(name = "user_match_name_date", def = "{'userId': 1, 'matchNameKey': 1, 'matchDate': 1}")
+})
 public class Schedule {
     @Id
     private String id;
@@ -14,6 +23,7 @@ public class Schedule {
     private String userId;  // ✅ This field exists - referencing User by ID
     private String sportType; // CRICKET, KABADDI
     private String matchName;
+    private String matchNameKey;  // case-insensitive lookup key, derived from matchName (no getter: not part of the API)
     private String teamA;
     private String teamB;
     private LocalDate matchDate;
@@ -35,7 +45,14 @@ public class Schedule {
     public void setSportType(String sportType) { this.sportType = sportType; }
     
     public String getMatchName() { return matchName; }
-    public void setMatchName(String matchName) { this.matchName = matchName; }
+    public void setMatchName(String matchName) {
+        this.matchName = matchName;
+        this.matchNameKey = matchNameKey(matchName);
+    }
+    
+    public static String matchNameKey(String matchName) {
+        return matchName != null ? matchName.toLowerCase(Locale.ROOT) : null;
+    }
     
     public String getTeamA() { return teamA; }
     public void setTeamA(String teamA) { this.teamA = teamA; }
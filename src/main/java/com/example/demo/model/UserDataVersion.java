@@ -0,0 +1,27 @@
+package com.example.demo.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Monotonic counter of one user's schedule and record writes, bumped with $inc
+ * after every create, update and delete; read endpoints derive their ETag from it.
+ * See DataVersionService.
+ */
+@Document(collection = "user_data_versions")
+public class UserDataVersion {
+    @Id
+    private String userId;
+
+    private long version;
+
+    // Constructors
+    public UserDataVersion() {}
+
+    // Getters and Setters
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+}
@@ -0,0 +1,16 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.AnalyticsRollup;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AnalyticsRollupRepository extends MongoRepository<AnalyticsRollup, String> {
+
+    List<AnalyticsRollup> findByUserId(String userId);
+
+    void deleteByUserId(String userId);
+}
@@ -1,7 +1,9 @@
 package com.example.demo.repository;
 
 import com.example.demo.model.InvestmentRecord;
+import com.example.demo.repository.projection.RecordAmounts;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -9,10 +11,15 @@ import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface InvestmentRecordRepository extends MongoRepository<InvestmentRecord, String> {
 
+    // Columns of the CSV export; the rollup rebuild reads a subset of them
+    String EXPORT_FIELDS = "{ 'matchName': 1, 'sportType': 1, 'teamA': 1, 'teamB': 1, 'amountInvested': 1, "
+            + "'ratio': 1, 'estimatedProfit': 1, 'entryDate': 1 }";
+
     // ✅ Basic user-based queries by userId
     List<InvestmentRecord> findByUserId(String userId);
 
@@ -26,6 +33,35 @@ public interface InvestmentRecordRepository extends MongoRepository<InvestmentRe
 
     List<InvestmentRecord> findByUserIdAndEntryDateBetween(String userId, LocalDate startDate, LocalDate endDate);
 
+    @Query("{'userId': ?0, 'sportType': ?1, 'entryDate': {'$gte': ?2, '$lte': ?3}}")
+    List<InvestmentRecord> findByUserIdAndSportTypeAndDateRange(String userId, String sportType, LocalDate startDate, LocalDate endDate);
+
+    // ✅ Paged variants (e.g. top-N recent activities)
+    List<InvestmentRecord> findByUserId(String userId, Pageable pageable);
+
+    List<InvestmentRecord> findByUserIdAndSportType(String userId, String sportType, Pageable pageable);
+
+    @Query("{'userId': ?0, 'entryDate': {'$gte': ?1, '$lte': ?2}}")
+    List<InvestmentRecord> findByUserIdAndDateRange(String userId, LocalDate startDate, LocalDate endDate, Pageable pageable);
+
+    // ✅ Amount projections (analytics totals read nothing else)
+    List<RecordAmounts> findAmountsByUserId(String userId);
+
+    List<RecordAmounts> findAmountsByUserIdAndSportType(String userId, String sportType);
+
+    @Query("{'userId': ?0, 'entryDate': {'$gte': ?1, '$lte': ?2}}")
+    List<RecordAmounts> findAmountsByUserIdAndDateRange(String userId, LocalDate startDate, LocalDate endDate);
+
+    // ✅ Cursor-backed streams (used by CSV export, caller must close), reading only the exported columns
+    @Query(fields = EXPORT_FIELDS)
+    Stream<InvestmentRecord> streamByUserIdOrderByEntryDateDesc(String userId);
+
+    @Query(fields = EXPORT_FIELDS)
+    Stream<InvestmentRecord> streamByUserIdAndSportType(String userId, String sportType);
+
+    @Query(fields = EXPORT_FIELDS)
+    Stream<InvestmentRecord> streamByUserIdAndEntryDateBetween(String userId, LocalDate startDate, LocalDate endDate);
+
     // ✅ Find by ID and userId (security and ownership checks)
     Optional<InvestmentRecord> findByIdAndUserId(String id, String userId);
 
@@ -0,0 +1,33 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.InvestmentRecord;
+
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Non-blocking counterpart of InvestmentRecordRepository for the reactive profile.
+ * Queries mirror the blocking ones so they are served by the same indexes.
+ */
+@Repository
+public interface ReactiveInvestmentRecordRepository extends ReactiveMongoRepository<InvestmentRecord, String> {
+
+    // Used by CSV export, reading only the exported columns
+    @Query(fields = InvestmentRecordRepository.EXPORT_FIELDS)
+    Flux<InvestmentRecord> findByUserIdOrderByEntryDateDesc(String userId);
+
+    @Query(fields = InvestmentRecordRepository.EXPORT_FIELDS)
+    Flux<InvestmentRecord> findByUserIdAndSportType(String userId, String sportType);
+
+    @Query(fields = InvestmentRecordRepository.EXPORT_FIELDS)
+    Flux<InvestmentRecord> findByUserIdAndEntryDateBetween(String userId, LocalDate startDate, LocalDate endDate);
+
+    Mono<InvestmentRecord> findByIdAndUserId(String id, String userId);
+
+    Mono<Long> countByUserId(String userId);
+}
@@ -0,0 +1,34 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.Schedule;
+
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Non-blocking counterpart of ScheduleRepository for the reactive profile.
+ */
+@Repository
+public interface ReactiveScheduleRepository extends ReactiveMongoRepository<Schedule, String> {
+
+    Mono<Schedule> findByIdAndUserId(String id, String userId);
+
+    // Used by CSV export, reading only the exported columns
+    @Query(fields = ScheduleRepository.EXPORT_FIELDS)
+    Flux<Schedule> findByUserIdOrderByMatchDateDesc(String userId);
+
+    @Query(fields = ScheduleRepository.EXPORT_FIELDS)
+    Flux<Schedule> findByUserIdAndSportType(String userId, String sportType);
+
+    Flux<Schedule> findByUserIdAndMatchDateAfterOrderByMatchDateAsc(String userId, LocalDate currentDate);
+
+    @Query(fields = ScheduleRepository.EXPORT_FIELDS)
+    Flux<Schedule> findByUserIdAndMatchDateBetween(String userId, LocalDate startDate, LocalDate endDate);
+
+    Mono<Long> countByUserId(String userId);
+}
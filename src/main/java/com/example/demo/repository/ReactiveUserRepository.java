@@ -0,0 +1,16 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.User;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of UserRepository for the reactive profile.
+ */
+@Repository
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String> {
+    Mono<User> findByUsername(String username);
+    Mono<Boolean> existsByUsername(String username);
+}
@@ -9,10 +9,14 @@ import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ScheduleRepository extends MongoRepository<Schedule, String> {
     
+    // Columns of the CSV export
+    String EXPORT_FIELDS = "{ 'sportType': 1, 'matchName': 1, 'teamA': 1, 'teamB': 1, 'matchDate': 1 }";
+    
     // ✅ CORRECT: Find schedules by userId (matches your entity field)
     List<Schedule> findByUserId(String userId);
     
@@ -35,6 +39,25 @@ public interface ScheduleRepository extends MongoRepository<Schedule, String> {
     // ✅ CORRECT: Find by userId and date range
     List<Schedule> findByUserIdAndMatchDateBetween(String userId, LocalDate startDate, LocalDate endDate);
     
+    // ✅ Single day and inclusive range, served by the (userId, matchDate) index
+    List<Schedule> findByUserIdAndMatchDate(String userId, LocalDate matchDate);
+    
+    @Query("{ 'userId': ?0, 'matchDate': { '$gte': ?1, '$lte': ?2 } }")
+    List<Schedule> findByUserIdAndDateRange(String userId, LocalDate startDate, LocalDate endDate);
+    
+    // ✅ Duplicate check on the lower-cased match name; stops at the first match
+    boolean existsByUserIdAndMatchNameKeyAndMatchDate(String userId, String matchNameKey, LocalDate matchDate);
+    
+    // ✅ Cursor-backed streams (used by CSV export, caller must close), reading only the exported columns
+    @Query(fields = EXPORT_FIELDS)
+    Stream<Schedule> streamByUserIdOrderByMatchDateDesc(String userId);
+    
+    @Query(fields = EXPORT_FIELDS)
+    Stream<Schedule> streamByUserIdAndSportType(String userId, String sportType);
+    
+    @Query(fields = EXPORT_FIELDS)
+    Stream<Schedule> streamByUserIdAndMatchDateBetween(String userId, LocalDate startDate, LocalDate endDate);
+    
     // ✅ CORRECT: Count schedules for a user
     Long countByUserId(String userId);
     
@@ -0,0 +1,18 @@
+package com.example.demo.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Closed projection of an InvestmentRecord: the only fields the analytics totals read.
+ * Repository methods returning it fetch just these four fields from MongoDB.
+ */
+public interface RecordAmounts {
+
+    String getSportType();
+
+    LocalDate getEntryDate();
+
+    Double getAmountInvested();
+
+    Double getEstimatedProfit();
+}
@@ -1,5 +1,9 @@
 package com.example.demo.security;
 
+import com.example.demo.repository.UserRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -17,46 +21,46 @@ import java.util.ArrayList;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
+    // Never log the Authorization header or any part of the token
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+    
     @Autowired
     private JwtTokenProvider tokenProvider;
     
+    @Autowired
+    private UserRepository userRepository;
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = getJwtFromRequest(request);
-            
-            // DEBUG: Print detailed request information
-            System.out.println("=== JWT AUTHENTICATION FILTER DEBUG ===");
-            System.out.println("Request URI: " + request.getRequestURI());
-            System.out.println("Request Method: " + request.getMethod());
-            System.out.println("Authorization Header: " + request.getHeader("Authorization"));
-            System.out.println("JWT Token present: " + (jwt != null));
-            
             String requestURI = request.getRequestURI();
             
             // ✅ UPDATED: Handle endpoints with .permitAll() differently
             if (StringUtils.hasText(jwt)) {
-                System.out.println("JWT Token (first 50 chars): " + jwt.substring(0, Math.min(jwt.length(), 50)) + "...");
-                
-                if (tokenProvider.validateToken(jwt)) {
-                    String username = tokenProvider.getUsernameFromJWT(jwt);
-                    System.out.println("✓ JWT validation successful");
-                    System.out.println("✓ Extracted username: " + username);
+                UserPrincipal verified = tokenProvider.authenticate(jwt);
+                if (verified != null) {
+                    UserPrincipal principal = resolvePrincipal(jwt, verified);
                     
                     // Create authentication token
                     UsernamePasswordAuthenticationToken authentication = 
-                        new UsernamePasswordAuthenticationToken(username, null, new ArrayList<>());
+                        new UsernamePasswordAuthenticationToken(principal, null, new ArrayList<>());
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     
                     // Set authentication in security context
                     SecurityContextHolder.getContext().setAuthentication(authentication);
-                    System.out.println("✓ Authentication set in SecurityContext");
-                    System.out.println("✓ User '" + username + "' authenticated successfully");
+                    log.atDebug()
+                        .addKeyValue("method", request.getMethod())
+                        .addKeyValue("uri", requestURI)
+                        .addKeyValue("userId", principal.getUserId())
+                        .log("JWT authenticated");
                     
                 } else {
-                    System.out.println("❌ JWT token validation failed");
-                    System.out.println("❌ Token might be expired, malformed, or invalid");
+                    log.atDebug()
+                        .addKeyValue("method", request.getMethod())
+                        .addKeyValue("uri", requestURI)
+                        .log("JWT rejected: expired, malformed or invalid");
                     
                     // Clear any existing authentication
                     SecurityContextHolder.clearContext();
@@ -65,59 +69,58 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             } else {
                 // ✅ NEW: For permitAll endpoints, create anonymous authentication
                 if (isPermitAllEndpoint(requestURI)) {
-                    System.out.println("✓ PermitAll endpoint - creating anonymous authentication");
-                    
                     // Create anonymous authentication to avoid null pointer
                     UsernamePasswordAuthenticationToken anonymousAuth = 
                         new UsernamePasswordAuthenticationToken("anonymous", null, new ArrayList<>());
                     SecurityContextHolder.getContext().setAuthentication(anonymousAuth);
                     
                 } else {
-                    System.out.println("❌ No JWT token found in Authorization header");
-                    System.out.println("❌ Expected format: 'Bearer <token>'");
+                    log.atDebug()
+                        .addKeyValue("method", request.getMethod())
+                        .addKeyValue("uri", requestURI)
+                        .log("No bearer token on protected endpoint");
                     
                     // Clear any existing authentication
                     SecurityContextHolder.clearContext();
                 }
             }
             
-            System.out.println("Current Authentication: " + SecurityContextHolder.getContext().getAuthentication());
-            System.out.println("=======================================");
-            
         } catch (Exception ex) {
-            System.err.println("❌ JWT Authentication Filter Error:");
-            System.err.println("Exception type: " + ex.getClass().getSimpleName());
-            System.err.println("Exception message: " + ex.getMessage());
-            ex.printStackTrace();
-            
             // Clear authentication on error
             SecurityContextHolder.clearContext();
             
-            logger.error("Could not set user authentication in security context", ex);
+            log.error("Could not set user authentication in security context", ex);
         }
         
         // Continue with the filter chain
         filterChain.doFilter(request, response);
     }
     
+    /**
+     * Tokens issued before the userId claim existed still need one lookup; its result
+     * is cached with the verified token
+     */
+    private UserPrincipal resolvePrincipal(String jwt, UserPrincipal principal) {
+        if (principal.getUserId() != null) {
+            return principal;
+        }
+        return userRepository.findByUsername(principal.getUsername())
+            .map(user -> {
+                UserPrincipal resolved = new UserPrincipal(user.getId(), user.getUsername());
+                tokenProvider.cachePrincipal(jwt, resolved);
+                return resolved;
+            })
+            .orElse(principal);
+    }
+    
     /**
      * Extract JWT token from the Authorization header
      */
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         
-        System.out.println("Raw Authorization Header: " + bearerToken);
-        
-        if (StringUtils.hasText(bearerToken)) {
-            if (bearerToken.startsWith("Bearer ")) {
-                String token = bearerToken.substring(7);
-                System.out.println("Extracted token length: " + token.length());
-                return token;
-            } else {
-                System.out.println("❌ Authorization header doesn't start with 'Bearer '");
-            }
-        } else {
-            System.out.println("❌ Authorization header is null or empty");
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring(7);
         }
         
         return null;
@@ -131,7 +134,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                requestURI.startsWith("/api/public/") ||
                requestURI.equals("/error") ||
                requestURI.equals("/") ||
-               requestURI.startsWith("/actuator/");
+               requestURI.startsWith("/actuator/health");
     }
     
     /**
@@ -152,15 +155,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
         String requestURI = request.getRequestURI();
-        boolean shouldSkip = isPublicEndpoint(requestURI); // Only skip truly public endpoints
-        
-        if (shouldSkip) {
-            System.out.println("=== JWT FILTER SKIPPED ===");
-            System.out.println("Request URI: " + requestURI);
-            System.out.println("Reason: Public endpoint");
-            System.out.println("==========================");
-        }
-        
-        return shouldSkip;
+        return isPublicEndpoint(requestURI); // Only skip truly public endpoints
     }
 }
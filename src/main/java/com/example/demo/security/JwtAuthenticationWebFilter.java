@@ -0,0 +1,101 @@
+package com.example.demo.security;
+
+import com.example.demo.repository.ReactiveUserRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+
+/**
+ * WebFlux port of JwtAuthenticationFilter: a valid bearer token puts a
+ * UserPrincipal into the reactive security context, anything else leaves the
+ * request unauthenticated. Registered in the security chain by
+ * ReactiveSecurityConfig rather than as a bean, so it runs exactly once.
+ */
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    // Never log the Authorization header or any part of the token
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationWebFilter.class);
+
+    private final JwtTokenProvider tokenProvider;
+    private final ReactiveUserRepository userRepository;
+
+    public JwtAuthenticationWebFilter(JwtTokenProvider tokenProvider, ReactiveUserRepository userRepository) {
+        this.tokenProvider = tokenProvider;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String jwt = getJwtFromRequest(request);
+        if (!StringUtils.hasText(jwt)) {
+            return chain.filter(exchange);
+        }
+
+        UserPrincipal verified;
+        try {
+            verified = tokenProvider.authenticate(jwt);
+        } catch (Exception ex) {
+            log.error("Could not set user authentication in security context", ex);
+            return chain.filter(exchange);
+        }
+
+        if (verified == null) {
+            log.atDebug()
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("uri", request.getPath().value())
+                .log("JWT rejected: expired, malformed or invalid");
+            return chain.filter(exchange);
+        }
+
+        return resolvePrincipal(jwt, verified).flatMap(principal -> {
+            log.atDebug()
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("uri", request.getPath().value())
+                .addKeyValue("userId", principal.getUserId())
+                .log("JWT authenticated");
+            UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(principal, null, new ArrayList<>());
+            return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+        });
+    }
+
+    /**
+     * Tokens issued before the userId claim existed still need one lookup; its result
+     * is cached with the verified token
+     */
+    private Mono<UserPrincipal> resolvePrincipal(String jwt, UserPrincipal principal) {
+        if (principal.getUserId() != null) {
+            return Mono.just(principal);
+        }
+        return userRepository.findByUsername(principal.getUsername())
+            .map(user -> new UserPrincipal(user.getId(), user.getUsername()))
+            .doOnNext(resolved -> tokenProvider.cachePrincipal(jwt, resolved))
+            .defaultIfEmpty(principal);
+    }
+
+    /**
+     * Extract JWT token from the Authorization header
+     */
+    private static String getJwtFromRequest(ServerHttpRequest request) {
+        String bearerToken = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring(7);
+        }
+
+        return null;
+    }
+}
@@ -1,81 +1,201 @@
 package com.example.demo.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtTokenProvider {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtTokenProvider.class);
+
+    public static final String USER_ID_CLAIM = "uid";
+
     @Value("${app.jwtSecret:sportsInvestmentSecretKey2025ForJWTAuthentication}")
     private String jwtSecret;
 
     @Value("${app.jwtExpirationInMs:86400000}")
     private int jwtExpirationInMs;
 
+    @Value("${app.jwt.cache.max-size:10000}")
+    private long verifiedTokenCacheSize;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    // Built once at startup; both are immutable and thread-safe
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    // SHA-256(token) -> principal, kept until the token itself expires
+    private Cache<String, VerifiedToken> verifiedTokens;
+
     public JwtTokenProvider() {
         this.jwtSecret = "sportsInvestmentSecretKey2025ForJWTAuthentication";
         this.jwtExpirationInMs = 86400000;
+        this.verifiedTokenCacheSize = 10000;
     }
 
-    private SecretKey getSigningKey() {
+    @PostConstruct
+    public void init() {
         byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
         if (keyBytes.length < 32) {
             throw new IllegalArgumentException("JWT secret key must be at least 32 bytes");
         }
-        return Keys.hmacShaKeyFor(keyBytes);
+        signingKey = Keys.hmacShaKeyFor(keyBytes);
+        jwtParser = Jwts.parser().verifyWith(signingKey).build();
+
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedTokenCacheSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        long remainingMs = value.expiresAtMillis - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified-tokens");
+        }
     }
 
-    public String generateToken(String username) {
+    public String generateToken(String username, String userId) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
 
         return Jwts.builder()
                 .claim("sub", username)
+                .claim(USER_ID_CLAIM, userId)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
     public String getUsernameFromJWT(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
 
         return claims.getSubject();
     }
 
+    /**
+     * Build the principal from the token claims. The userId is null for tokens
+     * issued before it was embedded as a claim.
+     */
+    public UserPrincipal getPrincipalFromJWT(String token) {
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+
+        return new UserPrincipal(claims.get(USER_ID_CLAIM, String.class), claims.getSubject());
+    }
+
+    /**
+     * Validate the token and return its principal, or null when it is invalid.
+     * A token is parsed and HMAC-verified only the first time it is seen; repeats
+     * are answered from the verified-token cache until the token expires.
+     */
+    public UserPrincipal authenticate(String token) {
+        String key = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && cached.expiresAtMillis > System.currentTimeMillis()) {
+            return cached.principal;
+        }
+
+        Claims claims = parseValidClaims(token);
+        if (claims == null) {
+            return null;
+        }
+
+        UserPrincipal principal = new UserPrincipal(claims.get(USER_ID_CLAIM, String.class), claims.getSubject());
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            verifiedTokens.put(key, new VerifiedToken(principal, expiration.getTime()));
+        }
+        return principal;
+    }
+
+    /**
+     * Replaces the cached principal of a verified token, so the userId looked up for a
+     * token issued without the uid claim is reused until the token expires.
+     */
+    public void cachePrincipal(String token, UserPrincipal principal) {
+        verifiedTokens.asMap().computeIfPresent(digest(token),
+                (key, cached) -> new VerifiedToken(principal, cached.expiresAtMillis));
+    }
+
     public boolean validateToken(String authToken) {
+        return parseValidClaims(authToken) != null;
+    }
+
+    private Claims parseValidClaims(String authToken) {
         try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(authToken);
-            return true;
+            return jwtParser.parseSignedClaims(authToken).getPayload();
         } catch (SecurityException ex) {
-            System.err.println("Invalid JWT signature: " + ex.getMessage());
+            log.debug("Invalid JWT signature: {}", ex.getMessage());
         } catch (MalformedJwtException ex) {
-            System.err.println("Invalid JWT token: " + ex.getMessage());
+            log.debug("Invalid JWT token: {}", ex.getMessage());
         } catch (ExpiredJwtException ex) {
-            System.err.println("Expired JWT token: " + ex.getMessage());
+            log.debug("Expired JWT token: {}", ex.getMessage());
         } catch (UnsupportedJwtException ex) {
-            System.err.println("Unsupported JWT token: " + ex.getMessage());
+            log.debug("Unsupported JWT token: {}", ex.getMessage());
         } catch (IllegalArgumentException ex) {
-            System.err.println("JWT claims string is empty: " + ex.getMessage());
+            log.debug("JWT claims string is empty: {}", ex.getMessage());
+        }
+        return null;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class VerifiedToken {
+        final UserPrincipal principal;
+        final long expiresAtMillis;
+
+        VerifiedToken(UserPrincipal principal, long expiresAtMillis) {
+            this.principal = principal;
+            this.expiresAtMillis = expiresAtMillis;
         }
-        return false;
     }
 }
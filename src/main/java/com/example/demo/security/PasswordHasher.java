@@ -0,0 +1,155 @@
+package com.example.demo.security;
+
+import com.example.demo.exception.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt hashing and verification on a bounded pool instead of request threads.
+ *
+ * BCrypt is deliberately CPU-bound, so the pool has one thread per core (threads)
+ * and at most queue-capacity hashes wait for a thread. When that queue is full the
+ * call fails at once with ServiceUnavailableException (503) rather than piling up
+ * request threads behind work the CPU cannot finish anyway.
+ */
+@Component
+public class PasswordHasher {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHasher.class);
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    // 0 = one thread per available core
+    @Value("${app.auth.hashing.threads:0}")
+    private int threads;
+
+    @Value("${app.auth.hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+    private Operation encoding;
+    private Operation matching;
+
+    @PostConstruct
+    public void start() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        encoding = new Operation("encode");
+        matching = new Operation("matches");
+        if (meterRegistry != null) {
+            Gauge.builder("sports.auth.hash.queue", executor.getQueue(), BlockingQueue::size)
+                    .description("Password hashes waiting for a hashing thread")
+                    .register(meterRegistry);
+        }
+        log.info("Password hashing on {} threads, at most {} queued", poolSize, queueCapacity);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    public String encode(String rawPassword) {
+        return encoding.run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String passwordHash) {
+        return matching.run(() -> passwordEncoder.matches(rawPassword, passwordHash));
+    }
+
+    // ================== EXECUTION ==================
+
+    private final class Operation {
+        private final String name;
+        private Timer queueWait;
+        private Timer hashTime;
+        private Counter rejections;
+
+        Operation(String name) {
+            this.name = name;
+            if (meterRegistry != null) {
+                queueWait = Timer.builder("sports.auth.hash.queue-wait")
+                        .description("Time a password hash waited for a hashing thread")
+                        .tag("operation", name)
+                        .register(meterRegistry);
+                hashTime = Timer.builder("sports.auth.hash.time")
+                        .description("Time spent computing a password hash")
+                        .tag("operation", name)
+                        .register(meterRegistry);
+                rejections = Counter.builder("sports.auth.hash.rejections")
+                        .description("Password hashes refused with 503 because the hashing queue was full")
+                        .tag("operation", name)
+                        .register(meterRegistry);
+            }
+        }
+
+        <T> T run(Callable<T> hash) {
+            long queuedAt = System.nanoTime();
+            Future<T> result;
+            try {
+                result = executor.submit(() -> {
+                    long startedAt = System.nanoTime();
+                    try {
+                        return hash.call();
+                    } finally {
+                        if (queueWait != null) {
+                            queueWait.record(startedAt - queuedAt, TimeUnit.NANOSECONDS);
+                            hashTime.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                if (rejections != null) {
+                    rejections.increment();
+                }
+                throw new ServiceUnavailableException("Authentication is busy, try again shortly");
+            }
+
+            try {
+                return result.get();
+            } catch (InterruptedException e) {
+                result.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for password " + name);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof RuntimeException cause
+                        ? cause
+                        : new RuntimeException("Password " + name + " failed", e.getCause());
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.demo.security;
+
+import com.example.demo.security.RateLimiter.EndpointClass;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles export and analytics requests per user (per client address when
+ * anonymous) with RateLimiter, answering 429 with Retry-After once a client's
+ * bucket is empty. Runs right after JwtAuthenticationFilter so the user is known;
+ * registered in the security chain by SecurityConfig rather than as a bean, so it
+ * runs exactly once.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        EndpointClass endpointClass = endpointClass(request.getRequestURI());
+        if (endpointClass == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String clientKey = clientKey(SecurityContextHolder.getContext().getAuthentication(), request);
+        long waitNanos = rateLimiter.tryAcquire(clientKey, endpointClass);
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        log.atDebug()
+            .addKeyValue("uri", request.getRequestURI())
+            .addKeyValue("client", clientKey)
+            .addKeyValue("retryAfter", retryAfterSeconds)
+            .log("Rate limit exceeded");
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"Too many requests, retry after " + retryAfterSeconds
+            + " seconds\",\"success\":false,\"timestamp\":" + System.currentTimeMillis() + "}");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !rateLimiter.isEnabled();
+    }
+
+    static EndpointClass endpointClass(String requestURI) {
+        if (requestURI.startsWith("/api/sports/export/")) {
+            return EndpointClass.EXPORT;
+        }
+        if (requestURI.startsWith("/api/sports/analytics/") || requestURI.startsWith("/api/analytics/")) {
+            return EndpointClass.ANALYTICS;
+        }
+        return null;
+    }
+
+    static String clientKey(Authentication authentication, HttpServletRequest request) {
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal
+                && principal.getUserId() != null) {
+            return "user:" + principal.getUserId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.demo.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client token buckets for the expensive endpoint classes.
+ *
+ * Each bucket is a single AtomicLong holding the time at which it will be full
+ * again (the GCRA form of a token bucket): taking tokens is one compare-and-set
+ * that pushes that time forward by cost x refill interval, and is refused when
+ * it would lie more than capacity x refill interval ahead. No locks are taken,
+ * and clients only contend with their own concurrent requests. Buckets idle for
+ * longer than idle-expiry are evicted; by then they are full, so nothing is lost.
+ */
+@Component
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class RateLimiter {
+
+    public enum EndpointClass { EXPORT, ANALYTICS }
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.rate-limit.capacity:30}")
+    private int capacity;
+
+    @Value("${app.rate-limit.refill-per-second:1}")
+    private double refillPerSecond;
+
+    @Value("${app.rate-limit.cost.export:10}")
+    private int exportCost;
+
+    @Value("${app.rate-limit.cost.analytics:2}")
+    private int analyticsCost;
+
+    @Value("${app.rate-limit.idle-expiry:10m}")
+    private Duration idleExpiry;
+
+    @Value("${app.rate-limit.max-clients:100000}")
+    private long maxClients;
+
+    private long refillIntervalNanos;
+    private Cache<String, AtomicLong> buckets;
+    private final Map<EndpointClass, Counter> rejections = new EnumMap<>(EndpointClass.class);
+
+    @PostConstruct
+    public void init() {
+        refillIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond);
+        buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(idleExpiry)
+                .recordStats()
+                .build();
+
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rate-limit.buckets");
+            for (EndpointClass endpointClass : EndpointClass.values()) {
+                rejections.put(endpointClass, Counter.builder("sports.rate-limit.rejections")
+                        .description("Requests refused with 429 by the per-client rate limiter")
+                        .tag("endpoint", endpointClass.name().toLowerCase(Locale.ROOT))
+                        .register(meterRegistry));
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int cost(EndpointClass endpointClass) {
+        return endpointClass == EndpointClass.EXPORT ? exportCost : analyticsCost;
+    }
+
+    /**
+     * Takes the endpoint's cost from the client's bucket.
+     *
+     * @return 0 when the request may proceed, otherwise the nanoseconds until enough tokens are back
+     */
+    public long tryAcquire(String clientKey, EndpointClass endpointClass) {
+        AtomicLong fullAt = buckets.get(clientKey, key -> new AtomicLong(Long.MIN_VALUE));
+        long waitNanos = tryAcquire(fullAt, cost(endpointClass), System.nanoTime(),
+                refillIntervalNanos, capacity);
+        if (waitNanos > 0) {
+            Counter counter = rejections.get(endpointClass);
+            if (counter != null) {
+                counter.increment();
+            }
+        }
+        return waitNanos;
+    }
+
+    static long tryAcquire(AtomicLong fullAt, int cost, long now, long refillIntervalNanos, int capacity) {
+        long burstNanos = capacity * refillIntervalNanos;
+        while (true) {
+            long current = fullAt.get();
+            long base = current == Long.MIN_VALUE || current < now ? now : current;
+            long next = base + cost * refillIntervalNanos;
+            long ahead = next - now;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
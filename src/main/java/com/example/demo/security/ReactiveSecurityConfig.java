@@ -0,0 +1,86 @@
+package com.example.demo.security;
+
+import com.example.demo.repository.ReactiveUserRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+
+/**
+ * Security for the reactive stack: the same public paths and stateless JWT
+ * authentication as SecurityConfig, with JwtAuthenticationWebFilter in place of
+ * the servlet filter.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveSecurityConfig.class);
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder();
+    }
+
+    // Backs Spring Security's user lookup with the users collection instead of a generated in-memory user
+    @Bean
+    public ReactiveUserDetailsService reactiveUserDetailsService(ReactiveUserRepository userRepository) {
+        return username -> userRepository.findByUsername(username)
+            .map(user -> org.springframework.security.core.userdetails.User.withUsername(username)
+                .password(user.getPasswordHash())
+                .roles("USER")
+                .build());
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         JwtTokenProvider tokenProvider,
+                                                         ReactiveUserRepository userRepository) {
+        UrlBasedCorsConfigurationSource corsSource = new UrlBasedCorsConfigurationSource();
+        corsSource.registerCorsConfiguration("/**", SecurityConfig.corsConfiguration());
+
+        http
+            .cors(cors -> cors.configurationSource(corsSource))
+            .csrf(csrf -> csrf.disable())
+            .httpBasic(basic -> basic.disable())
+            .formLogin(form -> form.disable())
+
+            // Stateless: the token is the only credential
+            .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+
+            // Same rules as SecurityConfig
+            .authorizeExchange(auth -> auth
+                .pathMatchers("/api/debug", "/api/debug/**", "/debug", "/debug/**").permitAll()
+                .pathMatchers("/api/auth/**").permitAll()
+                .pathMatchers("/api/public/**").permitAll()
+                .pathMatchers("/api/sports/health").permitAll()
+                .pathMatchers("/error").permitAll()
+                .pathMatchers("/api/sports/export/**").permitAll()
+                .pathMatchers("/api/sports/schedules", "/api/sports/schedules/**").permitAll()
+                .pathMatchers("/api/sports/records", "/api/sports/records/**").permitAll()
+                .pathMatchers("/api/sports/analytics", "/api/sports/analytics/**").permitAll()
+                .pathMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                .anyExchange().authenticated()
+            )
+
+            .addFilterAt(new JwtAuthenticationWebFilter(tokenProvider, userRepository),
+                SecurityWebFiltersOrder.AUTHENTICATION);
+
+        log.debug("Reactive security configuration applied");
+
+        return http.build();
+    }
+}
@@ -1,5 +1,9 @@
 package com.example.demo.security;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -14,10 +18,14 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
+import java.util.List;
 
 @Configuration
-@EnableWebSecurity(debug = true) // ✅ ADDED: Enable security debugging
+@EnableWebSecurity
+@ConditionalOnWebApplication(type = Type.SERVLET)
 public class SecurityConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(SecurityConfig.class);
     
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
@@ -32,6 +40,14 @@ public class SecurityConfig {
     // Define CORS Configuration Source Bean
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", corsConfiguration());
+        
+        return source;
+    }
+    
+    // Shared with ReactiveSecurityConfig
+    static CorsConfiguration corsConfiguration() {
         CorsConfiguration configuration = new CorsConfiguration();
         
         // Allow specific origins (update for production)
@@ -55,24 +71,20 @@ public class SecurityConfig {
             "Access-Control-Request-Headers"
         ));
         
+        // Let browser clients read the next-page cursor and the validator for conditional GETs
+        configuration.setExposedHeaders(List.of("X-Next-Cursor", "ETag"));
+        
         // Allow credentials (cookies, authorization headers)
         configuration.setAllowCredentials(true);
         
         // Cache preflight response for 1 hour
         configuration.setMaxAge(3600L);
         
-        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
-        source.registerCorsConfiguration("/**", configuration);
-        
-        return source;
+        return configuration;
     }
     
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
-        System.out.println("=== SECURITY CONFIG LOADING ===");
-        System.out.println("CORS Configuration Source: " + corsConfigurationSource());
-        System.out.println("===============================");
-        
+    public SecurityFilterChain filterChain(HttpSecurity http, RateLimiter rateLimiter) throws Exception {
         http
             // Configure CORS
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -100,7 +112,7 @@ public class SecurityConfig {
                 .requestMatchers("/api/sports/schedules", "/api/sports/schedules/**").permitAll()  // Allow schedules access
                 .requestMatchers("/api/sports/records", "/api/sports/records/**").permitAll()    // Allow records access  
                 .requestMatchers("/api/sports/analytics", "/api/sports/analytics/**").permitAll()  // Allow analytics access
-                .requestMatchers("/actuator/**").permitAll()              // Allow actuator endpoints
+                .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()  // Probes only; metrics need a token
                 
                 // All other requests require authentication
                 .anyRequest().authenticated()
@@ -108,8 +120,11 @@ public class SecurityConfig {
         
         // Add JWT filter before UsernamePasswordAuthenticationFilter
         http.addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
+
+        // Throttle export/analytics once the caller is known
+        http.addFilterAfter(new RateLimitFilter(rateLimiter), JwtAuthenticationFilter.class);
         
-        System.out.println("✓ Security configuration applied successfully");
+        log.debug("Security configuration applied");
         
         return http.build();
     }
@@ -0,0 +1,45 @@
+package com.example.demo.security;
+
+import org.springframework.security.core.Authentication;
+
+import java.io.Serializable;
+import java.security.Principal;
+
+/**
+ * Authenticated principal installed by JwtAuthenticationFilter.
+ * Carries the userId from the token so services never need to look the user up.
+ */
+public class UserPrincipal implements Principal, Serializable {
+
+    private final String userId;
+    private final String username;
+
+    public UserPrincipal(String userId, String username) {
+        this.userId = userId;
+        this.username = username;
+    }
+
+    /**
+     * Resolve the userId of the current caller, failing for anonymous callers.
+     */
+    public static String userIdOf(Authentication authentication) {
+        if (authentication != null
+                && authentication.getPrincipal() instanceof UserPrincipal principal
+                && principal.getUserId() != null) {
+            return principal.getUserId();
+        }
+        throw new RuntimeException("User not found: " + (authentication != null ? authentication.getName() : null));
+    }
+
+    public String getUserId() { return userId; }
+
+    public String getUsername() { return username; }
+
+    @Override
+    public String getName() { return username; }
+
+    @Override
+    public String toString() {
+        return "UserPrincipal{userId='" + userId + "', username='" + username + "'}";
+    }
+}
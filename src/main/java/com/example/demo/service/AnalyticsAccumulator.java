@@ -0,0 +1,235 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.response.AnalyticsResponse;
+import com.example.demo.dto.response.AnalyticsResponse.MonthlyData;
+import com.example.demo.dto.response.AnalyticsResponse.RecentActivity;
+import com.example.demo.dto.response.AnalyticsResponse.SportStats;
+import com.example.demo.model.InvestmentRecord;
+import com.example.demo.repository.projection.RecordAmounts;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Computes every AnalyticsResponse field in a single pass over investment records.
+ *
+ * Totals are kept in primitive fields, per-sport and per-month buckets are mutable
+ * holders keyed once per distinct sport/month, and the most recent activities are
+ * tracked in a bounded min-heap instead of sorting the whole list. Month labels
+ * are only formatted once per bucket when the response is built.
+ *
+ * Not thread-safe; call {@link #reset()} to reuse an instance.
+ */
+public class AnalyticsAccumulator {
+
+    public static final int RECENT_ACTIVITY_LIMIT = 10;
+
+    // Oldest createdDate first; among equal dates the later-seen record is evicted first,
+    // which keeps the result identical to a stable descending sort.
+    private static final Comparator<Recent> EVICTION_ORDER = Comparator
+            .comparing((Recent recent) -> recent.createdDate, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Comparator.comparingLong((Recent recent) -> recent.sequence).reversed());
+
+    private double totalInvestment;
+    private double totalProfit;
+    private double totalLoss;
+    private int totalBets;
+    private int winningBets;
+    private double bestProfit;
+    private double worstLoss;
+
+    private final Map<String, Totals> sports = new HashMap<>();
+    private final Map<Integer, Totals> months = new HashMap<>();
+    private int lastMonthKey = Integer.MIN_VALUE;
+    private Totals lastMonth;
+
+    private final PriorityQueue<Recent> recent = new PriorityQueue<>(RECENT_ACTIVITY_LIMIT + 1, EVICTION_ORDER);
+    private long sequence;
+
+    public AnalyticsAccumulator() {
+        reset();
+    }
+
+    public static AnalyticsResponse calculate(Iterable<InvestmentRecord> records) {
+        AnalyticsAccumulator accumulator = new AnalyticsAccumulator();
+        for (InvestmentRecord record : records) {
+            accumulator.add(record);
+        }
+        return accumulator.toResponse();
+    }
+
+    /**
+     * Totals from amount projections; the recent activities come from the separately
+     * fetched newest records, since the projections carry no names or creation dates.
+     */
+    public static AnalyticsResponse calculate(Iterable<? extends RecordAmounts> amounts,
+                                              Iterable<InvestmentRecord> recentRecords) {
+        AnalyticsAccumulator accumulator = new AnalyticsAccumulator();
+        for (RecordAmounts record : amounts) {
+            accumulator.add(record.getSportType(), record.getEntryDate(),
+                    record.getAmountInvested(), record.getEstimatedProfit());
+        }
+        for (InvestmentRecord record : recentRecords) {
+            accumulator.trackRecent(record);
+        }
+        return accumulator.toResponse();
+    }
+
+    public void reset() {
+        totalInvestment = 0;
+        totalProfit = 0;
+        totalLoss = 0;
+        totalBets = 0;
+        winningBets = 0;
+        bestProfit = Double.NEGATIVE_INFINITY;
+        worstLoss = Double.POSITIVE_INFINITY;
+        sports.clear();
+        months.clear();
+        lastMonthKey = Integer.MIN_VALUE;
+        lastMonth = null;
+        recent.clear();
+        sequence = 0;
+    }
+
+    public void add(InvestmentRecord record) {
+        add(record.getSportType(), record.getEntryDate(), record.getAmountInvested(), record.getEstimatedProfit());
+        trackRecent(record);
+    }
+
+    private void add(String sportType, LocalDate entryDate, Double amountInvested, Double estimatedProfit) {
+        double amount = amountInvested != null ? amountInvested : 0.0;
+        double profit = estimatedProfit != null ? estimatedProfit : 0.0;
+        boolean win = profit > 0;
+
+        totalInvestment += amount;
+        if (win) {
+            totalProfit += profit;
+            winningBets++;
+        } else {
+            totalLoss += profit;
+        }
+        totalBets++;
+        if (profit > bestProfit) bestProfit = profit;
+        if (profit < worstLoss) worstLoss = profit;
+
+        Totals sport = sports.get(sportType);
+        if (sport == null) {
+            sport = new Totals();
+            sports.put(sportType, sport);
+        }
+        sport.add(amount, profit, win);
+
+        if (entryDate != null) {
+            int monthKey = entryDate.getYear() * 12 + entryDate.getMonthValue() - 1;
+            if (monthKey != lastMonthKey) {
+                lastMonth = months.computeIfAbsent(monthKey, key -> new Totals());
+                lastMonthKey = monthKey;
+            }
+            lastMonth.add(amount, profit, win);
+        }
+    }
+
+    public AnalyticsResponse toResponse() {
+        AnalyticsResponse analytics = new AnalyticsResponse();
+
+        if (totalBets == 0) {
+            return analytics;
+        }
+
+        analytics.setTotalInvestment(totalInvestment);
+        analytics.setTotalProfit(totalProfit);
+        analytics.setTotalLoss(Math.abs(totalLoss));
+        analytics.setNetProfit(totalProfit + totalLoss);
+        analytics.setTotalBets(totalBets);
+        analytics.setWinningBets(winningBets);
+        analytics.setLosingBets(totalBets - winningBets);
+        analytics.setWinPercentage(winningBets * 100.0 / totalBets);
+        analytics.setAverageBetAmount(totalInvestment / totalBets);
+        analytics.setBestProfit(bestProfit);
+        analytics.setWorstLoss(worstLoss);
+
+        Map<String, SportStats> sportWiseStats = new HashMap<>(sports.size() * 2);
+        sports.forEach((sport, totals) -> sportWiseStats.put(sport,
+                new SportStats(totals.investment, totals.profit, totals.bets, totals.wins)));
+        analytics.setSportWiseStats(sportWiseStats);
+
+        List<MonthlyData> monthlyData = new ArrayList<>(months.size());
+        new TreeMap<>(months).forEach((key, totals) -> monthlyData.add(new MonthlyData(
+                YearMonth.of(key / 12, key % 12 + 1).toString(), totals.investment, totals.profit, totals.bets)));
+        analytics.setMonthlyData(monthlyData);
+
+        analytics.setRecentActivities(recentActivities());
+
+        return analytics;
+    }
+
+    private void trackRecent(InvestmentRecord record) {
+        long seq = sequence++;
+        if (recent.size() == RECENT_ACTIVITY_LIMIT) {
+            // A newcomer only displaces the eldest entry when strictly newer
+            if (!isNewer(record.getCreatedDate(), recent.peek().createdDate)) {
+                return;
+            }
+            recent.poll();
+        }
+        recent.offer(new Recent(record, seq));
+    }
+
+    private static boolean isNewer(LocalDateTime candidate, LocalDateTime eldest) {
+        if (candidate == null) return false;
+        return eldest == null || candidate.isAfter(eldest);
+    }
+
+    private List<RecentActivity> recentActivities() {
+        List<Recent> newestFirst = new ArrayList<>(recent);
+        newestFirst.sort(EVICTION_ORDER.reversed());
+
+        List<RecentActivity> activities = new ArrayList<>(newestFirst.size());
+        for (Recent entry : newestFirst) {
+            InvestmentRecord record = entry.record;
+            activities.add(new RecentActivity(
+                    record.getMatchName(),
+                    record.getSportType(),
+                    record.getAmountInvested(),
+                    record.getEstimatedProfit(),
+                    record.getEntryDate() != null ? record.getEntryDate().toString() : null,
+                    record.getWinnerOrDraw()
+            ));
+        }
+        return activities;
+    }
+
+    private static final class Totals {
+        double investment;
+        double profit;
+        int bets;
+        int wins;
+
+        void add(double amount, double estimatedProfit, boolean win) {
+            investment += amount;
+            profit += estimatedProfit;
+            bets++;
+            if (win) wins++;
+        }
+    }
+
+    private static final class Recent {
+        final InvestmentRecord record;
+        final LocalDateTime createdDate;
+        final long sequence;
+
+        Recent(InvestmentRecord record, long sequence) {
+            this.record = record;
+            this.createdDate = record.getCreatedDate();
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.response.AnalyticsResponse;
+import com.example.demo.dto.response.AnalyticsResponse.MonthlyData;
+import com.example.demo.dto.response.AnalyticsResponse.RecentActivity;
+import com.example.demo.dto.response.AnalyticsResponse.SportStats;
+import com.example.demo.dto.response.DashboardStats;
+import com.example.demo.model.InvestmentRecord;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.aggregation.DateOperators.Timezone;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes AnalyticsResponse inside MongoDB with a single $match + $facet pipeline,
+ * so only the reduced result crosses the wire instead of every matching record.
+ *
+ * Selected with app.analytics.engine=aggregation.
+ */
+@Service
+public class AnalyticsAggregationEngine {
+
+    // LocalDate values are persisted as midnight in the JVM zone, so month buckets
+    // must be computed in that zone rather than MongoDB's default of UTC.
+    private static final Timezone ENTRY_DATE_ZONE = Timezone.valueOf(ZoneId.systemDefault().getId());
+
+    private static final AggregationExpression POSITIVE_PROFIT = ConditionalOperators
+            .when(Criteria.where("estimatedProfit").gt(0)).thenValueOf("estimatedProfit").otherwise(0);
+
+    private static final AggregationExpression NEGATIVE_PROFIT = ConditionalOperators
+            .when(Criteria.where("estimatedProfit").lt(0)).thenValueOf("estimatedProfit").otherwise(0);
+
+    private static final AggregationExpression WIN_FLAG = ConditionalOperators
+            .when(Criteria.where("estimatedProfit").gt(0)).then(1).otherwise(0);
+
+    // The dashboard counts a win only when both amounts are present and profit beats the stake
+    private static final AggregationExpression BEATS_STAKE = context -> new Document("$cond", List.of(
+            new Document("$and", List.of(
+                    new Document("$isNumber", "$amountInvested"),
+                    new Document("$isNumber", "$estimatedProfit"),
+                    new Document("$gt", List.of("$estimatedProfit", "$amountInvested")))),
+            1, 0));
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    public AnalyticsResponse analyze(String userId, String sportType, LocalDate startDate, LocalDate endDate) {
+        Document result = mongoTemplate.aggregate(pipeline(userId, sportType, startDate, endDate),
+                InvestmentRecord.class, Document.class).getUniqueMappedResult();
+
+        return toResponse(result, mongoTemplate.getConverter());
+    }
+
+    /**
+     * The $match + $facet pipeline; shared with the reactive analytics service.
+     */
+    static Aggregation pipeline(String userId, String sportType, LocalDate startDate, LocalDate endDate) {
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (sportType != null) {
+            criteria = criteria.and("sportType").is(sportType);
+        }
+        if (startDate != null && endDate != null) {
+            criteria = criteria.and("entryDate").gte(startDate).lte(endDate);
+        }
+
+        return Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.facet(
+                        Aggregation.group()
+                                .sum("amountInvested").as("totalInvestment")
+                                .sum(POSITIVE_PROFIT).as("totalProfit")
+                                .sum(NEGATIVE_PROFIT).as("totalLoss")
+                                .count().as("totalBets")
+                                .sum(WIN_FLAG).as("winningBets")
+                                .max("estimatedProfit").as("bestProfit")
+                                .min("estimatedProfit").as("worstLoss")).as("totals")
+                        .and(
+                        Aggregation.group("sportType")
+                                .sum("amountInvested").as("investment")
+                                .sum("estimatedProfit").as("profit")
+                                .count().as("totalBets")
+                                .sum(WIN_FLAG).as("winningBets")).as("sports")
+                        .and(
+                        Aggregation.project("amountInvested", "estimatedProfit")
+                                .and(DateOperators.dateOf("entryDate").withTimezone(ENTRY_DATE_ZONE).year()).as("year")
+                                .and(DateOperators.dateOf("entryDate").withTimezone(ENTRY_DATE_ZONE).month()).as("month"),
+                        Aggregation.group("year", "month")
+                                .sum("amountInvested").as("investment")
+                                .sum("estimatedProfit").as("profit")
+                                .count().as("totalBets")).as("months")
+                        .and(
+                        Aggregation.sort(Sort.Direction.DESC, "createdDate"),
+                        Aggregation.limit(AnalyticsAccumulator.RECENT_ACTIVITY_LIMIT)).as("recent")
+        );
+    }
+
+    /**
+     * Dashboard totals, counts and wins in one $group over the user's records;
+     * shared with the reactive sports service.
+     */
+    public static Aggregation dashboardPipeline(String userId) {
+        return Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("userId").is(userId)),
+                Aggregation.group()
+                        .sum("amountInvested").as("totalInvestment")
+                        .sum("estimatedProfit").as("totalProfit")
+                        .count().as("totalRecords")
+                        .sum(BEATS_STAKE).as("winningRecords")
+        );
+    }
+
+    /**
+     * A user without records has no group, so a null result means all zeros.
+     */
+    public static DashboardStats toDashboardStats(Document totals, long scheduleCount) {
+        if (totals == null) {
+            return new DashboardStats(0.0, 0.0, 0, 0, scheduleCount);
+        }
+        return new DashboardStats(number(totals, "totalInvestment"), number(totals, "totalProfit"),
+                (long) number(totals, "totalRecords"), (long) number(totals, "winningRecords"), scheduleCount);
+    }
+
+    static AnalyticsResponse toResponse(Document result, MongoConverter converter) {
+        AnalyticsResponse analytics = new AnalyticsResponse();
+
+        List<Document> totalsFacet = result != null ? result.getList("totals", Document.class) : List.of();
+        if (totalsFacet.isEmpty()) {
+            return analytics;
+        }
+
+        Document totals = totalsFacet.get(0);
+        double totalInvestment = number(totals, "totalInvestment");
+        double totalProfit = number(totals, "totalProfit");
+        double totalLoss = number(totals, "totalLoss");
+        int totalBets = (int) number(totals, "totalBets");
+        int winningBets = (int) number(totals, "winningBets");
+
+        analytics.setTotalInvestment(totalInvestment);
+        analytics.setTotalProfit(totalProfit);
+        analytics.setTotalLoss(Math.abs(totalLoss));
+        analytics.setNetProfit(totalProfit + totalLoss);
+        analytics.setTotalBets(totalBets);
+        analytics.setWinningBets(winningBets);
+        analytics.setLosingBets(totalBets - winningBets);
+        analytics.setWinPercentage(totalBets > 0 ? (winningBets * 100.0 / totalBets) : 0.0);
+        analytics.setAverageBetAmount(totalBets > 0 ? totalInvestment / totalBets : 0.0);
+        analytics.setBestProfit(number(totals, "bestProfit"));
+        analytics.setWorstLoss(number(totals, "worstLoss"));
+
+        Map<String, SportStats> sportWiseStats = new HashMap<>();
+        for (Document sport : result.getList("sports", Document.class)) {
+            sportWiseStats.put(sport.getString("_id"), new SportStats(
+                    number(sport, "investment"), number(sport, "profit"),
+                    (int) number(sport, "totalBets"), (int) number(sport, "winningBets")));
+        }
+        analytics.setSportWiseStats(sportWiseStats);
+
+        List<MonthlyData> monthlyData = new ArrayList<>();
+        for (Document month : result.getList("months", Document.class)) {
+            Document key = month.get("_id", Document.class);
+            if (key == null || key.get("year") == null || key.get("month") == null) {
+                continue;
+            }
+            monthlyData.add(new MonthlyData(
+                    YearMonth.of(key.getInteger("year"), key.getInteger("month")).toString(),
+                    number(month, "investment"), number(month, "profit"), (int) number(month, "totalBets")));
+        }
+        monthlyData.sort(Comparator.comparing(MonthlyData::getMonth));
+        analytics.setMonthlyData(monthlyData);
+
+        List<RecentActivity> recentActivities = new ArrayList<>();
+        for (Document recent : result.getList("recent", Document.class)) {
+            InvestmentRecord record = converter.read(InvestmentRecord.class, recent);
+            recentActivities.add(new RecentActivity(
+                    record.getMatchName(),
+                    record.getSportType(),
+                    record.getAmountInvested(),
+                    record.getEstimatedProfit(),
+                    record.getEntryDate() != null ? record.getEntryDate().toString() : null,
+                    record.getWinnerOrDraw()
+            ));
+        }
+        analytics.setRecentActivities(recentActivities);
+
+        return analytics;
+    }
+
+    private static double number(Document document, String field) {
+        Object value = document.get(field);
+        return value instanceof Number ? ((Number) value).doubleValue() : 0.0;
+    }
+}
@@ -0,0 +1,430 @@
+package com.example.demo.service;
+
+import com.example.demo.model.AnalyticsRollup;
+import com.example.demo.model.InvestmentRecord;
+import com.example.demo.repository.AnalyticsRollupRepository;
+import com.example.demo.repository.InvestmentRecordRepository;
+
+import com.mongodb.bulk.BulkWriteResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Keeps one AnalyticsRollup document per (user, month, sport) in step with the
+ * investment_records collection.
+ *
+ * Writes are applied as atomic $inc deltas keyed by a deterministic _id, so
+ * concurrent record writes never lose updates. Best/worst values can only be
+ * widened atomically; when a removal touches the current extreme, the single
+ * affected bucket is recomputed from its records. Rollup failures never fail
+ * the record write itself: the user is queued with {@link #requestRepair(String)}
+ * and rebuilt off the request path, and their ETags are withheld meanwhile.
+ *
+ * Records written before rollups existed are rolled up by a one-time backfill on
+ * the first startup; a marker in the migrations collection keeps later startups
+ * from repeating it. Reads never compare rollups with the records collection.
+ */
+@Service
+public class AnalyticsRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsRollupService.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private AnalyticsRollupRepository rollupRepository;
+
+    @Autowired
+    private InvestmentRecordRepository recordRepository;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    static final String MIGRATIONS_COLLECTION = "migrations";
+    static final String BACKFILL_MARKER = "analytics-rollups-backfill";
+
+    @Value("${app.analytics.rollups.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    // Users whose rollups missed a delta or were found out of step with their records
+    private final Set<String> repairs = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Backfills the rollups of every user once, or on every startup when
+     * rebuild-on-startup is set.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Query marker = Query.query(Criteria.where("_id").is(BACKFILL_MARKER));
+        if (!rebuildOnStartup && mongoTemplate.exists(marker, MIGRATIONS_COLLECTION)) {
+            return;
+        }
+        int failed = rebuildAll();
+        // Users that failed are queued for repair; the backfill runs again on the next startup
+        if (failed == 0) {
+            mongoTemplate.upsert(marker, Update.update("completedAt", new Date()), MIGRATIONS_COLLECTION);
+        }
+        log.info("Rebuilt analytics rollups, {} users failed", failed);
+    }
+
+    public List<AnalyticsRollup> getUserRollups(String userId) {
+        return rollupRepository.findByUserId(userId);
+    }
+
+    public void recordAdded(InvestmentRecord record) {
+        try {
+            mongoTemplate.upsert(bucketQuery(record), addedUpdate(record), AnalyticsRollup.class);
+        } catch (Exception e) {
+            log.error("Failed to apply rollup delta for added record", e);
+            requestRepair(record.getUserId());
+        }
+    }
+
+    /**
+     * Applies the deltas of many new records with one upsert per affected bucket,
+     * sent as a single unordered bulk write.
+     */
+    public void recordsAdded(List<InvestmentRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        try {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, AnalyticsRollup.class);
+            for (AnalyticsRollup delta : bucketDeltas(records)) {
+                bulk.upsert(Query.query(Criteria.where("_id").is(delta.getId())), bucketDeltaUpdate(delta));
+            }
+            bulk.execute();
+        } catch (Exception e) {
+            log.error("Failed to apply rollup deltas for {} added records", records.size(), e);
+            requestRepairs(records);
+        }
+    }
+
+    public void recordRemoved(InvestmentRecord record) {
+        try {
+            AnalyticsRollup bucket = mongoTemplate.findAndModify(bucketQuery(record), deltaUpdate(record, -1),
+                    FindAndModifyOptions.options().returnNew(true), AnalyticsRollup.class);
+
+            if (bucket == null) {
+                return;
+            }
+            if (bucket.getTotalBets() <= 0) {
+                mongoTemplate.remove(Query.query(Criteria.where("_id").is(bucket.getId())), AnalyticsRollup.class);
+            } else if (touchesExtreme(bucket, record)) {
+                repairBucket(record.getUserId(), monthOf(record.getEntryDate()), record.getSportType());
+            }
+        } catch (Exception e) {
+            log.error("Failed to apply rollup delta for removed record", e);
+            requestRepair(record.getUserId());
+        }
+    }
+
+    /**
+     * Takes many removed records off their buckets with one unordered bulk write, then
+     * applies recordRemoved's follow-ups per bucket: emptied buckets are deleted and
+     * buckets whose best or worst value may have gone are recomputed.
+     */
+    public void recordsRemoved(List<InvestmentRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        try {
+            Collection<AnalyticsRollup> deltas = bucketDeltas(records);
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, AnalyticsRollup.class);
+            for (AnalyticsRollup delta : deltas) {
+                bulk.updateOne(Query.query(Criteria.where("_id").is(delta.getId())), bucketRemovalUpdate(delta));
+            }
+            bulk.execute();
+
+            Map<String, AnalyticsRollup> deltasById = new HashMap<>();
+            deltas.forEach(delta -> deltasById.put(delta.getId(), delta));
+            List<AnalyticsRollup> buckets = mongoTemplate.find(
+                    Query.query(Criteria.where("_id").in(deltasById.keySet())), AnalyticsRollup.class);
+            for (AnalyticsRollup bucket : buckets) {
+                AnalyticsRollup delta = deltasById.get(bucket.getId());
+                if (bucket.getTotalBets() <= 0) {
+                    mongoTemplate.remove(Query.query(Criteria.where("_id").is(bucket.getId())), AnalyticsRollup.class);
+                } else if (!"unknown".equals(bucket.getMonth()) && touchesExtreme(bucket, delta)) {
+                    repairBucket(bucket.getUserId(), bucket.getMonth(), bucket.getSportType());
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to apply rollup deltas for {} removed records", records.size(), e);
+            requestRepairs(records);
+        }
+    }
+
+    /**
+     * Queues the user's rollups for the next scheduled repair; until it has run the
+     * user's responses carry no ETag.
+     */
+    public void requestRepair(String userId) {
+        if (userId == null) {
+            return;
+        }
+        dataVersionService.withhold(userId);
+        repairs.add(userId);
+    }
+
+    /**
+     * Rebuilds the queued users. A failed rebuild stays queued for the next run.
+     */
+    @Scheduled(fixedDelayString = "${app.analytics.rollups.repair-interval:PT30S}")
+    public void repairRequested() {
+        for (String userId : List.copyOf(repairs)) {
+            repairs.remove(userId);
+            try {
+                rebuildUser(userId);
+                log.info("Repaired analytics rollups of user {}", userId);
+            } catch (Exception e) {
+                repairs.add(userId);
+                log.error("Failed to repair analytics rollups of user {}", userId, e);
+                continue;
+            }
+            // A repair requested while this one ran keeps the ETags withheld
+            if (!repairs.contains(userId)) {
+                dataVersionService.release(userId);
+            }
+        }
+    }
+
+    private void requestRepairs(List<InvestmentRecord> records) {
+        records.stream().map(InvestmentRecord::getUserId).distinct().forEach(this::requestRepair);
+    }
+
+    /**
+     * Recomputes every rollup of a user from a single cursor pass over their records.
+     *
+     * Each bucket is replaced in place (upserted when new) and buckets without records
+     * are deleted afterwards, so concurrent $inc upserts never find the user's buckets
+     * missing. A delta applied between the cursor pass and the replace is still lost or
+     * counted twice; the next repair settles it. The data version only moves when a
+     * bucket actually changed.
+     */
+    public List<AnalyticsRollup> rebuildUser(String userId) {
+        Map<String, AnalyticsRollup> buckets = new HashMap<>();
+
+        try (Stream<InvestmentRecord> records = recordRepository.streamByUserIdOrderByEntryDateDesc(userId)) {
+            Iterator<InvestmentRecord> it = records.iterator();
+            while (it.hasNext()) {
+                InvestmentRecord record = it.next();
+                String month = monthOf(record.getEntryDate());
+                String id = AnalyticsRollup.idFor(userId, month, record.getSportType());
+                accumulate(buckets.computeIfAbsent(id, key -> newBucket(key, userId, month, record.getSportType())),
+                        record);
+            }
+        }
+
+        List<AnalyticsRollup> rollups = new ArrayList<>(buckets.values());
+        long changed = 0;
+        if (!rollups.isEmpty()) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, AnalyticsRollup.class);
+            for (AnalyticsRollup rollup : rollups) {
+                bulk.replaceOne(Query.query(Criteria.where("_id").is(rollup.getId())), rollup,
+                        FindAndReplaceOptions.options().upsert());
+            }
+            BulkWriteResult result = bulk.execute();
+            changed += result.getModifiedCount() + result.getUpserts().size();
+        }
+        changed += mongoTemplate.remove(Query.query(Criteria.where("userId").is(userId).and("_id").nin(buckets.keySet())),
+                AnalyticsRollup.class).getDeletedCount();
+
+        // Repaired rollups can change analytics responses without any record write
+        if (changed > 0) {
+            dataVersionService.bump(userId);
+        }
+        return rollups;
+    }
+
+    /**
+     * Rebuilds rollups for every user that owns investment records. Each user's ETags
+     * are withheld from the start until their own rebuild is done.
+     *
+     * @return the number of users whose rebuild failed and was queued for repair
+     */
+    public int rebuildAll() {
+        List<String> userIds = mongoTemplate.findDistinct(new Query(), "userId", InvestmentRecord.class, String.class);
+        userIds.forEach(dataVersionService::withhold);
+        int failed = 0;
+        for (String userId : userIds) {
+            try {
+                rebuildUser(userId);
+            } catch (RuntimeException e) {
+                // Left withheld; the scheduled repair retries the user
+                repairs.add(userId);
+                failed++;
+                log.error("Failed to rebuild analytics rollups of user {}", userId, e);
+                continue;
+            }
+            if (!repairs.contains(userId)) {
+                dataVersionService.release(userId);
+            }
+        }
+        return failed;
+    }
+
+    // ================== HELPER METHODS ==================
+
+    private void repairBucket(String userId, String month, String sportType) {
+        YearMonth yearMonth = YearMonth.parse(month);
+        List<InvestmentRecord> records = recordRepository.findByUserIdAndSportTypeAndDateRange(
+                userId, sportType, yearMonth.atDay(1), yearMonth.atEndOfMonth());
+
+        String id = AnalyticsRollup.idFor(userId, month, sportType);
+        if (records.isEmpty()) {
+            rollupRepository.deleteById(id);
+            return;
+        }
+        AnalyticsRollup bucket = newBucket(id, userId, month, sportType);
+        records.forEach(record -> accumulate(bucket, record));
+        rollupRepository.save(bucket);
+    }
+
+    /**
+     * Per-bucket sums of the given records, ready to be applied with {@link #bucketDeltaUpdate}.
+     */
+    static Collection<AnalyticsRollup> bucketDeltas(List<InvestmentRecord> records) {
+        Map<String, AnalyticsRollup> deltas = new LinkedHashMap<>();
+        for (InvestmentRecord record : records) {
+            String month = monthOf(record.getEntryDate());
+            String id = AnalyticsRollup.idFor(record.getUserId(), month, record.getSportType());
+            accumulate(deltas.computeIfAbsent(id,
+                    key -> newBucket(key, record.getUserId(), month, record.getSportType())), record);
+        }
+        return deltas.values();
+    }
+
+    static Update bucketDeltaUpdate(AnalyticsRollup delta) {
+        return new Update()
+                .setOnInsert("userId", delta.getUserId())
+                .setOnInsert("month", delta.getMonth())
+                .setOnInsert("sportType", delta.getSportType())
+                .inc("totalInvestment", delta.getTotalInvestment())
+                .inc("profitSum", delta.getProfitSum())
+                .inc("positiveProfit", delta.getPositiveProfit())
+                .inc("negativeProfit", delta.getNegativeProfit())
+                .inc("totalBets", delta.getTotalBets())
+                .inc("winningBets", delta.getWinningBets())
+                .max("bestProfit", delta.getBestProfit())
+                .min("worstLoss", delta.getWorstLoss());
+    }
+
+    static Update bucketRemovalUpdate(AnalyticsRollup delta) {
+        return new Update()
+                .inc("totalInvestment", -delta.getTotalInvestment())
+                .inc("profitSum", -delta.getProfitSum())
+                .inc("positiveProfit", -delta.getPositiveProfit())
+                .inc("negativeProfit", -delta.getNegativeProfit())
+                .inc("totalBets", -delta.getTotalBets())
+                .inc("winningBets", -delta.getWinningBets());
+    }
+
+    // Whether the removed records' best or worst value reaches the bucket's current extremes
+    static boolean touchesExtreme(AnalyticsRollup bucket, AnalyticsRollup removed) {
+        return (bucket.getBestProfit() != null && removed.getBestProfit() != null
+                    && removed.getBestProfit() >= bucket.getBestProfit())
+                || (bucket.getWorstLoss() != null && removed.getWorstLoss() != null
+                    && removed.getWorstLoss() <= bucket.getWorstLoss());
+    }
+
+    /**
+     * Whether removing the record may have taken away the bucket's best or worst
+     * value, which cannot be undone with an atomic delta.
+     */
+    static boolean touchesExtreme(AnalyticsRollup bucket, InvestmentRecord record) {
+        double profit = profitOf(record);
+        return record.getEntryDate() != null
+                && ((bucket.getBestProfit() != null && profit >= bucket.getBestProfit())
+                    || (bucket.getWorstLoss() != null && profit <= bucket.getWorstLoss()));
+    }
+
+    static AnalyticsRollup newBucket(String id, String userId, String month, String sportType) {
+        AnalyticsRollup bucket = new AnalyticsRollup();
+        bucket.setId(id);
+        bucket.setUserId(userId);
+        bucket.setMonth(month);
+        bucket.setSportType(sportType);
+        return bucket;
+    }
+
+    static void accumulate(AnalyticsRollup bucket, InvestmentRecord record) {
+        double profit = profitOf(record);
+        bucket.setTotalInvestment(bucket.getTotalInvestment() + amountOf(record));
+        bucket.setProfitSum(bucket.getProfitSum() + profit);
+        bucket.setPositiveProfit(bucket.getPositiveProfit() + Math.max(0, profit));
+        bucket.setNegativeProfit(bucket.getNegativeProfit() + Math.min(0, profit));
+        bucket.setTotalBets(bucket.getTotalBets() + 1);
+        if (profit > 0) {
+            bucket.setWinningBets(bucket.getWinningBets() + 1);
+        }
+        bucket.setBestProfit(bucket.getBestProfit() == null ? profit : Math.max(bucket.getBestProfit(), profit));
+        bucket.setWorstLoss(bucket.getWorstLoss() == null ? profit : Math.min(bucket.getWorstLoss(), profit));
+    }
+
+    static Query bucketQuery(InvestmentRecord record) {
+        String id = AnalyticsRollup.idFor(record.getUserId(), monthOf(record.getEntryDate()), record.getSportType());
+        return Query.query(Criteria.where("_id").is(id));
+    }
+
+    static Update addedUpdate(InvestmentRecord record) {
+        double profit = profitOf(record);
+        return deltaUpdate(record, 1)
+                .max("bestProfit", profit)
+                .min("worstLoss", profit);
+    }
+
+    static Update deltaUpdate(InvestmentRecord record, int sign) {
+        double profit = profitOf(record);
+        return new Update()
+                .setOnInsert("userId", record.getUserId())
+                .setOnInsert("month", monthOf(record.getEntryDate()))
+                .setOnInsert("sportType", record.getSportType())
+                .inc("totalInvestment", sign * amountOf(record))
+                .inc("profitSum", sign * profit)
+                .inc("positiveProfit", sign * Math.max(0, profit))
+                .inc("negativeProfit", sign * Math.min(0, profit))
+                .inc("totalBets", sign)
+                .inc("winningBets", profit > 0 ? sign : 0);
+    }
+
+    static String monthOf(LocalDate date) {
+        return date != null ? YearMonth.from(date).toString() : "unknown";
+    }
+
+    private static double amountOf(InvestmentRecord record) {
+        return record.getAmountInvested() != null ? record.getAmountInvested() : 0.0;
+    }
+
+    static double profitOf(InvestmentRecord record) {
+        return record.getEstimatedProfit() != null ? record.getEstimatedProfit() : 0.0;
+    }
+}
@@ -1,193 +1,248 @@
 package com.example.demo.service;
 
+import com.example.demo.config.MetricsConfig;
 import com.example.demo.dto.response.AnalyticsResponse;
 import com.example.demo.dto.response.AnalyticsResponse.SportStats;
 import com.example.demo.dto.response.AnalyticsResponse.MonthlyData;
 import com.example.demo.dto.response.AnalyticsResponse.RecentActivity;
+import com.example.demo.model.AnalyticsRollup;
 import com.example.demo.model.InvestmentRecord;
-import com.example.demo.model.User;
 import com.example.demo.repository.InvestmentRecordRepository;
-import com.example.demo.repository.UserRepository;
+import com.example.demo.repository.projection.RecordAmounts;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.time.YearMonth;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class AnalyticsService {
     
     @Autowired
     private InvestmentRecordRepository recordRepository;
     
     @Autowired
-    private UserRepository userRepository;
+    private AnalyticsRollupService rollupService;
     
-    public AnalyticsResponse getDashboardAnalytics(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        List<InvestmentRecord> records = recordRepository.findByUserId(user.getId());
+    @Autowired
+    private AnalyticsAggregationEngine aggregationEngine;
+    
+    // With bucket storage investment_records is not written, so every engine reads the buckets instead
+    @Autowired
+    private RecordBucketStore recordBuckets;
+    
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+    
+    /**
+     * rollup      - pre-aggregated per month/sport documents (default)
+     * aggregation - $facet pipeline evaluated inside MongoDB
+     * memory      - load matching records and reduce them in the JVM
+     */
+    @Value("${app.analytics.engine:rollup}")
+    private String engine;
+    
+    private static final Pageable RECENT_ACTIVITY_PAGE =
+            PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdDate"));
+    
+    public AnalyticsResponse getDashboardAnalytics(String userId) {
+        if (recordBuckets.isEnabled()) {
+            return AnalyticsAccumulator.calculate(recordBuckets.find(userId, null, null, null));
+        }
+        if (usesEngine("aggregation")) {
+            return aggregationEngine.analyze(userId, null, null, null);
+        }
+        if (usesEngine("rollup")) {
+            return calculateFromRollups(loadRollups(userId),
+                    recordRepository.findByUserId(userId, RECENT_ACTIVITY_PAGE));
+        }
         
-        return calculateAnalytics(records);
+        return calculateAnalytics(recordRepository.findAmountsByUserId(userId),
+                recordRepository.findByUserId(userId, RECENT_ACTIVITY_PAGE));
     }
     
-    public AnalyticsResponse getMonthlyAnalytics(String username, int year, int month) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
+    public AnalyticsResponse getMonthlyAnalytics(String userId, int year, int month) {
         LocalDate startDate = LocalDate.of(year, month, 1);
         LocalDate endDate = startDate.plusMonths(1).minusDays(1);
         
-        List<InvestmentRecord> records = recordRepository.findByUserIdAndDateRange(
-                user.getId(), startDate, endDate);
+        if (recordBuckets.isEnabled()) {
+            // The whole month is a single bucket document
+            return AnalyticsAccumulator.calculate(recordBuckets.findMonth(userId, YearMonth.of(year, month)));
+        }
+        if (usesEngine("aggregation")) {
+            return aggregationEngine.analyze(userId, null, startDate, endDate);
+        }
+        if (usesEngine("rollup")) {
+            String monthKey = YearMonth.of(year, month).toString();
+            List<AnalyticsRollup> rollups = loadRollups(userId).stream()
+                    .filter(rollup -> monthKey.equals(rollup.getMonth()))
+                    .collect(Collectors.toList());
+            return calculateFromRollups(rollups, recordRepository.findByUserIdAndDateRange(
+                    userId, startDate, endDate, RECENT_ACTIVITY_PAGE));
+        }
         
-        return calculateAnalytics(records);
+        return calculateAnalytics(recordRepository.findAmountsByUserIdAndDateRange(userId, startDate, endDate),
+                recordRepository.findByUserIdAndDateRange(userId, startDate, endDate, RECENT_ACTIVITY_PAGE));
     }
     
-    public AnalyticsResponse getSportWiseAnalytics(String username, String sportType) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        List<InvestmentRecord> records = recordRepository.findByUserIdAndSportType(
-                user.getId(), sportType);
+    public AnalyticsResponse getSportWiseAnalytics(String userId, String sportType) {
+        if (recordBuckets.isEnabled()) {
+            return AnalyticsAccumulator.calculate(recordBuckets.find(userId, sportType, null, null));
+        }
+        if (usesEngine("aggregation")) {
+            return aggregationEngine.analyze(userId, sportType, null, null);
+        }
+        if (usesEngine("rollup")) {
+            List<AnalyticsRollup> rollups = loadRollups(userId).stream()
+                    .filter(rollup -> Objects.equals(sportType, rollup.getSportType()))
+                    .collect(Collectors.toList());
+            return calculateFromRollups(rollups, recordRepository.findByUserIdAndSportType(
+                    userId, sportType, RECENT_ACTIVITY_PAGE));
+        }
         
-        return calculateAnalytics(records);
+        return calculateAnalytics(recordRepository.findAmountsByUserIdAndSportType(userId, sportType),
+                recordRepository.findByUserIdAndSportType(userId, sportType, RECENT_ACTIVITY_PAGE));
     }
     
-    public AnalyticsResponse getProfitLossAnalytics(String username, LocalDate startDate, LocalDate endDate) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public AnalyticsResponse getProfitLossAnalytics(String userId, LocalDate startDate, LocalDate endDate) {
+        if (recordBuckets.isEnabled()) {
+            boolean dated = startDate != null && endDate != null;
+            return AnalyticsAccumulator.calculate(recordBuckets.find(userId, null,
+                    dated ? startDate : null, dated ? endDate : null));
+        }
+        if (usesEngine("aggregation")) {
+            return aggregationEngine.analyze(userId, null, startDate, endDate);
+        }
+        // Arbitrary date ranges do not align with monthly buckets, so only the
+        // unbounded variant can be served from rollups.
+        if (usesEngine("rollup") && (startDate == null || endDate == null)) {
+            return calculateFromRollups(loadRollups(userId),
+                    recordRepository.findByUserId(userId, RECENT_ACTIVITY_PAGE));
+        }
         
-        List<InvestmentRecord> records;
         if (startDate != null && endDate != null) {
-            records = recordRepository.findByUserIdAndDateRange(user.getId(), startDate, endDate);
-        } else {
-            records = recordRepository.findByUserId(user.getId());
+            return calculateAnalytics(recordRepository.findAmountsByUserIdAndDateRange(userId, startDate, endDate),
+                    recordRepository.findByUserIdAndDateRange(userId, startDate, endDate, RECENT_ACTIVITY_PAGE));
         }
-        
-        return calculateAnalytics(records);
+        return calculateAnalytics(recordRepository.findAmountsByUserId(userId),
+                recordRepository.findByUserId(userId, RECENT_ACTIVITY_PAGE));
     }
     
-    private AnalyticsResponse calculateAnalytics(List<InvestmentRecord> records) {
+    public int rebuildRollups(String userId) {
+        return rollupService.rebuildUser(userId).size();
+    }
+    
+    private boolean usesEngine(String name) {
+        return name.equalsIgnoreCase(engine);
+    }
+    
+    /**
+     * Loads a user's rollups as they are. Drift is not checked on reads: failed deltas
+     * queue a repair (withholding the user's ETags until it lands) and records older
+     * than the rollups are covered by the one-time backfill in AnalyticsRollupService.
+     */
+    private List<AnalyticsRollup> loadRollups(String userId) {
+        return rollupService.getUserRollups(userId);
+    }
+    
+    private AnalyticsResponse calculateFromRollups(List<AnalyticsRollup> rollups, List<InvestmentRecord> recentRecords) {
+        recordDocumentsLoaded("rollup", rollups.size() + recentRecords.size());
         AnalyticsResponse analytics = new AnalyticsResponse();
         
-        if (records.isEmpty()) {
+        if (rollups.isEmpty()) {
             return analytics;
         }
         
-        // Basic calculations
-        double totalInvestment = records.stream()
-                .mapToDouble(InvestmentRecord::getAmountInvested)
-                .sum();
-        
-        double totalProfit = records.stream()
-                .mapToDouble(record -> Math.max(0, record.getEstimatedProfit()))
-                .sum();
-        
-        double totalLoss = records.stream()
-                .mapToDouble(record -> Math.min(0, record.getEstimatedProfit()))
-                .sum();
-        
-        double netProfit = totalProfit + totalLoss;
-        
-        int totalBets = records.size();
-        
-        int winningBets = (int) records.stream()
-                .filter(record -> record.getEstimatedProfit() > 0)
-                .count();
-        
-        int losingBets = totalBets - winningBets;
+        double totalInvestment = 0;
+        double totalProfit = 0;
+        double totalLoss = 0;
+        int totalBets = 0;
+        int winningBets = 0;
+        double bestProfit = Double.NEGATIVE_INFINITY;
+        double worstLoss = Double.POSITIVE_INFINITY;
+        Map<String, AnalyticsRollup> bySport = new HashMap<>();
+        Map<String, AnalyticsRollup> byMonth = new TreeMap<>();
         
-        double winPercentage = totalBets > 0 ? (winningBets * 100.0 / totalBets) : 0.0;
-        
-        double averageBetAmount = totalInvestment / totalBets;
-        
-        double bestProfit = records.stream()
-                .mapToDouble(InvestmentRecord::getEstimatedProfit)
-                .max()
-                .orElse(0.0);
-        
-        double worstLoss = records.stream()
-                .mapToDouble(InvestmentRecord::getEstimatedProfit)
-                .min()
-                .orElse(0.0);
+        for (AnalyticsRollup rollup : rollups) {
+            totalInvestment += rollup.getTotalInvestment();
+            totalProfit += rollup.getPositiveProfit();
+            totalLoss += rollup.getNegativeProfit();
+            totalBets += rollup.getTotalBets();
+            winningBets += rollup.getWinningBets();
+            if (rollup.getBestProfit() != null) {
+                bestProfit = Math.max(bestProfit, rollup.getBestProfit());
+            }
+            if (rollup.getWorstLoss() != null) {
+                worstLoss = Math.min(worstLoss, rollup.getWorstLoss());
+            }
+            merge(bySport.computeIfAbsent(rollup.getSportType(), key -> new AnalyticsRollup()), rollup);
+            merge(byMonth.computeIfAbsent(rollup.getMonth(), key -> new AnalyticsRollup()), rollup);
+        }
         
-        // Set basic analytics
         analytics.setTotalInvestment(totalInvestment);
         analytics.setTotalProfit(totalProfit);
         analytics.setTotalLoss(Math.abs(totalLoss));
-        analytics.setNetProfit(netProfit);
+        analytics.setNetProfit(totalProfit + totalLoss);
         analytics.setTotalBets(totalBets);
         analytics.setWinningBets(winningBets);
-        analytics.setLosingBets(losingBets);
-        analytics.setWinPercentage(winPercentage);
-        analytics.setAverageBetAmount(averageBetAmount);
-        analytics.setBestProfit(bestProfit);
-        analytics.setWorstLoss(worstLoss);
+        analytics.setLosingBets(totalBets - winningBets);
+        analytics.setWinPercentage(totalBets > 0 ? (winningBets * 100.0 / totalBets) : 0.0);
+        analytics.setAverageBetAmount(totalBets > 0 ? totalInvestment / totalBets : 0.0);
+        analytics.setBestProfit(bestProfit == Double.NEGATIVE_INFINITY ? 0.0 : bestProfit);
+        analytics.setWorstLoss(worstLoss == Double.POSITIVE_INFINITY ? 0.0 : worstLoss);
         
-        // Sport-wise statistics
-        Map<String, SportStats> sportWiseStats = calculateSportWiseStats(records);
+        Map<String, SportStats> sportWiseStats = new HashMap<>();
+        bySport.forEach((sport, totals) -> sportWiseStats.put(sport, new SportStats(
+                totals.getTotalInvestment(), totals.getProfitSum(), totals.getTotalBets(), totals.getWinningBets())));
         analytics.setSportWiseStats(sportWiseStats);
         
-        // Monthly data for charts
-        List<MonthlyData> monthlyData = calculateMonthlyData(records);
+        List<MonthlyData> monthlyData = new ArrayList<>();
+        byMonth.forEach((month, totals) -> monthlyData.add(new MonthlyData(
+                month, totals.getTotalInvestment(), totals.getProfitSum(), totals.getTotalBets())));
         analytics.setMonthlyData(monthlyData);
         
-        // Recent activities
-        List<RecentActivity> recentActivities = getRecentActivities(records);
-        analytics.setRecentActivities(recentActivities);
+        analytics.setRecentActivities(getRecentActivities(recentRecords));
         
         return analytics;
     }
     
-    private Map<String, SportStats> calculateSportWiseStats(List<InvestmentRecord> records) {
-        return records.stream()
-                .collect(Collectors.groupingBy(InvestmentRecord::getSportType))
-                .entrySet().stream()
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        entry -> {
-                            List<InvestmentRecord> sportRecords = entry.getValue();
-                            double investment = sportRecords.stream()
-                                    .mapToDouble(InvestmentRecord::getAmountInvested)
-                                    .sum();
-                            double profit = sportRecords.stream()
-                                    .mapToDouble(InvestmentRecord::getEstimatedProfit)
-                                    .sum();
-                            int totalBets = sportRecords.size();
-                            int winningBets = (int) sportRecords.stream()
-                                    .filter(record -> record.getEstimatedProfit() > 0)
-                                    .count();
-                            
-                            return new SportStats(investment, profit, totalBets, winningBets);
-                        }
-                ));
+    private static void merge(AnalyticsRollup target, AnalyticsRollup source) {
+        target.setTotalInvestment(target.getTotalInvestment() + source.getTotalInvestment());
+        target.setProfitSum(target.getProfitSum() + source.getProfitSum());
+        target.setTotalBets(target.getTotalBets() + source.getTotalBets());
+        target.setWinningBets(target.getWinningBets() + source.getWinningBets());
     }
     
-    private List<MonthlyData> calculateMonthlyData(List<InvestmentRecord> records) {
-        return records.stream()
-                .collect(Collectors.groupingBy(
-                        record -> record.getEntryDate().format(DateTimeFormatter.ofPattern("yyyy-MM"))
-                ))
-                .entrySet().stream()
-                .map(entry -> {
-                    List<InvestmentRecord> monthRecords = entry.getValue();
-                    double investment = monthRecords.stream()
-                            .mapToDouble(InvestmentRecord::getAmountInvested)
-                            .sum();
-                    double profit = monthRecords.stream()
-                            .mapToDouble(InvestmentRecord::getEstimatedProfit)
-                            .sum();
-                    int totalBets = monthRecords.size();
-                    
-                    return new MonthlyData(entry.getKey(), investment, profit, totalBets);
-                })
-                .sorted(Comparator.comparing(MonthlyData::getMonth))
-                .collect(Collectors.toList());
+    /**
+     * Totals come from amount projections, which decode four fields per record; only
+     * the newest page of records is loaded in full for the recent activities.
+     */
+    private AnalyticsResponse calculateAnalytics(List<RecordAmounts> amounts, List<InvestmentRecord> recentRecords) {
+        recordDocumentsLoaded("memory", amounts.size() + recentRecords.size());
+        return AnalyticsAccumulator.calculate(amounts, recentRecords);
+    }
+    
+    // Documents pulled into the JVM per analytics call; the aggregation engine reduces inside MongoDB
+    private void recordDocumentsLoaded(String engineName, int documents) {
+        if (meterRegistry != null) {
+            DistributionSummary.builder("analytics.documents.loaded")
+                    .description("Documents loaded per analytics call")
+                    .baseUnit("documents")
+                    .tag("engine", engineName)
+                    .register(meterRegistry)
+                    .record(documents);
+        }
     }
     
     private List<RecentActivity> getRecentActivities(List<InvestmentRecord> records) {
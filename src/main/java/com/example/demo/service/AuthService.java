@@ -1,191 +1,158 @@
 package com.example.demo.service;
 
+import com.example.demo.config.MetricsConfig;
 import com.example.demo.controller.AuthController.RefreshTokenRequest;
 import com.example.demo.dto.request.LoginRequest;
 import com.example.demo.dto.request.RegisterRequest;
 import com.example.demo.dto.response.AuthResponse;
+import com.example.demo.exception.ServiceUnavailableException;
 import com.example.demo.model.User;
 import com.example.demo.repository.UserRepository;
 import com.example.demo.security.JwtTokenProvider;
+import com.example.demo.security.PasswordHasher;
 
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class AuthService {
     
+    // Request bodies and credentials are never logged
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+    
     @Autowired
     private UserRepository userRepository;
     
+    // BCrypt runs on its own bounded pool, not on the request thread
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
     
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
     
     public AuthResponse register(RegisterRequest request) {
         try {
-            // DEBUG: Print incoming request details
-            System.out.println("=== REGISTER REQUEST DEBUG ===");
-            System.out.println("Request object is null: " + (request == null));
-            
-            if (request != null) {
-                System.out.println("Request toString: " + request.toString());
-                System.out.println("Username value: '" + request.getUsername() + "'");
-                System.out.println("Username is null: " + (request.getUsername() == null));
-                System.out.println("Password is null: " + (request.getPassword() == null));
-                System.out.println("ConfirmPassword is null: " + (request.getConfirmPassword() == null));
-                System.out.println("Request isValid: " + request.isValid());
-                System.out.println("Passwords match: " + request.isPasswordMatching());
-                
-                if (request.getUsername() != null) {
-                    System.out.println("Username length: " + request.getUsername().length());
-                    System.out.println("Username after trim: '" + request.getUsername().trim() + "'");
-                    System.out.println("Username trim isEmpty: " + request.getUsername().trim().isEmpty());
-                }
-            }
-            System.out.println("===============================");
-            
-            // Null checks first
-            if (request == null) {
-                System.out.println("ERROR: Request object is null");
-                return new AuthResponse("Invalid request");
-            }
-            
-            if (request.getUsername() == null || request.getUsername().trim().isEmpty()) {
-                System.out.println("ERROR: Username validation failed");
-                System.out.println("Username is null: " + (request.getUsername() == null));
-                if (request.getUsername() != null) {
-                    System.out.println("Username trim isEmpty: " + request.getUsername().trim().isEmpty());
-                }
-                return new AuthResponse("Username is required");
+            String rejection = registerRejection(request);
+            if (rejection != null) {
+                log.debug("Register rejected: {}", rejection);
+                return new AuthResponse(rejection);
             }
             
-            if (request.getPassword() == null || request.getPassword().trim().isEmpty()) {
-                System.out.println("ERROR: Password validation failed");
-                return new AuthResponse("Password is required");
-            }
-            
-            if (request.getConfirmPassword() == null || request.getConfirmPassword().trim().isEmpty()) {
-                System.out.println("ERROR: Confirm password validation failed");
-                return new AuthResponse("Confirm password is required");
-            }
-            
-            // Check if passwords match
-            if (!request.getPassword().equals(request.getConfirmPassword())) {
-                System.out.println("ERROR: Passwords do not match");
-                return new AuthResponse("Passwords do not match");
-            }
-            
-            // Additional password validation
-            if (request.getPassword().length() < 6) {
-                System.out.println("ERROR: Password too short");
-                return new AuthResponse("Password must be at least 6 characters long");
-            }
-            
-            System.out.println("All validations passed. Checking username existence...");
-            
             // Check if username exists
             if (userRepository.existsByUsername(request.getUsername().trim())) {
-                System.out.println("ERROR: Username already exists");
+                log.debug("Register rejected: username already exists");
                 return new AuthResponse("Username already exists");
             }
             
-            System.out.println("Username is available. Creating user...");
-            
             // Create new user
             User user = new User();
             user.setUsername(request.getUsername().trim());
-            user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
-            
-            System.out.println("Saving user to database...");
+            user.setPasswordHash(passwordHasher.encode(request.getPassword()));
             
             // Save user to database
             User savedUser = userRepository.save(user);
             
-            System.out.println("User saved successfully. Generating token...");
-            
             // Generate JWT token
-            String token = jwtTokenProvider.generateToken(savedUser.getUsername());
+            String token = jwtTokenProvider.generateToken(savedUser.getUsername(), savedUser.getId());
             
-            System.out.println("Registration successful for user: " + savedUser.getUsername());
+            log.atInfo().addKeyValue("userId", savedUser.getId()).log("User registered");
             return new AuthResponse(token, savedUser.getUsername());
             
+        } catch (ServiceUnavailableException e) {
+            log.warn("Register shed: password hashing saturated");
+            throw e;
         } catch (Exception e) {
-            // Log the error for debugging
-            System.err.println("Registration error: " + e.getMessage());
-            System.err.println("Exception class: " + e.getClass().getName());
-            e.printStackTrace();
+            log.error("Registration failed", e);
             return new AuthResponse("Registration failed: " + e.getMessage());
         }
     }
     
     public AuthResponse login(LoginRequest request) {
         try {
-            // DEBUG: Print incoming login request details
-            System.out.println("=== LOGIN REQUEST DEBUG ===");
-            System.out.println("Request object is null: " + (request == null));
-            
-            if (request != null) {
-                System.out.println("Username value: '" + request.getUsername() + "'");
-                System.out.println("Username is null: " + (request.getUsername() == null));
-                System.out.println("Password is null: " + (request.getPassword() == null));
-            }
-            System.out.println("===========================");
-            
-            // Null checks first
-            if (request == null) {
-                System.out.println("ERROR: Login request object is null");
-                return new AuthResponse("Invalid request");
+            String rejection = loginRejection(request);
+            if (rejection != null) {
+                log.debug("Login rejected: {}", rejection);
+                return new AuthResponse(rejection);
             }
             
-            if (request.getUsername() == null || request.getUsername().trim().isEmpty()) {
-                System.out.println("ERROR: Login username validation failed");
-                return new AuthResponse("Username is required");
-            }
-            
-            if (request.getPassword() == null || request.getPassword().trim().isEmpty()) {
-                System.out.println("ERROR: Login password validation failed");
-                return new AuthResponse("Password is required");
-            }
-            
-            System.out.println("Login validations passed. Finding user...");
-            
             // Find user by username
             User user = userRepository.findByUsername(request.getUsername().trim())
                     .orElse(null);
             
             if (user == null) {
-                System.out.println("ERROR: User not found with username: " + request.getUsername().trim());
+                log.debug("Login failed: unknown username");
                 return new AuthResponse("Invalid username or password");
             }
             
-            System.out.println("User found. Verifying password...");
-            
             // Verify password
-            if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
-                System.out.println("ERROR: Password verification failed");
+            if (!passwordHasher.matches(request.getPassword(), user.getPasswordHash())) {
+                log.atInfo().addKeyValue("userId", user.getId()).log("Login failed: bad password");
                 return new AuthResponse("Invalid username or password");
             }
             
-            System.out.println("Password verified. Generating token...");
-            
             // Generate JWT token
-            String token = jwtTokenProvider.generateToken(user.getUsername());
+            String token = jwtTokenProvider.generateToken(user.getUsername(), user.getId());
             
-            System.out.println("Login successful for user: " + user.getUsername());
+            log.atDebug().addKeyValue("userId", user.getId()).log("Login succeeded");
             return new AuthResponse(token, user.getUsername());
             
+        } catch (ServiceUnavailableException e) {
+            log.warn("Login shed: password hashing saturated");
+            throw e;
         } catch (Exception e) {
-            // Log the error for debugging
-            System.err.println("Login error: " + e.getMessage());
-            System.err.println("Exception class: " + e.getClass().getName());
-            e.printStackTrace();
+            log.error("Login failed", e);
             return new AuthResponse("Login failed: " + e.getMessage());
         }
     }
 
+    // ================== REQUEST CHECKS ==================
+    
+    /**
+     * The message a registration is rejected with before touching the database, or null.
+     * Shared with ReactiveAuthService so both stacks answer identically.
+     */
+    static String registerRejection(RegisterRequest request) {
+        if (request == null) {
+            return "Invalid request";
+        }
+        if (request.getUsername() == null || request.getUsername().trim().isEmpty()) {
+            return "Username is required";
+        }
+        if (request.getPassword() == null || request.getPassword().trim().isEmpty()) {
+            return "Password is required";
+        }
+        if (request.getConfirmPassword() == null || request.getConfirmPassword().trim().isEmpty()) {
+            return "Confirm password is required";
+        }
+        if (!request.getPassword().equals(request.getConfirmPassword())) {
+            return "Passwords do not match";
+        }
+        if (request.getPassword().length() < 6) {
+            return "Password must be at least 6 characters long";
+        }
+        return null;
+    }
+    
+    /**
+     * The message a login is rejected with before touching the database, or null.
+     */
+    static String loginRejection(LoginRequest request) {
+        if (request == null) {
+            return "Invalid request";
+        }
+        if (request.getUsername() == null || request.getUsername().trim().isEmpty()) {
+            return "Username is required";
+        }
+        if (request.getPassword() == null || request.getPassword().trim().isEmpty()) {
+            return "Password is required";
+        }
+        return null;
+    }
+
     public AuthResponse refreshToken(RefreshTokenRequest request) {
         // TODO Auto-generated method stub
         throw new UnsupportedOperationException("Unimplemented method 'refreshToken'");
@@ -0,0 +1,120 @@
+package com.example.demo.service;
+
+import com.example.demo.model.UserDataVersion;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user data versions for conditional GETs.
+ *
+ * Every schedule or record write bumps the user's counter after the write itself,
+ * so a response computed from the new data can never carry the old version. Read
+ * endpoints turn the counter into a weak ETag and answer a matching If-None-Match
+ * with 304 after a single _id lookup, without touching the data collections.
+ * Like rollup deltas, a failed bump never fails the write. Instead the user's
+ * version is marked unknown: etag() returns null, so no 304 is answered from the
+ * stale counter, until the bump is retried successfully in the background or a later
+ * write bumps it. The mark is per instance; other instances can serve the old version
+ * until the retry lands. Callers that know a user's data is out of step (rollups
+ * awaiting a repair) can also withhold the user's ETags until they release them.
+ */
+@Service
+public class DataVersionService {
+
+    private static final Logger log = LoggerFactory.getLogger(DataVersionService.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Users whose last bump failed
+    private final Set<String> unknownVersions = ConcurrentHashMap.newKeySet();
+
+    // Users whose responses may be computed from data known to be stale
+    private final Set<String> withheld = ConcurrentHashMap.newKeySet();
+
+    public long currentVersion(String userId) {
+        Query query = versionQuery(userId);
+        query.fields().include("version");
+        UserDataVersion current = mongoTemplate.findOne(query, UserDataVersion.class);
+        return current != null ? current.getVersion() : 0L;
+    }
+
+    public void bump(String userId) {
+        if (userId == null) {
+            return;
+        }
+        try {
+            mongoTemplate.upsert(versionQuery(userId), increment(), UserDataVersion.class);
+            unknownVersions.remove(userId);
+        } catch (Exception e) {
+            unknownVersions.add(userId);
+            log.error("Failed to bump data version for user: {}", userId, e);
+        }
+    }
+
+    /**
+     * Answers no ETag for the user until {@link #release(String)}, so nothing computed
+     * from stale data can be revalidated with a 304.
+     */
+    public void withhold(String userId) {
+        if (userId != null) {
+            withheld.add(userId);
+        }
+    }
+
+    public void release(String userId) {
+        withheld.remove(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.data-versions.retry-interval:PT5S}")
+    public void retryFailedBumps() {
+        for (String userId : unknownVersions) {
+            try {
+                mongoTemplate.upsert(versionQuery(userId), increment(), UserDataVersion.class);
+                unknownVersions.remove(userId);
+            } catch (Exception e) {
+                log.warn("Retrying data version bump for user {} failed: {}", userId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Weak ETag for the user's current data: bodies of the same version are
+     * semantically equal but not byte-identical (they carry a response timestamp).
+     * The user id is part of the tag so a shared browser cache never revalidates one
+     * user's body for another; variants cover responses that also depend on something
+     * else, such as today's date.
+     * Null while the user's version is unknown or withheld, which disables the 304
+     * short cut.
+     */
+    public String etag(String userId, Object... variants) {
+        if (unknownVersions.contains(userId) || withheld.contains(userId)) {
+            return null;
+        }
+        StringBuilder tag = new StringBuilder("W/\"").append(userId).append('.').append(currentVersion(userId));
+        for (Object variant : variants) {
+            tag.append('.').append(variant);
+        }
+        return tag.append('"').toString();
+    }
+
+    // Shared with the reactive sports service
+    public static Query versionQuery(String userId) {
+        return Query.query(Criteria.where("_id").is(userId));
+    }
+
+    public static Update increment() {
+        return new Update().inc("version", 1);
+    }
+}
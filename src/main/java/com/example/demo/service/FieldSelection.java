@@ -0,0 +1,82 @@
+package com.example.demo.service;
+
+import com.example.demo.exception.BadRequestException;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The optional fields= parameter of list endpoints, e.g. fields=matchName,amountInvested.
+ *
+ * Selected properties become a MongoDB field projection, so the rest of each document
+ * is neither decoded from BSON nor written to JSON (nulls are omitted by the Jackson
+ * configuration). The keys a listing is paged on are always read as well.
+ */
+public final class FieldSelection {
+
+    private static final FieldSelection ALL = new FieldSelection(List.of());
+
+    private final List<String> fields;
+
+    private FieldSelection(List<String> fields) {
+        this.fields = fields;
+    }
+
+    public static FieldSelection all() {
+        return ALL;
+    }
+
+    /**
+     * @param fields comma-separated property names of type, or null/blank for all of them
+     * @throws BadRequestException for a name that is not a property of type
+     */
+    public static FieldSelection parse(String fields, Class<?> type) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+
+        Set<String> known = new LinkedHashSet<>();
+        for (PropertyDescriptor property : BeanUtils.getPropertyDescriptors(type)) {
+            if (property.getReadMethod() != null && !"class".equals(property.getName())) {
+                known.add(property.getName());
+            }
+        }
+
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!known.contains(name)) {
+                throw new BadRequestException("Unknown field '" + name + "'. Allowed fields: " + String.join(",", known));
+            }
+            selected.add(name);
+        }
+        return selected.isEmpty() ? ALL : new FieldSelection(new ArrayList<>(selected));
+    }
+
+    public boolean isAll() {
+        return fields.isEmpty();
+    }
+
+    public List<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * Restricts query to the selected fields plus keys; leaves it untouched when all are selected.
+     */
+    public Query applyTo(Query query, String... keys) {
+        if (!isAll()) {
+            query.fields().include(fields.toArray(new String[0])).include(keys);
+        }
+        return query;
+    }
+}
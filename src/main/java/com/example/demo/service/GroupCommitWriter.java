@@ -0,0 +1,353 @@
+package com.example.demo.service;
+
+import com.example.demo.model.InvestmentRecord;
+import com.example.demo.model.Schedule;
+
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Write-behind group commit for record and schedule creation
+ * (app.writes.write-behind.enabled).
+ *
+ * Creates are put on a bounded queue per collection and a flusher thread sends
+ * them as one unordered insertMany per batch: as soon as max-batch-size documents
+ * are waiting, or max-delay after the first one arrived. Callers block until
+ * their batch has been acknowledged by MongoDB, so a returned create is as durable
+ * as a direct insert. When a queue is full, callers wait up to enqueue-timeout for
+ * room and then fail instead of queueing without bound.
+ *
+ * Ids are assigned before queueing. Rollup deltas (or bucket totals, under bucket
+ * storage) are applied once per batch; callers are answered as soon as the insert
+ * result is known, and a failed rollup update is logged rather than reported on
+ * records that are already committed. A caller gives up after ack-timeout, for
+ * example when the flusher thread died.
+ */
+@Component
+public class GroupCommitWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupCommitWriter.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private AnalyticsRollupService analyticsRollupService;
+
+    @Autowired
+    private RecordBucketStore recordBuckets;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.writes.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.writes.write-behind.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.writes.write-behind.max-batch-size:500}")
+    private int maxBatchSize;
+
+    @Value("${app.writes.write-behind.max-delay:5ms}")
+    private Duration maxDelay;
+
+    @Value("${app.writes.write-behind.enqueue-timeout:1s}")
+    private Duration enqueueTimeout;
+
+    @Value("${app.writes.write-behind.ack-timeout:10s}")
+    private Duration ackTimeout;
+
+    private Lane<InvestmentRecord> records;
+    private Lane<Schedule> schedules;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        records = new Lane<>("records", this::insertRecords, this::recordsInserted);
+        schedules = new Lane<>("schedules", batch -> bulkInsert(batch, Schedule.class), inserted -> { });
+        records.start();
+        schedules.start();
+        log.info("Write-behind group commit enabled: batches of up to {} every {}", maxBatchSize, maxDelay);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (records != null) {
+            records.stop();
+            schedules.stop();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Inserts the record with the next batch and returns it once the batch is committed.
+     */
+    public InvestmentRecord insertRecord(InvestmentRecord record) {
+        RecordBucketStore.prepare(record);
+        return records.submit(record);
+    }
+
+    public Schedule insertSchedule(Schedule schedule) {
+        if (schedule.getId() == null) {
+            schedule.setId(new ObjectId().toHexString());
+        }
+        return schedules.submit(schedule);
+    }
+
+    // ================== BATCH INSERTS ==================
+
+    private Map<Integer, RuntimeException> insertRecords(List<InvestmentRecord> batch) {
+        if (recordBuckets.isEnabled()) {
+            // Bucket upserts do not report per-record errors; a failure fails the batch
+            recordBuckets.insertAll(batch);
+            return Map.of();
+        }
+        return bulkInsert(batch, InvestmentRecord.class);
+    }
+
+    // Bucket storage keeps its totals in the insert itself
+    private void recordsInserted(List<InvestmentRecord> inserted) {
+        if (!recordBuckets.isEnabled()) {
+            analyticsRollupService.recordsAdded(inserted);
+        }
+    }
+
+    /**
+     * One unordered insertMany; returns the failed documents by batch position.
+     * A write concern error, or an error not tied to one document, leaves the
+     * durability of every document unknown and is thrown for the whole batch;
+     * the template reports write concern errors as DataIntegrityViolationException.
+     */
+    private Map<Integer, RuntimeException> bulkInsert(List<?> batch, Class<?> type) {
+        try {
+            mongoTemplate.bulkOps(BulkMode.UNORDERED, type).insert(batch).execute();
+            return Map.of();
+        } catch (BulkOperationException e) {
+            if (e.getErrors().isEmpty()) {
+                throw e;
+            }
+            Map<Integer, RuntimeException> failures = new HashMap<>();
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getIndex() < 0 || error.getIndex() >= batch.size()) {
+                    throw e;
+                }
+                failures.put(error.getIndex(), new RuntimeException(error.getMessage()));
+            }
+            return failures;
+        }
+    }
+
+    // ================== QUEUES ==================
+
+    private static final class Pending<T> {
+        final T document;
+        final CompletableFuture<T> ack = new CompletableFuture<>();
+
+        Pending(T document) {
+            this.document = document;
+        }
+    }
+
+    private final class Lane<T> implements Runnable {
+        private final String name;
+        private final Function<List<T>, Map<Integer, RuntimeException>> inserter;
+        private final Consumer<List<T>> afterCommit;
+        private final BlockingQueue<Pending<T>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final Thread flusher;
+        private volatile boolean running = true;
+        private DistributionSummary batchSizes;
+        private Counter rejections;
+
+        Lane(String name, Function<List<T>, Map<Integer, RuntimeException>> inserter, Consumer<List<T>> afterCommit) {
+            this.name = name;
+            this.inserter = inserter;
+            this.afterCommit = afterCommit;
+            this.flusher = new Thread(this, "write-behind-" + name);
+            this.flusher.setDaemon(true);
+
+            if (meterRegistry != null) {
+                batchSizes = DistributionSummary.builder("sports.write-behind.batch.size")
+                        .description("Documents per group-commit insertMany")
+                        .tag("collection", name)
+                        .register(meterRegistry);
+                rejections = Counter.builder("sports.write-behind.rejections")
+                        .description("Creates refused because the write-behind queue stayed full")
+                        .tag("collection", name)
+                        .register(meterRegistry);
+                Gauge.builder("sports.write-behind.queue", queue, BlockingQueue::size)
+                        .description("Creates waiting for the next group commit")
+                        .tag("collection", name)
+                        .register(meterRegistry);
+            }
+        }
+
+        void start() {
+            flusher.start();
+        }
+
+        void stop() {
+            running = false;
+            try {
+                flusher.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // Anything that slipped in after the final flush
+            List<Pending<T>> abandoned = new ArrayList<>();
+            queue.drainTo(abandoned);
+            abandoned.forEach(pending -> pending.ack.completeExceptionally(
+                    new IllegalStateException("Write-behind writer stopped")));
+        }
+
+        T submit(T document) {
+            if (!running) {
+                throw new IllegalStateException("Write-behind writer stopped");
+            }
+            Pending<T> pending = new Pending<>(document);
+            boolean queued;
+            try {
+                queued = queue.offer(pending, enqueueTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while queueing " + name + " write");
+            }
+            if (!queued) {
+                if (rejections != null) {
+                    rejections.increment();
+                }
+                throw new RuntimeException("Too many pending " + name + " writes, try again later");
+            }
+
+            try {
+                return pending.ack.get(ackTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : new RuntimeException(e.getCause());
+            } catch (TimeoutException e) {
+                throw new RuntimeException("Timed out waiting for the " + name + " group commit; the write may still be applied");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for " + name + " write");
+            }
+        }
+
+        @Override
+        public void run() {
+            List<Pending<T>> batch = new ArrayList<>(maxBatchSize);
+            while (running) {
+                try {
+                    // Timed wait so stop() is noticed without interrupting an insert in flight
+                    Pending<T> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    collect(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    running = false;
+                }
+                flush(batch);
+            }
+            while (queue.drainTo(batch, maxBatchSize) > 0) {
+                flush(batch);
+            }
+        }
+
+        // Fills the batch until it is full or max-delay has passed since its first document
+        private void collect(List<Pending<T>> batch) throws InterruptedException {
+            long deadline = System.nanoTime() + maxDelay.toNanos();
+            while (batch.size() < maxBatchSize) {
+                if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                    continue;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return;
+                }
+                Pending<T> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    return;
+                }
+                batch.add(next);
+            }
+        }
+
+        private void flush(List<Pending<T>> batch) {
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<T> documents = new ArrayList<>(batch.size());
+            batch.forEach(pending -> documents.add(pending.document));
+
+            Map<Integer, RuntimeException> failures;
+            try {
+                failures = inserter.apply(documents);
+            } catch (RuntimeException e) {
+                log.error("Group commit of {} {} failed", batch.size(), name, e);
+                batch.forEach(pending -> pending.ack.completeExceptionally(e));
+                failures = null;
+            }
+
+            if (failures != null) {
+                List<T> inserted = new ArrayList<>(batch.size() - failures.size());
+                for (int i = 0; i < batch.size(); i++) {
+                    RuntimeException failure = failures.get(i);
+                    if (failure == null) {
+                        batch.get(i).ack.complete(documents.get(i));
+                        inserted.add(documents.get(i));
+                    } else {
+                        batch.get(i).ack.completeExceptionally(failure);
+                    }
+                }
+                if (!failures.isEmpty()) {
+                    log.warn("Group commit of {} {}: {} documents failed", batch.size(), name, failures.size());
+                }
+                // The inserted documents are committed and acknowledged; a follow-up failure must not undo that
+                try {
+                    afterCommit.accept(inserted);
+                } catch (RuntimeException e) {
+                    log.error("Follow-up of the group commit of {} {} failed", inserted.size(), name, e);
+                }
+            }
+
+            if (batchSizes != null) {
+                batchSizes.record(batch.size());
+            }
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.demo.service;
+
+import com.example.demo.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Position of the last item served on a page: its date key and _id.
+ *
+ * Clients only ever see the encoded token, so the format can change without
+ * breaking them as long as old tokens keep decoding.
+ */
+public final class KeysetCursor {
+
+    private static final String VERSION = "1";
+    private static final String SEPARATOR = "|";
+
+    private final LocalDate date;
+    private final String id;
+
+    public KeysetCursor(LocalDate date, String id) {
+        this.date = date;
+        this.id = id;
+    }
+
+    public LocalDate getDate() { return date; }
+
+    public String getId() { return id; }
+
+    public String encode() {
+        String raw = VERSION + SEPARATOR + (date != null ? date.toString() : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3 || !VERSION.equals(parts[0]) || parts[2].isEmpty()) {
+                throw new BadRequestException("Invalid page cursor");
+            }
+            return new KeysetCursor(parts[1].isEmpty() ? null : LocalDate.parse(parts[1]), parts[2]);
+        } catch (BadRequestException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid page cursor", e);
+        }
+    }
+}
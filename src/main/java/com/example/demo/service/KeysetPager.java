@@ -0,0 +1,125 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.response.KeysetPage;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Serves listings newest-first, ordered by (date, _id) descending.
+ *
+ * Each page is a single range query that resumes right after the cursor, so
+ * with a (userId, date, _id) index the cost of a page does not depend on how
+ * deep into the listing it is - there is no skip/offset.
+ */
+@Component
+public class KeysetPager {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${app.pagination.default-limit:100}")
+    private int defaultLimit;
+
+    @Value("${app.pagination.max-limit:500}")
+    private int maxLimit;
+
+    /**
+     * @param filter    equality conditions (userId, sportType); null for none
+     * @param dateField the date property pages are keyed on
+     * @param from      inclusive lower bound on dateField, or null
+     * @param to        inclusive upper bound on dateField, or null
+     * @param cursor    token from the previous page, or null for the first page
+     * @param limit     requested page size, clamped to [1, max-limit]
+     * @param fields    properties to read; the date and _id keys are always included
+     */
+    public <T> KeysetPage<T> page(Class<T> type, Criteria filter, String dateField,
+                                  LocalDate from, LocalDate to,
+                                  Function<T, LocalDate> dateOf, Function<T, String> idOf,
+                                  String cursor, Integer limit, FieldSelection fields) {
+        int pageSize = pageSize(limit);
+        Query query = fields.applyTo(query(filter, dateField, from, to, cursor, pageSize), dateField, "id");
+        List<T> results = mongoTemplate.find(query, type);
+        return toPage(results, pageSize, dateOf, idOf);
+    }
+
+    /**
+     * The query behind {@link #page}: matches the page after the cursor and fetches
+     * one extra document to tell whether another page follows.
+     */
+    public Query query(Criteria filter, String dateField, LocalDate from, LocalDate to,
+                       String cursor, int pageSize) {
+        KeysetCursor after = cursor != null && !cursor.isBlank() ? KeysetCursor.decode(cursor) : null;
+
+        Query query = new Query();
+        if (filter != null) {
+            query.addCriteria(filter);
+        }
+
+        if (after != null && after.getDate() == null) {
+            // Undated documents sort last; only the ones past the cursor _id remain
+            query.addCriteria(Criteria.where(dateField).is(null).and("id").lt(after.getId()));
+        } else {
+            // Undated documents only belong to listings without date bounds
+            boolean bounded = from != null || to != null;
+            LocalDate upper = to;
+            if (bounded && after != null && (upper == null || after.getDate().isBefore(upper))) {
+                upper = after.getDate();
+            }
+            if (from != null && upper != null) {
+                query.addCriteria(Criteria.where(dateField).gte(from).lte(upper));
+            } else if (from != null) {
+                query.addCriteria(Criteria.where(dateField).gte(from));
+            } else if (upper != null) {
+                query.addCriteria(Criteria.where(dateField).lte(upper));
+            }
+            if (after != null) {
+                // Entries sharing the cursor's date were served up to the cursor _id
+                List<Criteria> remaining = new ArrayList<>(List.of(
+                        Criteria.where(dateField).lt(after.getDate()),
+                        Criteria.where(dateField).is(after.getDate()).and("id").lt(after.getId())));
+                if (!bounded) {
+                    // Undated documents sort last, after every dated one
+                    remaining.add(Criteria.where(dateField).is(null));
+                }
+                query.addCriteria(new Criteria().orOperator(remaining));
+            }
+        }
+
+        query.with(Sort.by(Sort.Direction.DESC, dateField).and(Sort.by(Sort.Direction.DESC, "id")));
+        query.limit(pageSize + 1);
+        return query;
+    }
+
+    /**
+     * Trims the look-ahead document from the results of {@link #query} and derives
+     * the next cursor from the last item kept.
+     */
+    public static <T> KeysetPage<T> toPage(List<T> results, int pageSize,
+                                           Function<T, LocalDate> dateOf, Function<T, String> idOf) {
+        if (results.size() <= pageSize) {
+            return new KeysetPage<>(results, null);
+        }
+
+        List<T> items = results.subList(0, pageSize);
+        T last = items.get(pageSize - 1);
+        return new KeysetPage<>(items, new KeysetCursor(dateOf.apply(last), idOf.apply(last)).encode());
+    }
+
+    public int pageSize(Integer limit) {
+        if (limit == null) {
+            return defaultLimit;
+        }
+        return Math.max(1, Math.min(limit, maxLimit));
+    }
+}
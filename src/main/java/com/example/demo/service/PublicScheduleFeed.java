@@ -0,0 +1,221 @@
+package com.example.demo.service;
+
+import com.example.demo.exception.BadRequestException;
+import com.example.demo.model.Schedule;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Schedule listing for anonymous callers, served from an immutable snapshot.
+ *
+ * The snapshot holds the newest max-size schedules (matchDate, _id descending,
+ * one indexed query) already split into pages and serialized to JSON, so a
+ * request only picks a byte array. It is loaded on first use and then replaced
+ * every refresh-interval; a failed refresh keeps the previous snapshot.
+ *
+ * Pages keep the keyset contract of the authenticated listing: each carries the
+ * nextCursor of its last schedule, and a cursor resumes right after that schedule.
+ * Cursors at page boundaries hit the cached pages; any other cursor (e.g. from an
+ * older snapshot) is located in the snapshot and its page serialized on the spot.
+ * The listing ends with the snapshot, after max-size schedules.
+ */
+@Component
+public class PublicScheduleFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(PublicScheduleFeed.class);
+
+    // Keyset order of the snapshot query; undated schedules sort last
+    private static final Comparator<Schedule> NEWEST_FIRST = Comparator
+            .comparing(Schedule::getMatchDate, Comparator.nullsLast(Comparator.<LocalDate>reverseOrder()))
+            .thenComparing(Schedule::getId, Comparator.nullsLast(Comparator.<String>reverseOrder()));
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.schedules.public-feed.page-size:50}")
+    private int pageSize;
+
+    @Value("${app.schedules.public-feed.max-size:1000}")
+    private int maxSize;
+
+    private volatile Snapshot snapshot;
+
+    // Not synchronized: a monitor held across the Mongo load would pin virtual threads
+    private final ReentrantLock firstLoad = new ReentrantLock();
+
+    /**
+     * A page (0-based); pages past the end are empty.
+     */
+    public FeedPage page(int page) {
+        if (page < 0) {
+            throw new BadRequestException("page must not be negative");
+        }
+        Snapshot current = current();
+        return page < current.pages.size() ? current.pages.get(page) : current.beyondEnd;
+    }
+
+    /**
+     * The page that follows the schedule the cursor points at.
+     */
+    public FeedPage after(String cursor) {
+        Snapshot current = current();
+        FeedPage cached = current.pagesAfter.get(cursor);
+        if (cached != null) {
+            return cached;
+        }
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Schedule position = new Schedule();
+        position.setMatchDate(after.getDate());
+        position.setId(after.getId());
+        int index = Collections.binarySearch(current.schedules, position, NEWEST_FIRST);
+        int from = index >= 0 ? index + 1 : -index - 1;
+        if (from >= current.schedules.size()) {
+            return current.beyondEnd;
+        }
+        int to = Math.min(from + pageSize, current.schedules.size());
+        return toPage(current.schedules, from, to, from / pageSize, current.totalPages, current.refreshedAt);
+    }
+
+    // Nothing is refreshed until someone has asked for the feed
+    @Scheduled(fixedDelayString = "${app.schedules.public-feed.refresh-interval:PT1M}")
+    public void refresh() {
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            snapshot = load();
+        } catch (Exception e) {
+            log.error("Failed to refresh public schedule feed, serving the previous snapshot", e);
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        firstLoad.lock();
+        try {
+            if (snapshot == null) {
+                snapshot = load();
+            }
+            return snapshot;
+        } finally {
+            firstLoad.unlock();
+        }
+    }
+
+    private Snapshot load() {
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.DESC, "matchDate", "_id"))
+                .limit(maxSize);
+        List<Schedule> schedules = List.copyOf(mongoTemplate.find(query, Schedule.class));
+        long refreshedAt = System.currentTimeMillis();
+        int totalPages = Math.max(1, (schedules.size() + pageSize - 1) / pageSize);
+
+        List<FeedPage> pages = new ArrayList<>(totalPages);
+        Map<String, FeedPage> pagesAfter = new HashMap<>();
+        for (int page = 0; page < totalPages; page++) {
+            int from = Math.min(page * pageSize, schedules.size());
+            int to = Math.min(from + pageSize, schedules.size());
+            FeedPage feedPage = toPage(schedules, from, to, page, totalPages, refreshedAt);
+            if (page > 0) {
+                pagesAfter.put(pages.get(page - 1).getNextCursor(), feedPage);
+            }
+            pages.add(feedPage);
+        }
+        FeedPage beyondEnd = new FeedPage(serialize(List.of(), totalPages, totalPages, refreshedAt, null), null);
+
+        log.debug("Public schedule feed refreshed: {} schedules in {} pages", schedules.size(), totalPages);
+        return new Snapshot(schedules, List.copyOf(pages), pagesAfter, beyondEnd, totalPages, refreshedAt);
+    }
+
+    private FeedPage toPage(List<Schedule> schedules, int from, int to, int page, int totalPages, long refreshedAt) {
+        String nextCursor = null;
+        if (to < schedules.size()) {
+            Schedule last = schedules.get(to - 1);
+            nextCursor = new KeysetCursor(last.getMatchDate(), last.getId()).encode();
+        }
+        return new FeedPage(serialize(schedules.subList(from, to), page, totalPages, refreshedAt, nextCursor),
+                nextCursor);
+    }
+
+    private byte[] serialize(List<Schedule> schedules, int page, int totalPages, long refreshedAt, String nextCursor) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("schedules", schedules);
+        body.put("nextCursor", nextCursor);
+        body.put("page", page);
+        body.put("size", pageSize);
+        body.put("totalPages", totalPages);
+        body.put("hasMore", nextCursor != null);
+        body.put("success", true);
+        body.put("message", "Public access - showing latest schedules");
+        body.put("user", "anonymous");
+        body.put("timestamp", refreshedAt);
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize public schedule feed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Serialized JSON body of a page and the cursor of the page after it (null on the last page).
+     */
+    public static final class FeedPage {
+        private final byte[] body;
+        private final String nextCursor;
+
+        FeedPage(byte[] body, String nextCursor) {
+            this.body = body;
+            this.nextCursor = nextCursor;
+        }
+
+        public byte[] getBody() { return body; }
+
+        public String getNextCursor() { return nextCursor; }
+    }
+
+    private static final class Snapshot {
+        final List<Schedule> schedules;
+        final List<FeedPage> pages;
+        final Map<String, FeedPage> pagesAfter;   // keyed by the previous page's nextCursor
+        final FeedPage beyondEnd;
+        final int totalPages;
+        final long refreshedAt;
+
+        Snapshot(List<Schedule> schedules, List<FeedPage> pages, Map<String, FeedPage> pagesAfter,
+                 FeedPage beyondEnd, int totalPages, long refreshedAt) {
+            this.schedules = schedules;
+            this.pages = pages;
+            this.pagesAfter = pagesAfter;
+            this.beyondEnd = beyondEnd;
+            this.totalPages = totalPages;
+            this.refreshedAt = refreshedAt;
+        }
+    }
+}
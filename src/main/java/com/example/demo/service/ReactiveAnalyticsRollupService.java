@@ -0,0 +1,112 @@
+package com.example.demo.service;
+
+import com.example.demo.model.AnalyticsRollup;
+import com.example.demo.model.InvestmentRecord;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static com.example.demo.service.AnalyticsRollupService.addedUpdate;
+import static com.example.demo.service.AnalyticsRollupService.bucketDeltaUpdate;
+import static com.example.demo.service.AnalyticsRollupService.bucketDeltas;
+import static com.example.demo.service.AnalyticsRollupService.bucketQuery;
+import static com.example.demo.service.AnalyticsRollupService.deltaUpdate;
+import static com.example.demo.service.AnalyticsRollupService.monthOf;
+import static com.example.demo.service.AnalyticsRollupService.newBucket;
+import static com.example.demo.service.AnalyticsRollupService.touchesExtreme;
+
+/**
+ * Non-blocking counterpart of AnalyticsRollupService for the reactive stack: the
+ * same atomic bucket deltas, issued through ReactiveMongoTemplate. Like the
+ * blocking service, a failed delta is logged and never fails the record write;
+ * rebuildUser repairs the buckets.
+ */
+@Service
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveAnalyticsRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveAnalyticsRollupService.class);
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    public Mono<Void> recordAdded(InvestmentRecord record) {
+        return reactiveMongoTemplate.upsert(bucketQuery(record), addedUpdate(record), AnalyticsRollup.class)
+                .then()
+                .onErrorResume(e -> {
+                    log.error("Failed to apply rollup delta for added record", e);
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Applies the deltas of many new records with one upsert per affected bucket,
+     * sent as a single unordered bulk write.
+     */
+    public Mono<Void> recordsAdded(List<InvestmentRecord> records) {
+        if (records.isEmpty()) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+                    ReactiveBulkOperations bulk = reactiveMongoTemplate.bulkOps(BulkMode.UNORDERED, AnalyticsRollup.class);
+                    for (AnalyticsRollup delta : bucketDeltas(records)) {
+                        bulk.upsert(Query.query(Criteria.where("_id").is(delta.getId())), bucketDeltaUpdate(delta));
+                    }
+                    return bulk.execute();
+                })
+                .then()
+                .onErrorResume(e -> {
+                    log.error("Failed to apply rollup deltas for {} added records", records.size(), e);
+                    return Mono.empty();
+                });
+    }
+
+    public Mono<Void> recordRemoved(InvestmentRecord record) {
+        return reactiveMongoTemplate.findAndModify(bucketQuery(record), deltaUpdate(record, -1),
+                        FindAndModifyOptions.options().returnNew(true), AnalyticsRollup.class)
+                .flatMap(bucket -> {
+                    if (bucket.getTotalBets() <= 0) {
+                        return reactiveMongoTemplate.remove(
+                                Query.query(Criteria.where("_id").is(bucket.getId())), AnalyticsRollup.class).then();
+                    }
+                    if (touchesExtreme(bucket, record)) {
+                        return repairBucket(record.getUserId(), monthOf(record.getEntryDate()), record.getSportType());
+                    }
+                    return Mono.<Void>empty();
+                })
+                .onErrorResume(e -> {
+                    log.error("Failed to apply rollup delta for removed record", e);
+                    return Mono.empty();
+                });
+    }
+
+    // ================== HELPER METHODS ==================
+
+    private Mono<Void> repairBucket(String userId, String month, String sportType) {
+        YearMonth yearMonth = YearMonth.parse(month);
+        Query records = Query.query(Criteria.where("userId").is(userId)
+                .and("sportType").is(sportType)
+                .and("entryDate").gte(yearMonth.atDay(1)).lte(yearMonth.atEndOfMonth()));
+
+        String id = AnalyticsRollup.idFor(userId, month, sportType);
+        return reactiveMongoTemplate.find(records, InvestmentRecord.class)
+                .collect(() -> newBucket(id, userId, month, sportType), AnalyticsRollupService::accumulate)
+                .flatMap(bucket -> bucket.getTotalBets() > 0
+                        ? reactiveMongoTemplate.save(bucket).then()
+                        : reactiveMongoTemplate.remove(Query.query(Criteria.where("_id").is(id)), AnalyticsRollup.class).then());
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.response.AnalyticsResponse;
+import com.example.demo.model.InvestmentRecord;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+
+/**
+ * Analytics for the reactive stack. Every report is the $facet pipeline of
+ * AnalyticsAggregationEngine run through ReactiveMongoTemplate, so the work stays
+ * in MongoDB and no record is loaded into the JVM; app.analytics.engine only
+ * selects the strategy of the blocking AnalyticsService.
+ */
+@Service
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveAnalyticsService {
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Autowired
+    private AnalyticsRollupService rollupService;
+
+    public Mono<AnalyticsResponse> getDashboardAnalytics(String userId) {
+        return analyze(userId, null, null, null);
+    }
+
+    public Mono<AnalyticsResponse> getMonthlyAnalytics(String userId, int year, int month) {
+        LocalDate startDate = LocalDate.of(year, month, 1);
+        LocalDate endDate = startDate.plusMonths(1).minusDays(1);
+        return analyze(userId, null, startDate, endDate);
+    }
+
+    public Mono<AnalyticsResponse> getSportWiseAnalytics(String userId, String sportType) {
+        return analyze(userId, sportType, null, null);
+    }
+
+    public Mono<AnalyticsResponse> getProfitLossAnalytics(String userId, LocalDate startDate, LocalDate endDate) {
+        return analyze(userId, null, startDate, endDate);
+    }
+
+    /**
+     * Rebuilds the user's rollups with the blocking AnalyticsRollupService, off the
+     * event loop; rollups back the servlet stack's default analytics engine.
+     */
+    public Mono<Integer> rebuildRollups(String userId) {
+        return Mono.fromCallable(() -> rollupService.rebuildUser(userId).size())
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<AnalyticsResponse> analyze(String userId, String sportType, LocalDate startDate, LocalDate endDate) {
+        return reactiveMongoTemplate.aggregate(
+                        AnalyticsAggregationEngine.pipeline(userId, sportType, startDate, endDate),
+                        InvestmentRecord.class, Document.class)
+                .next()
+                .map(result -> AnalyticsAggregationEngine.toResponse(result, reactiveMongoTemplate.getConverter()))
+                .switchIfEmpty(Mono.fromSupplier(
+                        () -> AnalyticsAggregationEngine.toResponse(null, reactiveMongoTemplate.getConverter())));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.request.LoginRequest;
+import com.example.demo.dto.request.RegisterRequest;
+import com.example.demo.dto.response.AuthResponse;
+import com.example.demo.model.User;
+import com.example.demo.repository.ReactiveUserRepository;
+import com.example.demo.security.JwtTokenProvider;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * AuthService for the reactive stack. BCrypt hashing is deliberately slow, so
+ * encode and matches run on the bounded elastic scheduler instead of the event loop.
+ */
+@Service
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveAuthService {
+
+    // Request bodies and credentials are never logged
+    private static final Logger log = LoggerFactory.getLogger(ReactiveAuthService.class);
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    public Mono<AuthResponse> register(RegisterRequest request) {
+        String rejection = AuthService.registerRejection(request);
+        if (rejection != null) {
+            log.debug("Register rejected: {}", rejection);
+            return Mono.just(new AuthResponse(rejection));
+        }
+
+        String username = request.getUsername().trim();
+        return userRepository.existsByUsername(username)
+                .flatMap(exists -> {
+                    if (exists) {
+                        log.debug("Register rejected: username already exists");
+                        return Mono.just(new AuthResponse("Username already exists"));
+                    }
+                    return Mono.fromCallable(() -> passwordEncoder.encode(request.getPassword()))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .flatMap(hash -> {
+                                User user = new User();
+                                user.setUsername(username);
+                                user.setPasswordHash(hash);
+                                return userRepository.save(user);
+                            })
+                            .map(saved -> {
+                                log.atInfo().addKeyValue("userId", saved.getId()).log("User registered");
+                                return new AuthResponse(
+                                        jwtTokenProvider.generateToken(saved.getUsername(), saved.getId()),
+                                        saved.getUsername());
+                            });
+                })
+                .onErrorResume(e -> {
+                    log.error("Registration failed", e);
+                    return Mono.just(new AuthResponse("Registration failed: " + e.getMessage()));
+                });
+    }
+
+    public Mono<AuthResponse> login(LoginRequest request) {
+        String rejection = AuthService.loginRejection(request);
+        if (rejection != null) {
+            log.debug("Login rejected: {}", rejection);
+            return Mono.just(new AuthResponse(rejection));
+        }
+
+        return userRepository.findByUsername(request.getUsername().trim())
+                .flatMap(user -> Mono.fromCallable(() -> passwordEncoder.matches(request.getPassword(), user.getPasswordHash()))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .map(matches -> {
+                            if (!matches) {
+                                log.atInfo().addKeyValue("userId", user.getId()).log("Login failed: bad password");
+                                return new AuthResponse("Invalid username or password");
+                            }
+                            log.atDebug().addKeyValue("userId", user.getId()).log("Login succeeded");
+                            return new AuthResponse(
+                                    jwtTokenProvider.generateToken(user.getUsername(), user.getId()),
+                                    user.getUsername());
+                        }))
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    log.debug("Login failed: unknown username");
+                    return new AuthResponse("Invalid username or password");
+                }))
+                .onErrorResume(e -> {
+                    log.error("Login failed", e);
+                    return Mono.just(new AuthResponse("Login failed: " + e.getMessage()));
+                });
+    }
+}
@@ -0,0 +1,354 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.request.RecordRequest;
+import com.example.demo.dto.request.ScheduleRequest;
+import com.example.demo.dto.response.BulkImportResponse;
+import com.example.demo.dto.response.DashboardStats;
+import com.example.demo.dto.response.KeysetPage;
+import com.example.demo.model.InvestmentRecord;
+import com.example.demo.model.Schedule;
+import com.example.demo.model.UserDataVersion;
+import com.example.demo.repository.ReactiveInvestmentRecordRepository;
+import com.example.demo.repository.ReactiveScheduleRepository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.mongodb.MongoBulkWriteException;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Sports operations for the reactive stack (application-reactive.properties).
+ *
+ * Mirrors SportsServiceImpl, ScheduleService and RecordImportService query for
+ * query, so both stacks return the same documents and use the same indexes;
+ * nothing here blocks a Netty event-loop thread.
+ */
+@Service
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveSportsService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveSportsService.class);
+
+    @Autowired
+    private ReactiveScheduleRepository scheduleRepository;
+
+    @Autowired
+    private ReactiveInvestmentRecordRepository investmentRecordRepository;
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Autowired
+    private ReactiveAnalyticsRollupService analyticsRollupService;
+
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private RecordImportService recordImportService;
+
+    // ================== HELPER METHODS ==================
+
+    private static Criteria userFilter(String userId, String sportType) {
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (sportType != null && !"ALL".equals(sportType)) {
+            criteria = criteria.and("sportType").is(sportType);
+        }
+        return criteria;
+    }
+
+    private <T> Mono<KeysetPage<T>> page(Class<T> type, Criteria filter, String dateField,
+                                         LocalDate from, LocalDate to,
+                                         Function<T, LocalDate> dateOf, Function<T, String> idOf,
+                                         String cursor, Integer limit, FieldSelection fields) {
+        // Deferred so an invalid cursor surfaces as an error signal, not a thrown exception
+        return Mono.defer(() -> {
+            int pageSize = keysetPager.pageSize(limit);
+            Query query = fields.applyTo(keysetPager.query(filter, dateField, from, to, cursor, pageSize),
+                    dateField, "id");
+            return reactiveMongoTemplate.find(query, type)
+                    .collectList()
+                    .map(results -> KeysetPager.toPage(results, pageSize, dateOf, idOf));
+        });
+    }
+
+    private InvestmentRecord rollupSnapshot(InvestmentRecord record) {
+        InvestmentRecord snapshot = new InvestmentRecord();
+        snapshot.setUserId(record.getUserId());
+        snapshot.setSportType(record.getSportType());
+        snapshot.setEntryDate(record.getEntryDate());
+        snapshot.setAmountInvested(record.getAmountInvested());
+        snapshot.setEstimatedProfit(record.getEstimatedProfit());
+        return snapshot;
+    }
+
+    // Same counter DataVersionService bumps, so ETags stay valid when both stacks share a database
+    private Mono<Void> bumpVersion(String userId) {
+        return reactiveMongoTemplate.upsert(DataVersionService.versionQuery(userId), DataVersionService.increment(),
+                        UserDataVersion.class)
+                .doOnError(e -> log.error("Failed to bump data version for user: {}", userId, e))
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+
+    private static <T> Mono<T> notFound(String entity) {
+        return Mono.error(new RuntimeException(entity + " not found or access denied"));
+    }
+
+    // ================== SCHEDULE OPERATIONS ==================
+
+    public Mono<Schedule> addSchedule(ScheduleRequest request, String userId) {
+        Schedule schedule = new Schedule();
+        schedule.setSportType(request.getSportType());
+        schedule.setMatchName(request.getMatchName());
+        schedule.setTeamA(request.getTeamA());
+        schedule.setTeamB(request.getTeamB());
+        schedule.setMatchDate(request.getMatchDate());
+        schedule.setUserId(userId);
+        schedule.setCreatedDate(LocalDate.now());
+
+        return scheduleRepository.save(schedule)
+                .flatMap(saved -> bumpVersion(userId).thenReturn(saved))
+                .doOnNext(saved -> log.info("Schedule added: {} (ID: {})", saved.getMatchName(), saved.getId()))
+                .doOnError(e -> log.error("Failed to add schedule", e));
+    }
+
+    public Mono<KeysetPage<Schedule>> getUserSchedulesPage(String userId, String sportType, LocalDate start,
+                                                           LocalDate end, String cursor, Integer limit,
+                                                           FieldSelection fields) {
+        return page(Schedule.class, userFilter(userId, sportType), "matchDate", start, end,
+                Schedule::getMatchDate, Schedule::getId, cursor, limit, fields)
+                .doOnNext(page -> log.debug("Retrieved page of {} schedules for user: {}", page.getItems().size(), userId));
+    }
+
+    public Mono<Schedule> getScheduleById(String id, String userId) {
+        return scheduleRepository.findByIdAndUserId(id, userId)
+                .switchIfEmpty(notFound("Schedule"));
+    }
+
+    public Mono<Void> deleteSchedule(String id, String userId) {
+        return getScheduleById(id, userId)
+                .flatMap(schedule -> scheduleRepository.delete(schedule)
+                        .then(bumpVersion(userId))
+                        .doOnSuccess(done -> log.info("Schedule deleted: {} (ID: {})", schedule.getMatchName(), id)));
+    }
+
+    public Flux<Schedule> getUpcomingSchedules(String userId) {
+        return scheduleRepository.findByUserIdAndMatchDateAfterOrderByMatchDateAsc(userId, LocalDate.now());
+    }
+
+    // ================== INVESTMENT RECORD OPERATIONS ==================
+
+    public Mono<InvestmentRecord> addRecord(RecordRequest request, String userId) {
+        InvestmentRecord record = RecordImportService.newRecord(request, userId, LocalDateTime.now());
+
+        return investmentRecordRepository.save(record)
+                .flatMap(saved -> analyticsRollupService.recordAdded(saved)
+                        .then(bumpVersion(userId))
+                        .thenReturn(saved))
+                .doOnNext(saved -> log.info("Investment record added: {} ({} @ {}x)",
+                        saved.getMatchName(), saved.getAmountInvested(), saved.getRatio()))
+                .doOnError(e -> log.error("Failed to add investment record", e));
+    }
+
+    public Mono<KeysetPage<InvestmentRecord>> getUserRecordsPage(String userId, String sportType, LocalDate start,
+                                                                 LocalDate end, String cursor, Integer limit,
+                                                                 FieldSelection fields) {
+        return page(InvestmentRecord.class, userFilter(userId, sportType), "entryDate", start, end,
+                InvestmentRecord::getEntryDate, InvestmentRecord::getId, cursor, limit, fields)
+                .doOnNext(page -> log.debug("Retrieved page of {} investment records for user: {}",
+                        page.getItems().size(), userId));
+    }
+
+    public Mono<InvestmentRecord> getRecordById(String id, String userId) {
+        return investmentRecordRepository.findByIdAndUserId(id, userId)
+                .switchIfEmpty(notFound("Investment record"));
+    }
+
+    public Mono<InvestmentRecord> updateRecord(String id, RecordRequest request, String userId) {
+        return getRecordById(id, userId).flatMap(record -> {
+            InvestmentRecord previous = rollupSnapshot(record);
+
+            record.setSportType(request.getSportType());
+            record.setMatchName(request.getMatchName());
+            record.setTeamA(request.getTeamA());
+            record.setTeamB(request.getTeamB());
+            record.setWinnerOrDraw(request.getWinnerOrDraw());
+            record.setAmountInvested(request.getAmountInvested());
+            record.setRatio(request.getRatio());
+            record.setEntryDate(request.getEntryDate());
+
+            // Recalculate estimated profit
+            if (request.getAmountInvested() != null && request.getRatio() != null) {
+                record.setEstimatedProfit(request.getAmountInvested() * request.getRatio());
+            }
+
+            return investmentRecordRepository.save(record)
+                    .flatMap(updated -> analyticsRollupService.recordRemoved(previous)
+                            .then(analyticsRollupService.recordAdded(updated))
+                            .then(bumpVersion(userId))
+                            .thenReturn(updated))
+                    .doOnNext(updated -> log.info("Investment record updated: {} (ID: {})", updated.getMatchName(), id));
+        });
+    }
+
+    public Mono<Void> deleteRecord(String id, String userId) {
+        return getRecordById(id, userId)
+                .flatMap(record -> investmentRecordRepository.delete(record)
+                        .then(analyticsRollupService.recordRemoved(record))
+                        .then(bumpVersion(userId))
+                        .doOnSuccess(done -> log.info("Investment record deleted: {} ({})",
+                                record.getMatchName(), record.getAmountInvested())));
+    }
+
+    /**
+     * Imports records from a decoded JSON array or NDJSON body, validated like
+     * POST /records and written with one unordered bulk insert per chunk, the
+     * same way RecordImportService does for the servlet stack. Chunks are
+     * written one after another, so at most one chunk is held in memory.
+     */
+    public Mono<BulkImportResponse> importRecords(Flux<JsonNode> items, String userId) {
+        return Mono.defer(() -> {
+            BulkImportResponse response = new BulkImportResponse();
+            AtomicInteger received = new AtomicInteger();
+
+            return items
+                    .map(item -> Tuples.of(received.getAndIncrement(), item))
+                    .onErrorResume(e -> {
+                        // The body cannot be resynchronised; keep what was decoded so far
+                        RecordImportService.reportError(response, received.getAndIncrement(),
+                                List.of("Malformed JSON: " + e.getMessage()));
+                        return Flux.empty();
+                    })
+                    .<Tuple2<Integer, InvestmentRecord>>handle((item, sink) -> {
+                        InvestmentRecord record = recordImportService.toRecord(item.getT2(), userId, item.getT1(), response);
+                        if (record != null) {
+                            sink.next(Tuples.of(item.getT1(), record));
+                        }
+                    })
+                    .buffer(recordImportService.getChunkSize())
+                    .concatMap(chunk -> insertChunk(chunk, response))
+                    .then(Mono.defer(() -> response.getInserted() > 0 ? bumpVersion(userId) : Mono.empty()))
+                    .then(Mono.fromSupplier(() -> {
+                        response.setReceived(received.get());
+                        log.info("Imported {}/{} investment records for user: {}",
+                                response.getInserted(), received.get(), userId);
+                        return response;
+                    }));
+        });
+    }
+
+    private Mono<Void> insertChunk(List<Tuple2<Integer, InvestmentRecord>> chunk, BulkImportResponse response) {
+        List<InvestmentRecord> records = chunk.stream().map(Tuple2::getT2).toList();
+        List<Integer> indexes = chunk.stream().map(Tuple2::getT1).toList();
+
+        return Mono.defer(() -> reactiveMongoTemplate.bulkOps(BulkMode.UNORDERED, InvestmentRecord.class)
+                        .insert(records)
+                        .execute())
+                .map(result -> RecordImportService.settleChunk(records, indexes, List.of(), null, response))
+                .onErrorResume(MongoBulkWriteException.class, e -> Mono.just(
+                        RecordImportService.settleChunk(records, indexes, e.getWriteErrors(), null, response)))
+                .onErrorResume(BulkOperationException.class, e -> Mono.just(
+                        RecordImportService.settleChunk(records, indexes, e.getErrors(), null, response)))
+                .onErrorResume(RuntimeException.class, e -> Mono.just(
+                        RecordImportService.settleChunk(records, indexes, List.of(), e, response)))
+                .flatMap(analyticsRollupService::recordsAdded);
+    }
+
+    // ================== ANALYTICS OPERATIONS ==================
+
+    /**
+     * Investment, profit, count and win totals of a user in a single pass over
+     * their records, reading only the two amount fields.
+     */
+    public Mono<RecordTotals> getRecordTotals(String userId) {
+        Query query = Query.query(Criteria.where("userId").is(userId));
+        query.fields().include("amountInvested", "estimatedProfit");
+
+        return reactiveMongoTemplate.find(query, InvestmentRecord.class)
+                .reduce(new RecordTotals(), RecordTotals::add)
+                .doOnNext(totals -> log.debug("Totals calculated for {}: {} records", userId, totals.getRecords()));
+    }
+
+    /**
+     * Same pipeline as SportsServiceImpl.getDashboardStats; the schedule count is
+     * subscribed alongside the aggregation.
+     */
+    public Mono<DashboardStats> getDashboardStats(String userId) {
+        Mono<Document> totals = reactiveMongoTemplate.aggregate(AnalyticsAggregationEngine.dashboardPipeline(userId),
+                        InvestmentRecord.class, Document.class)
+                .next()
+                .defaultIfEmpty(new Document());
+
+        return Mono.zip(totals, scheduleRepository.countByUserId(userId))
+                .map(stats -> AnalyticsAggregationEngine.toDashboardStats(stats.getT1(), stats.getT2()))
+                .doOnNext(stats -> log.debug("Dashboard calculated for {}: {} records, {} schedules",
+                        userId, stats.getTotalRecords(), stats.getTotalSchedules()));
+    }
+
+    // ================== EXPORT OPERATIONS ==================
+
+    public Flux<InvestmentRecord> streamUserRecords(String userId, String sportType, LocalDate start, LocalDate end) {
+        if (start != null && end != null) {
+            return investmentRecordRepository.findByUserIdAndEntryDateBetween(userId, start, end);
+        } else if (sportType != null && !"ALL".equals(sportType)) {
+            return investmentRecordRepository.findByUserIdAndSportType(userId, sportType);
+        }
+        return investmentRecordRepository.findByUserIdOrderByEntryDateDesc(userId);
+    }
+
+    public Flux<Schedule> streamUserSchedules(String userId, String sportType, LocalDate start, LocalDate end) {
+        if (start != null && end != null) {
+            return scheduleRepository.findByUserIdAndMatchDateBetween(userId, start, end);
+        } else if (sportType != null && !"ALL".equals(sportType)) {
+            return scheduleRepository.findByUserIdAndSportType(userId, sportType);
+        }
+        return scheduleRepository.findByUserIdOrderByMatchDateDesc(userId);
+    }
+
+    // ================== RESULT CLASSES ==================
+
+    public static class RecordTotals {
+        private double investment;
+        private double estimatedProfit;
+        private long records;
+        private long wins;
+
+        RecordTotals add(InvestmentRecord record) {
+            double amount = record.getAmountInvested() != null ? record.getAmountInvested() : 0.0;
+            double profit = record.getEstimatedProfit() != null ? record.getEstimatedProfit() : 0.0;
+            investment += amount;
+            estimatedProfit += profit;
+            records++;
+            if (record.getEstimatedProfit() != null && record.getAmountInvested() != null && profit > amount) {
+                wins++;
+            }
+            return this;
+        }
+
+        public double getInvestment() { return investment; }
+        public double getEstimatedProfit() { return estimatedProfit; }
+        public long getRecords() { return records; }
+        public double getWinRate() { return records == 0 ? 0.0 : (double) wins / records * 100; }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.demo.service;
+
+import com.example.demo.model.InvestmentRecord;
+import com.example.demo.model.RecordBucket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Copies investment_records into investment_record_buckets while the per-bet
+ * collection keeps serving requests.
+ *
+ * Each user's records are read with one cursor in entryDate order, so at most one
+ * month of one user is held in memory, and every bucket (overflow buckets of large
+ * months included) is replaced wholesale.
+ * Runs are idempotent: re-running picks up records written, edited or deleted
+ * since the previous run. To switch over, run it, pause record writes for a final
+ * run, then restart with app.records.storage=buckets. The source collection is
+ * left untouched.
+ */
+@Service
+public class RecordBucketMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(RecordBucketMigration.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private RecordBucketStore recordBuckets;
+
+    @Value("${app.records.buckets.migrate-on-startup:false}")
+    private boolean migrateOnStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (migrateOnStartup) {
+            int users = migrateAll();
+            log.info("Migrated investment records of {} users into monthly buckets", users);
+        }
+    }
+
+    /**
+     * Migrates every user that owns investment records.
+     */
+    public int migrateAll() {
+        // Once buckets take writes, investment_records is stale and would overwrite them
+        if (recordBuckets.isEnabled()) {
+            throw new IllegalStateException("Bucket migration must run while app.records.storage=documents");
+        }
+        List<String> userIds = mongoTemplate.findDistinct(new Query(), "userId", InvestmentRecord.class, String.class);
+        int migrated = 0;
+        for (String userId : userIds) {
+            int buckets = migrateUser(userId);
+            log.debug("Migrated user {} into {} buckets ({}/{})", userId, buckets, ++migrated, userIds.size());
+        }
+        return userIds.size();
+    }
+
+    /**
+     * Rebuilds all buckets of one user and drops buckets for months that no longer have records.
+     *
+     * @return the number of buckets written
+     */
+    public int migrateUser(String userId) {
+        Query source = Query.query(Criteria.where("userId").is(userId))
+                .with(Sort.by(Sort.Direction.DESC, "entryDate"));
+        List<String> written = new ArrayList<>();
+        List<InvestmentRecord> month = new ArrayList<>();
+        String monthKey = null;
+
+        try (Stream<InvestmentRecord> records = mongoTemplate.stream(source, InvestmentRecord.class)) {
+            Iterator<InvestmentRecord> it = records.iterator();
+            while (it.hasNext()) {
+                InvestmentRecord record = it.next();
+                String key = RecordBucketStore.monthOf(record.getEntryDate());
+                if (!key.equals(monthKey) && !month.isEmpty()) {
+                    written.addAll(writeBuckets(userId, monthKey, month));
+                    month.clear();
+                }
+                monthKey = key;
+                month.add(record);
+            }
+        }
+        if (!month.isEmpty()) {
+            written.addAll(writeBuckets(userId, monthKey, month));
+        }
+
+        mongoTemplate.remove(Query.query(Criteria.where("userId").is(userId).and("_id").nin(written)),
+                RecordBucket.class);
+        return written.size();
+    }
+
+    private List<String> writeBuckets(String userId, String month, List<InvestmentRecord> records) {
+        List<String> ids = new ArrayList<>();
+        for (RecordBucket bucket : recordBuckets.newBuckets(userId, month, records)) {
+            mongoTemplate.save(bucket);
+            ids.add(bucket.getId());
+        }
+        return ids;
+    }
+}
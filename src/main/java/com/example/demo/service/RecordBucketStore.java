@@ -0,0 +1,616 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.response.BulkWriteResponse;
+import com.example.demo.dto.response.KeysetPage;
+import com.example.demo.model.InvestmentRecord;
+import com.example.demo.model.RecordBucket;
+import com.example.demo.model.RecordBucket.Entry;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Investment records kept as RecordBuckets per (user, month) when
+ * app.records.storage=buckets.
+ *
+ * Writes are single-document updates that push or pull an entry and $inc the
+ * bucket totals. A bucket takes at most app.records.buckets.max-entries entries,
+ * keeping it far below MongoDB's 16 MB document limit; a push that does not fit
+ * goes to the month's next overflow bucket (userId:month:seq). Reads hand out
+ * InvestmentRecords, so the existing endpoints keep their responses: a month is
+ * one query, a date range one query over consecutive months, and listings walk
+ * buckets newest month first in the same (entryDate, _id) descending order as
+ * KeysetPager, merging the buckets of a month.
+ */
+@Service
+public class RecordBucketStore {
+
+    // Keyset order; undated records sort last, as with a descending index on entryDate
+    static final Comparator<Entry> NEWEST_FIRST = Comparator
+            .comparing(Entry::getEntryDate, Comparator.nullsLast(Comparator.<LocalDate>reverseOrder()))
+            .thenComparing(Entry::getId, Comparator.nullsLast(Comparator.<String>reverseOrder()));
+
+    static final int DEFAULT_MAX_ENTRIES = 2000;
+
+    private static final int MAX_REWRITE_ATTEMPTS = 3;
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * documents - one investment_records document per bet (default)
+     * buckets   - one investment_record_buckets document per user and month
+     */
+    @Value("${app.records.storage:documents}")
+    private String storage;
+
+    // Entries per bucket; at a few hundred bytes per entry this stays around 1 MB
+    @Value("${app.records.buckets.max-entries:" + DEFAULT_MAX_ENTRIES + "}")
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+    public boolean isEnabled() {
+        return "buckets".equalsIgnoreCase(storage);
+    }
+
+    // ================== WRITES ==================
+
+    /**
+     * Assigns the id and creation date a repository save would, then pushes the entry
+     * into an open bucket of its month, opening an overflow bucket when all are full.
+     */
+    public InvestmentRecord insert(InvestmentRecord record) {
+        prepare(record);
+        String month = monthOf(record.getEntryDate());
+        Query open = Query.query(Criteria.where("userId").is(record.getUserId()).and("month").is(month)
+                .and("count").lte(maxEntries - 1));
+        if (mongoTemplate.updateFirst(open, pushUpdate(record.getUserId(), month, 0, List.of(record)),
+                RecordBucket.class).getMatchedCount() == 0) {
+            push(record.getUserId(), month, lastSeq(record.getUserId(), month) + 1, List.of(record));
+        }
+        return record;
+    }
+
+    /**
+     * Fills the last bucket of every month touched and opens overflow buckets for the
+     * rest, as one read of the bucket sizes and one unordered bulk write. Pushes that
+     * lost a bucket to a concurrent writer are placed again one by one.
+     */
+    public void insertAll(List<InvestmentRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        Map<String, List<InvestmentRecord>> months = byMonth(records);
+        Map<String, RecordBucket> last = lastBuckets(records);
+
+        List<Push> pushes = new ArrayList<>();
+        months.forEach((key, monthRecords) -> {
+            InvestmentRecord first = monthRecords.get(0);
+            String month = monthOf(first.getEntryDate());
+            RecordBucket bucket = last.get(key);
+            int seq = bucket != null ? bucket.getSeq() : 0;
+            int room = bucket != null ? maxEntries - bucket.getCount() : maxEntries;
+            for (int from = 0; from < monthRecords.size(); ) {
+                if (room <= 0) {
+                    seq++;
+                    room = maxEntries;
+                }
+                int to = Math.min(monthRecords.size(), from + room);
+                pushes.add(new Push(first.getUserId(), month, seq, monthRecords.subList(from, to)));
+                room -= to - from;
+                from = to;
+            }
+        });
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, RecordBucket.class);
+        for (Push push : pushes) {
+            bulk.upsert(openQuery(push.userId, push.month, push.seq, push.records.size()),
+                    pushUpdate(push.userId, push.month, push.seq, push.records));
+        }
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            // Write concern errors arrive as DataIntegrityViolationException and are not caught here
+            if (e.getErrors().stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY)) {
+                throw e;
+            }
+            // The bucket filled up or was opened by someone else in between
+            for (BulkWriteError error : e.getErrors()) {
+                Push push = pushes.get(error.getIndex());
+                push(push.userId, push.month, push.seq + 1, push.records);
+            }
+        }
+    }
+
+    /**
+     * Replaces the entry in place when the month is unchanged; otherwise the entry is
+     * pushed to its new bucket before it is pulled from the old one, so a failure in
+     * between leaves a duplicate rather than losing the record.
+     */
+    public InvestmentRecord update(InvestmentRecord previous, InvestmentRecord updated) {
+        String month = monthOf(updated.getEntryDate());
+        if (month.equals(monthOf(previous.getEntryDate()))) {
+            Update update = totalsDelta(Update.update("entries.$", Entry.of(updated)), List.of(updated), List.of(previous));
+            mongoTemplate.updateFirst(entryQuery(updated.getUserId(), month, updated.getId()), update, RecordBucket.class);
+        } else {
+            insert(updated);
+            remove(previous);
+        }
+        return updated;
+    }
+
+    /**
+     * Pulls the entry and takes it off the totals; a bucket left empty is deleted.
+     */
+    public boolean remove(InvestmentRecord record) {
+        String month = monthOf(record.getEntryDate());
+        Query query = entryQuery(record.getUserId(), month, record.getId());
+        Update update = new Update().pull("entries", Query.query(Criteria.where("id").is(record.getId())));
+        boolean removed = mongoTemplate.updateFirst(query, totalsDelta(update, List.of(), List.of(record)), RecordBucket.class)
+                .getModifiedCount() > 0;
+
+        mongoTemplate.remove(Query.query(Criteria.where("userId").is(record.getUserId()).and("month").is(month)
+                .and("count").lte(0)), RecordBucket.class);
+        return removed;
+    }
+
+    /**
+     * Changes or removes the selected records of a user (the ids, narrowed by sportType
+     * and the date range). Affected buckets are read once and written back whole in one
+     * unordered bulk write; each write only applies if the bucket's count is unchanged,
+     * and buckets that changed in between are read and rewritten again.
+     *
+     * @param change applied to every selected record, returning whether it changed
+     *               anything; null removes the selected records
+     * @return matched and modified counts for a change, deleted count for a removal
+     */
+    public BulkWriteResponse rewrite(String userId, Collection<String> ids, String sportType,
+                                     LocalDate start, LocalDate end, Predicate<InvestmentRecord> change) {
+        Set<String> idSet = ids != null && !ids.isEmpty() ? new HashSet<>(ids) : null;
+        Predicate<Entry> selected = filter(sportType, start, end)
+                .and(entry -> idSet == null || idSet.contains(entry.getId()));
+
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (idSet != null) {
+            criteria = criteria.and("entries.id").in(idSet);
+        }
+        if (start != null || end != null) {
+            criteria = criteria.and("month").lte(end != null ? YearMonth.from(end).toString() : "9999-12")
+                    .gte(start != null ? YearMonth.from(start).toString() : "0000-01");
+        }
+        Query query = Query.query(criteria);
+
+        Set<String> matched = new HashSet<>();
+        Set<String> modified = new HashSet<>();
+        for (int attempt = 1; ; attempt++) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, RecordBucket.class);
+            int writes = 0;
+            for (RecordBucket bucket : mongoTemplate.find(query, RecordBucket.class)) {
+                List<InvestmentRecord> kept = new ArrayList<>(bucket.getEntries().size());
+                boolean changed = false;
+                for (Entry entry : bucket.getEntries()) {
+                    InvestmentRecord record = entry.toRecord(userId);
+                    if (selected.test(entry)) {
+                        matched.add(entry.getId());
+                        if (change == null || change.test(record)) {
+                            modified.add(entry.getId());
+                            changed = true;
+                            if (change == null) {
+                                continue;
+                            }
+                        }
+                    }
+                    kept.add(record);
+                }
+                if (!changed) {
+                    continue;
+                }
+                Query unchanged = Query.query(Criteria.where("_id").is(bucket.getId()).and("count").is(bucket.getCount()));
+                if (kept.isEmpty()) {
+                    bulk.remove(unchanged);
+                } else {
+                    bulk.replaceOne(unchanged, newBucket(userId, bucket.getMonth(), bucket.getSeq(), kept));
+                }
+                writes++;
+            }
+
+            if (writes == 0) {
+                break;
+            }
+            BulkWriteResult result = bulk.execute();
+            if (result.getMatchedCount() + result.getDeletedCount() == writes) {
+                break;
+            }
+            if (attempt == MAX_REWRITE_ATTEMPTS) {
+                throw new RuntimeException("Records kept changing during the bulk write, try again");
+            }
+        }
+        return change == null
+                ? BulkWriteResponse.deleted(modified.size())
+                : BulkWriteResponse.updated(matched.size(), modified.size());
+    }
+
+    // ================== READS ==================
+
+    public Optional<InvestmentRecord> findById(String id, String userId) {
+        Query query = Query.query(Criteria.where("userId").is(userId).and("entries.id").is(id));
+        // Stored entry key: the $elemMatch projection is passed through unmapped
+        query.fields().include("userId").elemMatch("entries", Criteria.where("i").is(id));
+        RecordBucket bucket = mongoTemplate.findOne(query, RecordBucket.class);
+        if (bucket == null || bucket.getEntries().isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(bucket.getEntries().get(0).toRecord(userId));
+    }
+
+    /**
+     * Every record of one month, newest first, from a single query.
+     */
+    public List<InvestmentRecord> findMonth(String userId, YearMonth month) {
+        return monthBuckets(userId, month.toString()).stream()
+                .flatMap(bucket -> bucket.getEntries().stream())
+                .sorted(NEWEST_FIRST)
+                .map(entry -> entry.toRecord(userId))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Records matching the same filters as the investment_records queries, newest first.
+     */
+    public List<InvestmentRecord> find(String userId, String sportType, LocalDate start, LocalDate end) {
+        try (Stream<InvestmentRecord> records = stream(userId, sportType, start, end)) {
+            return records.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Cursor-backed like the repository streams; one bucket is decoded at a time.
+     * The caller must close the stream.
+     */
+    public Stream<InvestmentRecord> stream(String userId, String sportType, LocalDate start, LocalDate end) {
+        Predicate<Entry> matches = filter(sportType, start, end);
+        return months(buckets(userId, start, end, start == null && end == null))
+                .flatMap(month -> month.stream()
+                        .filter(matches)
+                        .sorted(NEWEST_FIRST)
+                        .map(entry -> entry.toRecord(userId)));
+    }
+
+    /**
+     * A keyset page in KeysetPager's order and cursor format; buckets below the page
+     * are never read.
+     */
+    public KeysetPage<InvestmentRecord> page(String userId, String sportType, LocalDate from, LocalDate to,
+                                             String cursor, int pageSize) {
+        KeysetCursor after = cursor != null && !cursor.isBlank() ? KeysetCursor.decode(cursor) : null;
+        LocalDate upper = to;
+        if (after != null && after.getDate() != null && (upper == null || after.getDate().isBefore(upper))) {
+            upper = after.getDate();
+        }
+
+        Predicate<Entry> matches = filter(sportType, from, to).and(entry -> isAfter(entry, after));
+        List<InvestmentRecord> results = new ArrayList<>(pageSize + 1);
+        try (Stream<RecordBucket> buckets = after != null && after.getDate() == null
+                ? undatedBucket(userId) : buckets(userId, from, upper, from == null && to == null)) {
+            months(buckets).flatMap(month -> month.stream().filter(matches).sorted(NEWEST_FIRST))
+                    .limit(pageSize + 1)
+                    .forEach(entry -> results.add(entry.toRecord(userId)));
+        }
+        return KeysetPager.toPage(results, pageSize, InvestmentRecord::getEntryDate, InvestmentRecord::getId);
+    }
+
+    /**
+     * Bucket totals without the entries, for sums and counts over all of a user's records.
+     */
+    public List<RecordBucket> findTotals(String userId) {
+        Query query = Query.query(Criteria.where("userId").is(userId));
+        query.fields().exclude("entries");
+        return mongoTemplate.find(query, RecordBucket.class);
+    }
+
+    // ================== HELPER METHODS ==================
+
+    /**
+     * Buckets overlapping [start, end] newest month first, followed by the bucket of
+     * undated records when asked for (it only belongs to unbounded listings).
+     */
+    private Stream<RecordBucket> buckets(String userId, LocalDate start, LocalDate end, boolean withUndated) {
+        Criteria criteria = Criteria.where("userId").is(userId)
+                .and("month").lte(end != null ? YearMonth.from(end).toString() : "9999-12");
+        if (start != null) {
+            criteria = criteria.gte(YearMonth.from(start).toString());
+        }
+
+        Query query = Query.query(criteria).with(Sort.by(Sort.Direction.DESC, "month").and(Sort.by("seq")));
+        Stream<RecordBucket> dated = mongoTemplate.stream(query, RecordBucket.class);
+        return withUndated ? Stream.concat(dated, undatedBucket(userId)) : dated;
+    }
+
+    private Stream<RecordBucket> undatedBucket(String userId) {
+        return Stream.of(monthOf(null)).flatMap(month -> monthBuckets(userId, month).stream());
+    }
+
+    private List<RecordBucket> monthBuckets(String userId, String month) {
+        return mongoTemplate.find(Query.query(Criteria.where("userId").is(userId).and("month").is(month))
+                .with(Sort.by("seq")), RecordBucket.class);
+    }
+
+    /**
+     * The entries of each month, in the month order of the buckets; a month's buckets
+     * are adjacent in that order. Closing the returned stream closes the buckets.
+     */
+    static Stream<List<Entry>> months(Stream<RecordBucket> buckets) {
+        Iterator<RecordBucket> it = buckets.iterator();
+        Iterator<List<Entry>> months = new Iterator<>() {
+            private RecordBucket next;
+
+            @Override
+            public boolean hasNext() {
+                return next != null || it.hasNext();
+            }
+
+            @Override
+            public List<Entry> next() {
+                RecordBucket first = next != null ? next : it.next();
+                next = null;
+                List<Entry> entries = new ArrayList<>(first.getEntries());
+                while (it.hasNext()) {
+                    RecordBucket bucket = it.next();
+                    if (!bucket.getMonth().equals(first.getMonth())) {
+                        next = bucket;
+                        break;
+                    }
+                    entries.addAll(bucket.getEntries());
+                }
+                return entries;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(months, Spliterator.ORDERED), false)
+                .onClose(buckets::close);
+    }
+
+    /**
+     * The highest seq in use for the month, -1 when it has no bucket.
+     */
+    private int lastSeq(String userId, String month) {
+        Query query = Query.query(Criteria.where("userId").is(userId).and("month").is(month))
+                .with(Sort.by(Sort.Direction.DESC, "seq"));
+        query.fields().include("seq");
+        RecordBucket bucket = mongoTemplate.findOne(query, RecordBucket.class);
+        return bucket != null ? bucket.getSeq() : -1;
+    }
+
+    /**
+     * Size of the last bucket of every (user, month) the records fall into, keyed
+     * like byMonth; entries are not read.
+     */
+    private Map<String, RecordBucket> lastBuckets(List<InvestmentRecord> records) {
+        Set<String> userIds = new HashSet<>();
+        Set<String> months = new HashSet<>();
+        for (InvestmentRecord record : records) {
+            userIds.add(record.getUserId());
+            months.add(monthOf(record.getEntryDate()));
+        }
+        Query query = Query.query(Criteria.where("userId").in(userIds).and("month").in(months));
+        query.fields().include("userId").include("month").include("seq").include("count");
+
+        Map<String, RecordBucket> last = new HashMap<>();
+        for (RecordBucket bucket : mongoTemplate.find(query, RecordBucket.class)) {
+            last.merge(RecordBucket.idFor(bucket.getUserId(), bucket.getMonth()), bucket,
+                    (a, b) -> a.getSeq() >= b.getSeq() ? a : b);
+        }
+        return last;
+    }
+
+    /**
+     * Pushes into bucket seq of the month if the records fit, creating it if absent,
+     * and moves on to the following buckets while the push does not fit.
+     */
+    private void push(String userId, String month, int seq, List<InvestmentRecord> records) {
+        for (int bucket = Math.max(seq, 0); ; bucket++) {
+            try {
+                mongoTemplate.upsert(openQuery(userId, month, bucket, records.size()),
+                        pushUpdate(userId, month, bucket, records), RecordBucket.class);
+                return;
+            } catch (DuplicateKeyException e) {
+                // Bucket exists without room for the records: the upsert tried to create it
+            }
+        }
+    }
+
+    private static Predicate<Entry> filter(String sportType, LocalDate start, LocalDate end) {
+        Predicate<Entry> matches = entry -> true;
+        if (sportType != null && !"ALL".equals(sportType)) {
+            matches = matches.and(entry -> sportType.equals(entry.getSportType()));
+        }
+        if (start != null) {
+            matches = matches.and(entry -> entry.getEntryDate() != null && !entry.getEntryDate().isBefore(start));
+        }
+        if (end != null) {
+            matches = matches.and(entry -> entry.getEntryDate() != null && !entry.getEntryDate().isAfter(end));
+        }
+        return matches;
+    }
+
+    // Whether the entry follows the cursor position in keyset order
+    private static boolean isAfter(Entry entry, KeysetCursor after) {
+        if (after == null) {
+            return true;
+        }
+        int byDate = after.getDate() == null
+                ? (entry.getEntryDate() == null ? 0 : -1)
+                : (entry.getEntryDate() == null ? 1 : after.getDate().compareTo(entry.getEntryDate()));
+        return byDate > 0 || (byDate == 0 && entry.getId() != null && entry.getId().compareTo(after.getId()) < 0);
+    }
+
+    static void prepare(InvestmentRecord record) {
+        if (record.getId() == null) {
+            record.setId(new ObjectId().toHexString());
+        }
+        if (record.getCreatedDate() == null) {
+            record.setCreatedDate(LocalDateTime.now());
+        }
+    }
+
+    // Records grouped by user and month, keyed by the month's first bucket id
+    static Map<String, List<InvestmentRecord>> byMonth(List<InvestmentRecord> records) {
+        Map<String, List<InvestmentRecord>> months = new LinkedHashMap<>();
+        for (InvestmentRecord record : records) {
+            prepare(record);
+            months.computeIfAbsent(RecordBucket.idFor(record.getUserId(), monthOf(record.getEntryDate())),
+                    key -> new ArrayList<>()).add(record);
+        }
+        return months;
+    }
+
+    /**
+     * Complete buckets for the given records of one user and month, at most
+     * max-entries records each and numbered from seq 0.
+     */
+    public List<RecordBucket> newBuckets(String userId, String month, List<InvestmentRecord> records) {
+        List<RecordBucket> buckets = new ArrayList<>();
+        for (int from = 0, seq = 0; from < records.size(); from += maxEntries, seq++) {
+            buckets.add(newBucket(userId, month, seq,
+                    records.subList(from, Math.min(records.size(), from + maxEntries))));
+        }
+        return buckets;
+    }
+
+    static RecordBucket newBucket(String userId, String month, List<InvestmentRecord> records) {
+        return newBucket(userId, month, 0, records);
+    }
+
+    /**
+     * A complete bucket for the given records of one user and month.
+     */
+    static RecordBucket newBucket(String userId, String month, int seq, List<InvestmentRecord> records) {
+        RecordBucket bucket = new RecordBucket();
+        bucket.setId(RecordBucket.idFor(userId, month, seq));
+        bucket.setUserId(userId);
+        bucket.setMonth(month);
+        bucket.setSeq(seq);
+        for (InvestmentRecord record : records) {
+            bucket.getEntries().add(Entry.of(record));
+            bucket.setCount(bucket.getCount() + 1);
+            bucket.setTotalInvestment(bucket.getTotalInvestment() + amountOf(record));
+            bucket.setProfitSum(bucket.getProfitSum() + profitOf(record));
+            if (beatsStake(record)) {
+                bucket.setStakeBeaten(bucket.getStakeBeaten() + 1);
+            }
+        }
+        return bucket;
+    }
+
+    // Matches bucket seq only while it has room for the entries; an upsert creates a missing bucket
+    private Query openQuery(String userId, String month, int seq, int entries) {
+        return Query.query(Criteria.where("_id").is(RecordBucket.idFor(userId, month, seq))
+                .and("count").lte(maxEntries - entries));
+    }
+
+    private static Query entryQuery(String userId, String month, String id) {
+        return Query.query(Criteria.where("userId").is(userId).and("month").is(month).and("entries.id").is(id));
+    }
+
+    static Update pushUpdate(String userId, String month, int seq, List<InvestmentRecord> records) {
+        Update update = new Update()
+                .setOnInsert("userId", userId)
+                .setOnInsert("month", month)
+                .setOnInsert("seq", seq)
+                .push("entries").each(records.stream().map(Entry::of).toArray());
+        return totalsDelta(update, records, List.of());
+    }
+
+    /**
+     * The net change to the bucket totals when the added records replace the removed ones.
+     * Update.inc keeps only the last value given for a key, so both sides go into one $inc.
+     */
+    static Update totalsDelta(Update update, List<InvestmentRecord> added, List<InvestmentRecord> removed) {
+        return update
+                .inc("count", added.size() - removed.size())
+                .inc("totalInvestment", sum(added, RecordBucketStore::amountOf) - sum(removed, RecordBucketStore::amountOf))
+                .inc("profitSum", sum(added, RecordBucketStore::profitOf) - sum(removed, RecordBucketStore::profitOf))
+                .inc("stakeBeaten", (int) (sum(added, RecordBucketStore::stakeBeatenOf)
+                        - sum(removed, RecordBucketStore::stakeBeatenOf)));
+    }
+
+    private static double sum(List<InvestmentRecord> records, ToDoubleFunction<InvestmentRecord> field) {
+        double sum = 0;
+        for (InvestmentRecord record : records) {
+            sum += field.applyAsDouble(record);
+        }
+        return sum;
+    }
+
+    private static double amountOf(InvestmentRecord record) {
+        return record.getAmountInvested() != null ? record.getAmountInvested() : 0.0;
+    }
+
+    private static double profitOf(InvestmentRecord record) {
+        return record.getEstimatedProfit() != null ? record.getEstimatedProfit() : 0.0;
+    }
+
+    private static double stakeBeatenOf(InvestmentRecord record) {
+        return beatsStake(record) ? 1 : 0;
+    }
+
+    // Same rule as the dashboard pipeline: both amounts present and profit above the stake
+    static boolean beatsStake(InvestmentRecord record) {
+        return record.getAmountInvested() != null && record.getEstimatedProfit() != null
+                && record.getEstimatedProfit() > record.getAmountInvested();
+    }
+
+    static String monthOf(LocalDate date) {
+        return AnalyticsRollupService.monthOf(date);
+    }
+
+    // Records pushed into one bucket by insertAll
+    private static final class Push {
+        final String userId;
+        final String month;
+        final int seq;
+        final List<InvestmentRecord> records;
+
+        Push(String userId, String month, int seq, List<InvestmentRecord> records) {
+            this.userId = userId;
+            this.month = month;
+            this.seq = seq;
+            this.records = records;
+        }
+    }
+}
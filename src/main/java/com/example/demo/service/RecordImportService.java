@@ -0,0 +1,247 @@
+package com.example.demo.service;
+
+import com.example.demo.config.MetricsConfig;
+import com.example.demo.dto.request.RecordRequest;
+import com.example.demo.dto.response.BulkImportResponse;
+import com.example.demo.dto.response.BulkImportResponse.ItemError;
+import com.example.demo.model.InvestmentRecord;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bulk ingestion of investment records from a JSON array or NDJSON stream.
+ *
+ * Items are parsed one at a time, validated like POST /records, and written in
+ * chunks with unordered bulk inserts, so neither the request body nor the whole
+ * import is ever held in memory. Rollup deltas are applied once per chunk.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class RecordImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(RecordImportService.class);
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private AnalyticsRollupService analyticsRollupService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private RecordBucketStore recordBuckets;
+
+    @Value("${app.records.import.chunk-size:1000}")
+    private int chunkSize;
+
+    int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Builds a new record for the user, deriving estimatedProfit from amount and ratio.
+     */
+    public static InvestmentRecord newRecord(RecordRequest request, String userId, LocalDateTime createdDate) {
+        InvestmentRecord record = new InvestmentRecord();
+        record.setSportType(request.getSportType());
+        record.setMatchName(request.getMatchName());
+        record.setTeamA(request.getTeamA());
+        record.setTeamB(request.getTeamB());
+        record.setWinnerOrDraw(request.getWinnerOrDraw());
+        record.setAmountInvested(request.getAmountInvested());
+        record.setRatio(request.getRatio());
+        record.setEntryDate(request.getEntryDate());
+        record.setUserId(userId);
+        record.setCreatedDate(createdDate);
+
+        // Calculate estimated profit
+        if (request.getAmountInvested() != null && request.getRatio() != null) {
+            record.setEstimatedProfit(request.getAmountInvested() * request.getRatio());
+        }
+        return record;
+    }
+
+    public BulkImportResponse importRecords(InputStream body, String userId) throws IOException {
+        BulkImportResponse response = new BulkImportResponse();
+        List<InvestmentRecord> chunk = new ArrayList<>(chunkSize);
+        List<Integer> chunkIndexes = new ArrayList<>(chunkSize);
+        int index = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            try {
+                JsonToken token = parser.nextToken();
+                boolean array = token == JsonToken.START_ARRAY;
+                if (array) {
+                    token = parser.nextToken();
+                }
+
+                while (token != null && token != JsonToken.END_ARRAY) {
+                    JsonNode item = objectMapper.readTree(parser);
+                    InvestmentRecord record = toRecord(item, userId, index, response);
+                    if (record != null) {
+                        chunk.add(record);
+                        chunkIndexes.add(index);
+                        if (chunk.size() == chunkSize) {
+                            flush(chunk, chunkIndexes, response);
+                        }
+                    }
+                    index++;
+                    token = parser.nextToken();
+                }
+            } catch (JsonProcessingException e) {
+                // The stream cannot be resynchronised; keep what was parsed so far
+                reportError(response, index, List.of("Malformed JSON: " + e.getOriginalMessage()));
+                index++;
+            }
+        }
+
+        flush(chunk, chunkIndexes, response);
+        response.setReceived(index);
+        if (response.getInserted() > 0) {
+            dataVersionService.bump(userId);
+        }
+        log.info("Imported {}/{} investment records for user: {}", response.getInserted(), index, userId);
+        return response;
+    }
+
+    // ================== HELPER METHODS ==================
+
+    /**
+     * Converts and validates one item, reporting it as failed and returning null when it is rejected.
+     */
+    InvestmentRecord toRecord(JsonNode item, String userId, int index, BulkImportResponse response) {
+        RecordRequest request;
+        try {
+            request = objectMapper.treeToValue(item, RecordRequest.class);
+        } catch (JsonProcessingException e) {
+            reportError(response, index, List.of(e.getOriginalMessage()));
+            return null;
+        }
+
+        Set<ConstraintViolation<RecordRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            List<String> messages = new ArrayList<>(violations.size());
+            for (ConstraintViolation<RecordRequest> violation : violations) {
+                messages.add(violation.getPropertyPath() + ": " + violation.getMessage());
+            }
+            messages.sort(null);
+            reportError(response, index, messages);
+            return null;
+        }
+
+        return newRecord(request, userId, LocalDateTime.now());
+    }
+
+    private void flush(List<InvestmentRecord> chunk, List<Integer> chunkIndexes, BulkImportResponse response) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        if (recordBuckets.isEnabled()) {
+            flushToBuckets(chunk, chunkIndexes, response);
+        } else {
+            List<InvestmentRecord> inserted;
+            try {
+                mongoTemplate.bulkOps(BulkMode.UNORDERED, InvestmentRecord.class)
+                        .insert(chunk)
+                        .execute();
+                inserted = settleChunk(chunk, chunkIndexes, List.of(), null, response);
+            } catch (BulkOperationException e) {
+                inserted = settleChunk(chunk, chunkIndexes, e.getErrors(), null, response);
+            } catch (RuntimeException e) {
+                inserted = settleChunk(chunk, chunkIndexes, List.of(), e, response);
+            }
+            analyticsRollupService.recordsAdded(inserted);
+        }
+
+        chunk.clear();
+        chunkIndexes.clear();
+    }
+
+    /**
+     * One upsert per bucket touched by the chunk. Bulk errors refer to buckets rather
+     * than items, so any failure fails the whole chunk; buckets keep their own totals
+     * instead of rollups.
+     */
+    private void flushToBuckets(List<InvestmentRecord> chunk, List<Integer> chunkIndexes, BulkImportResponse response) {
+        try {
+            recordBuckets.insertAll(chunk);
+            settleChunk(chunk, chunkIndexes, List.of(), null, response);
+        } catch (RuntimeException e) {
+            settleChunk(chunk, chunkIndexes, List.of(), e, response);
+        }
+    }
+
+    /**
+     * Counts the outcome of one unordered bulk insert into the response and returns
+     * the records that were written. A failure of the whole write fails every item.
+     */
+    static List<InvestmentRecord> settleChunk(List<InvestmentRecord> chunk, List<Integer> chunkIndexes,
+                                              List<BulkWriteError> writeErrors, RuntimeException failure,
+                                              BulkImportResponse response) {
+        Set<Integer> failedPositions = new HashSet<>();
+        if (failure != null) {
+            log.error("Bulk insert of {} records failed", chunk.size(), failure);
+            for (int i = 0; i < chunk.size(); i++) {
+                failedPositions.add(i);
+                reportError(response, chunkIndexes.get(i), List.of("Write failed: " + failure.getMessage()));
+            }
+        }
+        for (BulkWriteError error : writeErrors) {
+            failedPositions.add(error.getIndex());
+            reportError(response, chunkIndexes.get(error.getIndex()), List.of(error.getMessage()));
+        }
+
+        List<InvestmentRecord> inserted = new ArrayList<>(chunk.size() - failedPositions.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            if (!failedPositions.contains(i)) {
+                inserted.add(chunk.get(i));
+            }
+        }
+        response.setInserted(response.getInserted() + inserted.size());
+        return inserted;
+    }
+
+    static void reportError(BulkImportResponse response, int index, List<String> messages) {
+        response.setFailed(response.getFailed() + 1);
+        if (response.getErrors().size() < MAX_REPORTED_ERRORS) {
+            response.getErrors().add(new ItemError(index, messages));
+        } else {
+            response.setErrorsTruncated(true);
+        }
+    }
+}
@@ -1,13 +1,13 @@
 package com.example.demo.service;
 
+import com.example.demo.config.MetricsConfig;
 import com.example.demo.dto.request.ScheduleRequest;
 import com.example.demo.exception.BadRequestException;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.model.Schedule;
-import com.example.demo.model.User;
 import com.example.demo.repository.ScheduleRepository;
-import com.example.demo.repository.UserRepository;
 
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -17,24 +17,26 @@ import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class ScheduleService {
     
     @Autowired
     private ScheduleRepository scheduleRepository;
     
     @Autowired
-    private UserRepository userRepository;
+    private DataVersionService dataVersionService;
     
-    // ✅ NEW: Method to get all schedules (for anonymous/testing access)
-    public List<Schedule> getAllSchedules() {
-        return scheduleRepository.findAll();
-    }
+    @Autowired
+    private UpcomingScheduleCalendar upcomingCalendar;
     
     // ✅ NEW: Simple method to create schedule without authentication
     public Schedule createSchedule(Schedule schedule) {
         // Set creation timestamp if not provided
         // Only set if your Schedule model has this field
-        return scheduleRepository.save(schedule);
+        Schedule saved = scheduleRepository.save(schedule);
+        upcomingCalendar.scheduleSaved(saved);
+        dataVersionService.bump(saved.getUserId());
+        return saved;
     }
     
     // ✅ NEW: Method to update schedule without authentication
@@ -49,7 +51,10 @@ public class ScheduleService {
         existingSchedule.setTeamB(schedule.getTeamB());
         existingSchedule.setMatchDate(schedule.getMatchDate());
         
-        return scheduleRepository.save(existingSchedule);
+        Schedule saved = scheduleRepository.save(existingSchedule);
+        upcomingCalendar.scheduleSaved(saved);
+        dataVersionService.bump(saved.getUserId());
+        return saved;
     }
     
     // ✅ NEW: Method to delete schedule without authentication
@@ -57,27 +62,23 @@ public class ScheduleService {
         Schedule schedule = scheduleRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Schedule", "id", id));
         scheduleRepository.delete(schedule);
+        upcomingCalendar.scheduleDeleted(schedule);
+        dataVersionService.bump(schedule.getUserId());
     }
     
     // ✅ UPDATED: Enhanced method for user-specific schedules with error handling
-    public List<Schedule> getSchedulesByUser(String username) {
+    public List<Schedule> getSchedulesByUser(String userId) {
         try {
-            User user = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
-            
-            return scheduleRepository.findByUserId(user.getId());
+            return scheduleRepository.findByUserId(userId);
         } catch (Exception e) {
-            // If user not found, return empty list for graceful handling
+            // Return empty list for graceful handling
             return List.of();
         }
     }
     
     // ===== EXISTING USER-AUTHENTICATED METHODS =====
     
-    public Schedule createSchedule(ScheduleRequest request, String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
-        
+    public Schedule createSchedule(ScheduleRequest request, String userId) {
         // Validate that teams are different
         if (request.getTeamA().equalsIgnoreCase(request.getTeamB())) {
             throw new BadRequestException("Team A and Team B cannot be the same");
@@ -89,7 +90,7 @@ public class ScheduleService {
         }
         
         Schedule schedule = new Schedule();
-        schedule.setUserId(user.getId());
+        schedule.setUserId(userId);
         schedule.setSportType(request.getSportType().toUpperCase());
         schedule.setMatchName(request.getMatchName());
         schedule.setTeamA(request.getTeamA());
@@ -97,47 +98,38 @@ public class ScheduleService {
         schedule.setMatchDate(request.getMatchDate());
         // Remove entryDate lines - only add if your Schedule model has this field
         
-        return scheduleRepository.save(schedule);
+        Schedule saved = scheduleRepository.save(schedule);
+        upcomingCalendar.scheduleSaved(saved);
+        dataVersionService.bump(userId);
+        return saved;
     }
     
-    public List<Schedule> getUserSchedulesList(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
-        
-        return scheduleRepository.findByUserId(user.getId());
+    public List<Schedule> getUserSchedulesList(String userId) {
+        return scheduleRepository.findByUserId(userId);
     }
     
-    public List<Schedule> getUserSchedulesBySport(String username, String sportType) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
-        
-        return scheduleRepository.findByUserIdAndSportType(user.getId(), sportType.toUpperCase());
+    public List<Schedule> getUserSchedulesBySport(String userId, String sportType) {
+        return scheduleRepository.findByUserIdAndSportType(userId, sportType.toUpperCase());
     }
     
-    public List<Schedule> getUpcomingSchedules(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
-        
-        return scheduleRepository.findUpcomingMatches(user.getId(), LocalDate.now());
+    public List<Schedule> getUpcomingSchedules(String userId) {
+        return upcomingCalendar.upcoming(userId);
     }
     
-    public Schedule getScheduleById(String scheduleId, String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
-        
+    public Schedule getScheduleById(String scheduleId, String userId) {
         Schedule schedule = scheduleRepository.findById(scheduleId)
                 .orElseThrow(() -> new ResourceNotFoundException("Schedule", "id", scheduleId));
         
         // Ensure the schedule belongs to the current user
-        if (!schedule.getUserId().equals(user.getId())) {
+        if (!schedule.getUserId().equals(userId)) {
             throw new BadRequestException("You don't have permission to access this schedule");
         }
         
         return schedule;
     }
     
-    public Schedule updateSchedule(String scheduleId, ScheduleRequest request, String username) {
-        Schedule schedule = getScheduleById(scheduleId, username);
+    public Schedule updateSchedule(String scheduleId, ScheduleRequest request, String userId) {
+        Schedule schedule = getScheduleById(scheduleId, userId);
         
         // Validate that teams are different
         if (request.getTeamA().equalsIgnoreCase(request.getTeamB())) {
@@ -151,52 +143,33 @@ public class ScheduleService {
         schedule.setTeamB(request.getTeamB());
         schedule.setMatchDate(request.getMatchDate());
         
-        return scheduleRepository.save(schedule);
+        Schedule saved = scheduleRepository.save(schedule);
+        upcomingCalendar.scheduleSaved(saved);
+        dataVersionService.bump(userId);
+        return saved;
     }
     
-    public void deleteSchedule(String scheduleId, String username) {
-        Schedule schedule = getScheduleById(scheduleId, username);
+    public void deleteSchedule(String scheduleId, String userId) {
+        Schedule schedule = getScheduleById(scheduleId, userId);
         scheduleRepository.delete(schedule);
+        upcomingCalendar.scheduleDeleted(schedule);
+        dataVersionService.bump(userId);
     }
     
-    public boolean scheduleExists(String matchName, String username, LocalDate matchDate) {
+    public boolean scheduleExists(String matchName, String userId, LocalDate matchDate) {
         try {
-            User user = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
-            
-            List<Schedule> userSchedules = scheduleRepository.findByUserId(user.getId());
-            
-            return userSchedules.stream()
-                    .anyMatch(schedule -> 
-                        schedule.getMatchName().equalsIgnoreCase(matchName) &&
-                        schedule.getMatchDate().equals(matchDate)
-                    );
+            return scheduleRepository.existsByUserIdAndMatchNameKeyAndMatchDate(
+                    userId, Schedule.matchNameKey(matchName), matchDate);
         } catch (Exception e) {
             return false;
         }
     }
     
-    public List<Schedule> getTodaySchedules(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
-        
-        LocalDate today = LocalDate.now();
-        return scheduleRepository.findByUserId(user.getId())
-                .stream()
-                .filter(schedule -> schedule.getMatchDate().equals(today))
-                .toList();
+    public List<Schedule> getTodaySchedules(String userId) {
+        return scheduleRepository.findByUserIdAndMatchDate(userId, LocalDate.now());
     }
     
-    public List<Schedule> getSchedulesByDateRange(String username, LocalDate startDate, LocalDate endDate) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
-        
-        return scheduleRepository.findByUserId(user.getId())
-                .stream()
-                .filter(schedule -> 
-                    !schedule.getMatchDate().isBefore(startDate) && 
-                    !schedule.getMatchDate().isAfter(endDate)
-                )
-                .toList();
+    public List<Schedule> getSchedulesByDateRange(String userId, LocalDate startDate, LocalDate endDate) {
+        return scheduleRepository.findByUserIdAndDateRange(userId, startDate, endDate);
     }
 }
@@ -1,30 +1,51 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.request.BulkSelectionRequest;
+import com.example.demo.dto.request.BulkUpdateRequest;
 import com.example.demo.dto.request.RecordRequest;
 import com.example.demo.dto.request.ScheduleRequest;
+import com.example.demo.dto.response.BulkWriteResponse;
+import com.example.demo.dto.response.DashboardStats;
+import com.example.demo.dto.response.KeysetPage;
 import com.example.demo.model.InvestmentRecord;
 import com.example.demo.model.Schedule;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface SportsService {
 
     // Schedule Operations
-    Schedule addSchedule(ScheduleRequest request, String username);
-    List<Schedule> getUserSchedules(String username);
-    List<Schedule> getUserSchedules(String username, String sportType, LocalDate start, LocalDate end);
-    Schedule updateSchedule(String id, ScheduleRequest request, String username);
-    void deleteSchedule(String id, String username);
-    Schedule getScheduleById(String id, String username);
+    Schedule addSchedule(ScheduleRequest request, String userId);
+    List<Schedule> getUserSchedules(String userId);
+    List<Schedule> getUserSchedules(String userId, String sportType, LocalDate start, LocalDate end);
+    KeysetPage<Schedule> getUserSchedulesPage(String userId, String sportType, LocalDate start, LocalDate end,
+                                              String cursor, Integer limit, FieldSelection fields);
+    Schedule updateSchedule(String id, ScheduleRequest request, String userId);
+    void deleteSchedule(String id, String userId);
+    Schedule getScheduleById(String id, String userId);
 
     // Investment Record Operations
-    InvestmentRecord addRecord(RecordRequest request, String username);
-    List<InvestmentRecord> getUserRecords(String username, String sportType, LocalDate start, LocalDate end);
-    InvestmentRecord updateRecord(String id, RecordRequest request, String username);
-    void deleteRecord(String id, String username);
-    InvestmentRecord getRecordById(String id, String username);
-    Double getTotalEstimatedProfit(String username);
-    Double getTotalInvestment(String username);
-    List<Schedule> getUpcomingSchedules(String username);
+    InvestmentRecord addRecord(RecordRequest request, String userId);
+    List<InvestmentRecord> getUserRecords(String userId, String sportType, LocalDate start, LocalDate end);
+    KeysetPage<InvestmentRecord> getUserRecordsPage(String userId, String sportType, LocalDate start, LocalDate end,
+                                                    String cursor, Integer limit, FieldSelection fields);
+    InvestmentRecord updateRecord(String id, RecordRequest request, String userId);
+    void deleteRecord(String id, String userId);
+    InvestmentRecord getRecordById(String id, String userId);
+    Double getTotalEstimatedProfit(String userId);
+    Double getTotalInvestment(String userId);
+    List<Schedule> getUpcomingSchedules(String userId);
+    DashboardStats getDashboardStats(String userId);
+
+    // Bulk Operations (one write per call; userId is part of every filter)
+    BulkWriteResponse updateSchedules(BulkUpdateRequest request, String userId);
+    BulkWriteResponse deleteSchedules(BulkSelectionRequest request, String userId);
+    BulkWriteResponse updateRecords(BulkUpdateRequest request, String userId);
+    BulkWriteResponse deleteRecords(BulkSelectionRequest request, String userId);
+
+    // Export Operations (cursor-backed, caller must close the stream)
+    Stream<InvestmentRecord> streamUserRecords(String userId, String sportType, LocalDate start, LocalDate end);
+    Stream<Schedule> streamUserSchedules(String userId, String sportType, LocalDate start, LocalDate end);
 }
@@ -0,0 +1,199 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Schedule;
+import com.example.demo.repository.ScheduleRepository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Per-user calendar of future schedules (matchDate after today), sorted by
+ * matchDate, so GET /schedules/upcoming is answered from memory.
+ *
+ * A user's calendar is loaded on first use and then kept in step by the schedule
+ * write paths, which replace it copy-on-write; readers never lock. A task at
+ * local midnight drops the matches that are no longer upcoming. Memory is bounded
+ * by the total number of cached schedules, idle users are evicted, and every
+ * calendar is reloaded after max-staleness so writes made through other
+ * instances show up eventually.
+ */
+@Component
+public class UpcomingScheduleCalendar {
+
+    private static final Logger log = LoggerFactory.getLogger(UpcomingScheduleCalendar.class);
+
+    private static final Comparator<Schedule> BY_MATCH_DATE = Comparator
+            .comparing(Schedule::getMatchDate)
+            .thenComparing(Schedule::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.schedules.upcoming.max-entries:100000}")
+    private long maxEntries;
+
+    @Value("${app.schedules.upcoming.idle-expiry:30m}")
+    private Duration idleExpiry;
+
+    @Value("${app.schedules.upcoming.max-staleness:5m}")
+    private Duration maxStaleness;
+
+    private Cache<String, UserCalendar> calendars;
+
+    @PostConstruct
+    public void init() {
+        long idleNanos = idleExpiry.toNanos();
+        long stalenessNanos = maxStaleness.toNanos();
+
+        calendars = Caffeine.newBuilder()
+                .maximumWeight(maxEntries)
+                .weigher((String userId, UserCalendar calendar) -> calendar.schedules.size() + 1)
+                .expireAfter(new Expiry<String, UserCalendar>() {
+                    @Override
+                    public long expireAfterCreate(String key, UserCalendar value, long currentTime) {
+                        return remaining(value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, UserCalendar value, long currentTime, long currentDuration) {
+                        return remaining(value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, UserCalendar value, long currentTime, long currentDuration) {
+                        return remaining(value, currentTime);
+                    }
+
+                    // Idle timeout, but never past the reload deadline set when the calendar was loaded
+                    private long remaining(UserCalendar value, long currentTime) {
+                        return Math.min(idleNanos, Math.max(0, value.loadedAtNanos + stalenessNanos - currentTime));
+                    }
+                })
+                .recordStats()
+                .build();
+
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, calendars, "schedules.upcoming");
+        }
+    }
+
+    /**
+     * Future schedules of the user, soonest first. The returned list is shared and unmodifiable.
+     */
+    public List<Schedule> upcoming(String userId) {
+        return calendars.get(userId, this::load).after(LocalDate.now());
+    }
+
+    /**
+     * Applies a created or updated schedule to its owner's calendar, if one is loaded.
+     */
+    public void scheduleSaved(Schedule schedule) {
+        if (schedule.getUserId() != null) {
+            calendars.asMap().computeIfPresent(schedule.getUserId(), (userId, calendar) -> calendar.with(schedule));
+        }
+    }
+
+    public void scheduleDeleted(Schedule schedule) {
+        if (schedule.getUserId() != null) {
+            calendars.asMap().computeIfPresent(schedule.getUserId(),
+                    (userId, calendar) -> calendar.without(schedule.getId()));
+        }
+    }
+
+    /**
+     * Drops a user's calendar, e.g. after writes that bypass the per-schedule hooks.
+     */
+    public void invalidate(String userId) {
+        calendars.invalidate(userId);
+    }
+
+    // Local midnight: yesterday's "tomorrow" matches are now today's and no longer upcoming
+    @Scheduled(cron = "${app.schedules.upcoming.roll-over-cron:0 0 0 * * *}")
+    public void rollOver() {
+        LocalDate today = LocalDate.now();
+        calendars.asMap().replaceAll((userId, calendar) -> calendar.trimmedTo(today));
+        log.debug("Rolled upcoming-schedule calendars over to {} for {} users", today, calendars.estimatedSize());
+    }
+
+    private UserCalendar load(String userId) {
+        LocalDate today = LocalDate.now();
+        List<Schedule> schedules = scheduleRepository.findByUserIdAndMatchDateAfterOrderByMatchDateAsc(userId, today);
+        return new UserCalendar(sorted(schedules), today, System.nanoTime());
+    }
+
+    private static List<Schedule> sorted(List<Schedule> schedules) {
+        List<Schedule> copy = new ArrayList<>(schedules);
+        copy.sort(BY_MATCH_DATE);
+        return List.copyOf(copy);
+    }
+
+    /**
+     * Immutable snapshot; every change produces a new instance with the same load time.
+     */
+    static final class UserCalendar {
+        final List<Schedule> schedules;  // matchDate after today, soonest first
+        final LocalDate today;
+        final long loadedAtNanos;
+
+        UserCalendar(List<Schedule> schedules, LocalDate today, long loadedAtNanos) {
+            this.schedules = schedules;
+            this.today = today;
+            this.loadedAtNanos = loadedAtNanos;
+        }
+
+        // Also correct between midnight and the roll-over task
+        List<Schedule> after(LocalDate date) {
+            if (!date.isAfter(today)) {
+                return schedules;
+            }
+            int from = 0;
+            while (from < schedules.size() && !schedules.get(from).getMatchDate().isAfter(date)) {
+                from++;
+            }
+            return schedules.subList(from, schedules.size());
+        }
+
+        UserCalendar with(Schedule schedule) {
+            List<Schedule> updated = new ArrayList<>(schedules.size() + 1);
+            for (Schedule existing : schedules) {
+                if (!Objects.equals(existing.getId(), schedule.getId())) {
+                    updated.add(existing);
+                }
+            }
+            if (schedule.getMatchDate() != null && schedule.getMatchDate().isAfter(today)) {
+                updated.add(schedule);
+            }
+            return new UserCalendar(sorted(updated), today, loadedAtNanos);
+        }
+
+        UserCalendar without(String scheduleId) {
+            List<Schedule> updated = new ArrayList<>(schedules);
+            updated.removeIf(existing -> Objects.equals(existing.getId(), scheduleId));
+            return new UserCalendar(List.copyOf(updated), today, loadedAtNanos);
+        }
+
+        UserCalendar trimmedTo(LocalDate date) {
+            return new UserCalendar(List.copyOf(after(date)), date.isAfter(today) ? date : today, loadedAtNanos);
+        }
+    }
+}
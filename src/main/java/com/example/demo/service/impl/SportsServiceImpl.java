@@ -1,27 +1,64 @@
 package com.example.demo.service.impl;
 
+import com.example.demo.config.MetricsConfig;
+import com.example.demo.dto.request.BulkSelectionRequest;
+import com.example.demo.dto.request.BulkUpdateRequest;
 import com.example.demo.dto.request.RecordRequest;
 import com.example.demo.dto.request.ScheduleRequest;
+import com.example.demo.dto.response.BulkWriteResponse;
+import com.example.demo.dto.response.DashboardStats;
+import com.example.demo.dto.response.KeysetPage;
+import com.example.demo.exception.BadRequestException;
 import com.example.demo.model.InvestmentRecord;
+import com.example.demo.model.RecordBucket;
 import com.example.demo.model.Schedule;
-import com.example.demo.model.User;
 import com.example.demo.repository.InvestmentRecordRepository;
 import com.example.demo.repository.ScheduleRepository;
-import com.example.demo.repository.UserRepository;
+import com.example.demo.service.AnalyticsAggregationEngine;
+import com.example.demo.service.AnalyticsRollupService;
+import com.example.demo.service.DataVersionService;
+import com.example.demo.service.FieldSelection;
+import com.example.demo.service.GroupCommitWriter;
+import com.example.demo.service.KeysetPager;
+import com.example.demo.service.RecordBucketStore;
+import com.example.demo.service.RecordImportService;
 import com.example.demo.service.SportsService;
+import com.example.demo.service.UpcomingScheduleCalendar;
 
+import io.micrometer.core.annotation.Timed;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @Transactional
 public class SportsServiceImpl implements SportsService {
 
+    private static final Logger log = LoggerFactory.getLogger(SportsServiceImpl.class);
+
     @Autowired
     private ScheduleRepository scheduleRepository;
 
@@ -29,82 +66,145 @@ public class SportsServiceImpl implements SportsService {
     private InvestmentRecordRepository investmentRecordRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private AnalyticsRollupService analyticsRollupService;
+
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private RecordBucketStore recordBuckets;
+
+    @Autowired
+    private UpcomingScheduleCalendar upcomingCalendar;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+    
+    @Autowired
+    private GroupCommitWriter groupCommitWriter;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Boot's pool, or virtual threads under the virtual-threads profile
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private AsyncTaskExecutor taskExecutor;
 
     // ================== HELPER METHODS ==================
 
-    private User findUserByUsername(String username) {
-        return userRepository.findByUsername(username)
-            .orElseThrow(() -> new RuntimeException("User not found: " + username));
+    private static Criteria userFilter(String userId, String sportType) {
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (sportType != null && !"ALL".equals(sportType)) {
+            criteria = criteria.and("sportType").is(sportType);
+        }
+        return criteria;
+    }
+
+    private InvestmentRecord rollupSnapshot(InvestmentRecord record) {
+        InvestmentRecord snapshot = new InvestmentRecord();
+        snapshot.setId(record.getId());  // locates the entry in its monthly bucket
+        snapshot.setUserId(record.getUserId());
+        snapshot.setSportType(record.getSportType());
+        snapshot.setEntryDate(record.getEntryDate());
+        snapshot.setAmountInvested(record.getAmountInvested());
+        snapshot.setEstimatedProfit(record.getEstimatedProfit());
+        return snapshot;
+    }
+
+    private Optional<InvestmentRecord> findRecord(String id, String userId) {
+        if (recordBuckets.isEnabled()) {
+            return recordBuckets.findById(id, userId);
+        }
+        return investmentRecordRepository.findByIdAndUserId(id, userId);
+    }
+
+    /**
+     * Same filter precedence as the investment_records queries: a full date range
+     * wins over the sport type.
+     */
+    private Stream<InvestmentRecord> streamBuckets(String userId, String sportType, LocalDate start, LocalDate end) {
+        if (start != null && end != null) {
+            return recordBuckets.stream(userId, null, start, end);
+        }
+        return recordBuckets.stream(userId, sportType, null, null);
     }
 
     // ================== SCHEDULE OPERATIONS ==================
 
     @Override
-    public Schedule addSchedule(ScheduleRequest request, String username) {
+    public Schedule addSchedule(ScheduleRequest request, String userId) {
         try {
-            User user = findUserByUsername(username);
             Schedule schedule = new Schedule();
             schedule.setSportType(request.getSportType());
             schedule.setMatchName(request.getMatchName());
             schedule.setTeamA(request.getTeamA());
             schedule.setTeamB(request.getTeamB());
             schedule.setMatchDate(request.getMatchDate());
-            schedule.setUserId(user.getId());
+            schedule.setUserId(userId);
             schedule.setCreatedDate(LocalDate.now());
             
-            Schedule savedSchedule = scheduleRepository.save(schedule);
-            System.out.println("✅ Schedule added: " + savedSchedule.getMatchName() + " (ID: " + savedSchedule.getId() + ")");
+            Schedule savedSchedule = groupCommitWriter.isEnabled()
+                ? groupCommitWriter.insertSchedule(schedule)
+                : scheduleRepository.save(schedule);
+            upcomingCalendar.scheduleSaved(savedSchedule);
+            dataVersionService.bump(userId);
+            log.info("Schedule added: {} (ID: {})", savedSchedule.getMatchName(), savedSchedule.getId());
             return savedSchedule;
         } catch (Exception e) {
-            System.err.println("❌ Failed to add schedule: " + e.getMessage());
+            log.error("Failed to add schedule", e);
             throw new RuntimeException("Failed to add schedule: " + e.getMessage(), e);
         }
     }
 
     @Override
-    public List<Schedule> getUserSchedules(String username) {
+    public List<Schedule> getUserSchedules(String userId) {
         try {
-            User user = findUserByUsername(username);
-            List<Schedule> schedules = scheduleRepository.findByUserIdOrderByMatchDateDesc(user.getId());
-            System.out.println("✅ Retrieved " + schedules.size() + " schedules for user: " + username);
+            List<Schedule> schedules = scheduleRepository.findByUserIdOrderByMatchDateDesc(userId);
+            log.debug("Retrieved {} schedules for user: {}", schedules.size(), userId);
             return schedules;
         } catch (Exception e) {
-            System.err.println("❌ Failed to get user schedules: " + e.getMessage());
+            log.error("Failed to get user schedules", e);
             throw new RuntimeException("Failed to get user schedules: " + e.getMessage(), e);
         }
     }
 
     @Override
-    public List<Schedule> getUserSchedules(String username, String sportType, LocalDate start, LocalDate end) {
+    public List<Schedule> getUserSchedules(String userId, String sportType, LocalDate start, LocalDate end) {
         try {
-            User user = findUserByUsername(username);
-            String userId = user.getId();
             List<Schedule> schedules;
             
             if (start != null && end != null) {
                 schedules = scheduleRepository.findByUserIdAndMatchDateBetween(userId, start, end);
-                System.out.println("✅ Retrieved " + schedules.size() + " schedules between " + start + " and " + end);
+                log.debug("Retrieved {} schedules between {} and {}", schedules.size(), start, end);
             } else if (sportType != null && !"ALL".equals(sportType)) {
                 schedules = scheduleRepository.findByUserIdAndSportType(userId, sportType);
-                System.out.println("✅ Retrieved " + schedules.size() + " " + sportType + " schedules");
+                log.debug("Retrieved {} {} schedules", schedules.size(), sportType);
             } else {
                 schedules = scheduleRepository.findByUserIdOrderByMatchDateDesc(userId);
-                System.out.println("✅ Retrieved " + schedules.size() + " total schedules");
+                log.debug("Retrieved {} total schedules", schedules.size());
             }
             
             return schedules;
         } catch (Exception e) {
-            System.err.println("❌ Failed to get filtered schedules: " + e.getMessage());
+            log.error("Failed to get filtered schedules", e);
             throw new RuntimeException("Failed to get filtered schedules: " + e.getMessage(), e);
         }
     }
 
     @Override
-    public Schedule updateSchedule(String id, ScheduleRequest request, String username) {
+    public KeysetPage<Schedule> getUserSchedulesPage(String userId, String sportType, LocalDate start, LocalDate end,
+                                                     String cursor, Integer limit, FieldSelection fields) {
+        KeysetPage<Schedule> page = keysetPager.page(Schedule.class, userFilter(userId, sportType), "matchDate",
+                start, end, Schedule::getMatchDate, Schedule::getId, cursor, limit, fields);
+        log.debug("Retrieved page of {} schedules for user: {}", page.getItems().size(), userId);
+        return page;
+    }
+
+    @Override
+    public Schedule updateSchedule(String id, ScheduleRequest request, String userId) {
         try {
-            User user = findUserByUsername(username);
-            Schedule schedule = scheduleRepository.findByIdAndUserId(id, user.getId())
+            Schedule schedule = scheduleRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new RuntimeException("Schedule not found or access denied"));
             
             // Store old values for logging
@@ -118,54 +218,54 @@ public class SportsServiceImpl implements SportsService {
             schedule.setMatchDate(request.getMatchDate());
             
             Schedule updatedSchedule = scheduleRepository.save(schedule);
-            System.out.println("✅ Schedule updated: '" + oldMatchName + "' -> '" + updatedSchedule.getMatchName() + "'");
+            upcomingCalendar.scheduleSaved(updatedSchedule);
+            dataVersionService.bump(userId);
+            log.info("Schedule updated: '{}' -> '{}'", oldMatchName, updatedSchedule.getMatchName());
             return updatedSchedule;
         } catch (Exception e) {
-            System.err.println("❌ Failed to update schedule: " + e.getMessage());
+            log.error("Failed to update schedule", e);
             throw new RuntimeException("Failed to update schedule: " + e.getMessage(), e);
         }
     }
 
     @Override
-    public void deleteSchedule(String id, String username) {
+    public void deleteSchedule(String id, String userId) {
         try {
-            User user = findUserByUsername(username);
-            Schedule schedule = scheduleRepository.findByIdAndUserId(id, user.getId())
+            Schedule schedule = scheduleRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new RuntimeException("Schedule not found or access denied"));
             
             String matchName = schedule.getMatchName();
             scheduleRepository.delete(schedule);
-            System.out.println("✅ Schedule deleted: " + matchName + " (ID: " + id + ")");
+            upcomingCalendar.scheduleDeleted(schedule);
+            dataVersionService.bump(userId);
+            log.info("Schedule deleted: {} (ID: {})", matchName, id);
         } catch (Exception e) {
-            System.err.println("❌ Failed to delete schedule: " + e.getMessage());
+            log.error("Failed to delete schedule", e);
             throw new RuntimeException("Failed to delete schedule: " + e.getMessage(), e);
         }
     }
 
     @Override
-    public Schedule getScheduleById(String id, String username) {
+    public Schedule getScheduleById(String id, String userId) {
         try {
-            User user = findUserByUsername(username);
-            Schedule schedule = scheduleRepository.findByIdAndUserId(id, user.getId())
+            Schedule schedule = scheduleRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new RuntimeException("Schedule not found or access denied"));
-            System.out.println("✅ Retrieved schedule: " + schedule.getMatchName());
+            log.debug("Retrieved schedule: {}", schedule.getMatchName());
             return schedule;
         } catch (Exception e) {
-            System.err.println("❌ Failed to get schedule: " + e.getMessage());
+            log.error("Failed to get schedule", e);
             throw new RuntimeException("Failed to get schedule: " + e.getMessage(), e);
         }
     }
 
     @Override
-    public List<Schedule> getUpcomingSchedules(String username) {
+    public List<Schedule> getUpcomingSchedules(String userId) {
         try {
-            User user = findUserByUsername(username);
-            LocalDate today = LocalDate.now();
-            List<Schedule> upcomingSchedules = scheduleRepository.findByUserIdAndMatchDateAfterOrderByMatchDateAsc(user.getId(), today);
-            System.out.println("✅ Retrieved " + upcomingSchedules.size() + " upcoming schedules");
+            List<Schedule> upcomingSchedules = upcomingCalendar.upcoming(userId);
+            log.debug("Retrieved {} upcoming schedules", upcomingSchedules.size());
             return upcomingSchedules;
         } catch (Exception e) {
-            System.err.println("❌ Failed to get upcoming schedules: " + e.getMessage());
+            log.error("Failed to get upcoming schedules", e);
             throw new RuntimeException("Failed to get upcoming schedules: " + e.getMessage(), e);
         }
     }
@@ -173,72 +273,81 @@ public class SportsServiceImpl implements SportsService {
     // ================== INVESTMENT RECORD OPERATIONS ==================
 
     @Override
-    public InvestmentRecord addRecord(RecordRequest request, String username) {
+    public InvestmentRecord addRecord(RecordRequest request, String userId) {
         try {
-            User user = findUserByUsername(username);
-            InvestmentRecord record = new InvestmentRecord();
-            record.setSportType(request.getSportType());
-            record.setMatchName(request.getMatchName());
-            record.setTeamA(request.getTeamA());
-            record.setTeamB(request.getTeamB());
-            record.setWinnerOrDraw(request.getWinnerOrDraw());
-            record.setAmountInvested(request.getAmountInvested());
-            record.setRatio(request.getRatio());
-            record.setEntryDate(request.getEntryDate());
-            record.setUserId(user.getId());
-            record.setCreatedDate(LocalDateTime.now());
+            InvestmentRecord record = RecordImportService.newRecord(request, userId, LocalDateTime.now());
             
-            // Calculate estimated profit
-            if (request.getAmountInvested() != null && request.getRatio() != null) {
-                record.setEstimatedProfit(request.getAmountInvested() * request.getRatio());
+            InvestmentRecord savedRecord;
+            if (groupCommitWriter.isEnabled()) {
+                // Committed with concurrent creates; rollups or bucket totals follow per batch
+                savedRecord = groupCommitWriter.insertRecord(record);
+            } else if (recordBuckets.isEnabled()) {
+                // Buckets carry their own totals; rollups only follow investment_records
+                savedRecord = recordBuckets.insert(record);
+            } else {
+                savedRecord = investmentRecordRepository.save(record);
+                analyticsRollupService.recordAdded(savedRecord);
             }
-            
-            InvestmentRecord savedRecord = investmentRecordRepository.save(record);
-            System.out.println("✅ Investment record added: " + savedRecord.getMatchName() + 
-                " (₹" + savedRecord.getAmountInvested() + " @ " + savedRecord.getRatio() + "x)");
+            dataVersionService.bump(userId);
+            log.info("Investment record added: {} ({} @ {}x)",
+                savedRecord.getMatchName(), savedRecord.getAmountInvested(), savedRecord.getRatio());
             return savedRecord;
         } catch (Exception e) {
-            System.err.println("❌ Failed to add investment record: " + e.getMessage());
+            log.error("Failed to add investment record", e);
             throw new RuntimeException("Failed to add investment record: " + e.getMessage(), e);
         }
     }
 
     @Override
-    public List<InvestmentRecord> getUserRecords(String username, String sportType, LocalDate start, LocalDate end) {
+    public List<InvestmentRecord> getUserRecords(String userId, String sportType, LocalDate start, LocalDate end) {
         try {
-            User user = findUserByUsername(username);
-            String userId = user.getId();
             List<InvestmentRecord> records;
             
-            if (start != null && end != null) {
+            if (recordBuckets.isEnabled()) {
+                try (Stream<InvestmentRecord> stream = streamBuckets(userId, sportType, start, end)) {
+                    records = stream.toList();
+                }
+                log.debug("Retrieved {} investment records from monthly buckets", records.size());
+            } else if (start != null && end != null) {
                 records = investmentRecordRepository.findByUserIdAndEntryDateBetween(userId, start, end);
-                System.out.println("✅ Retrieved " + records.size() + " investment records between " + start + " and " + end);
+                log.debug("Retrieved {} investment records between {} and {}", records.size(), start, end);
             } else if (sportType != null && !"ALL".equals(sportType)) {
                 records = investmentRecordRepository.findByUserIdAndSportType(userId, sportType);
-                System.out.println("✅ Retrieved " + records.size() + " " + sportType + " investment records");
+                log.debug("Retrieved {} {} investment records", records.size(), sportType);
             } else {
                 records = investmentRecordRepository.findByUserIdOrderByEntryDateDesc(userId);
-                System.out.println("✅ Retrieved " + records.size() + " total investment records");
+                log.debug("Retrieved {} total investment records", records.size());
             }
             
             return records;
         } catch (Exception e) {
-            System.err.println("❌ Failed to get user records: " + e.getMessage());
+            log.error("Failed to get user records", e);
             throw new RuntimeException("Failed to get user records: " + e.getMessage(), e);
         }
     }
 
     @Override
-    public InvestmentRecord updateRecord(String id, RecordRequest request, String username) {
+    public KeysetPage<InvestmentRecord> getUserRecordsPage(String userId, String sportType, LocalDate start, LocalDate end,
+                                                           String cursor, Integer limit, FieldSelection fields) {
+        // Bucket entries are already compact, so the field selection only applies to investment_records
+        KeysetPage<InvestmentRecord> page = recordBuckets.isEnabled()
+                ? recordBuckets.page(userId, sportType, start, end, cursor, keysetPager.pageSize(limit))
+                : keysetPager.page(InvestmentRecord.class, userFilter(userId, sportType), "entryDate",
+                        start, end, InvestmentRecord::getEntryDate, InvestmentRecord::getId, cursor, limit, fields);
+        log.debug("Retrieved page of {} investment records for user: {}", page.getItems().size(), userId);
+        return page;
+    }
+
+    @Override
+    public InvestmentRecord updateRecord(String id, RecordRequest request, String userId) {
         try {
-            User user = findUserByUsername(username);
-            String userId = user.getId();
-            InvestmentRecord record = investmentRecordRepository.findByIdAndUserId(id, userId)
+            InvestmentRecord record = findRecord(id, userId)
                 .orElseThrow(() -> new RuntimeException("Investment record not found or access denied"));
             
-            // Store old values for logging
+            // Store old values for logging and the rollup delta
             String oldMatchName = record.getMatchName();
             Double oldAmount = record.getAmountInvested();
+            InvestmentRecord previous = rollupSnapshot(record);
             
             // Update fields
             record.setSportType(request.getSportType());
@@ -255,94 +364,387 @@ public class SportsServiceImpl implements SportsService {
                 record.setEstimatedProfit(request.getAmountInvested() * request.getRatio());
             }
             
-            InvestmentRecord updatedRecord = investmentRecordRepository.save(record);
-            System.out.println("✅ Investment record updated: '" + oldMatchName + "' (₹" + oldAmount + 
-                ") -> '" + updatedRecord.getMatchName() + "' (₹" + updatedRecord.getAmountInvested() + ")");
+            InvestmentRecord updatedRecord;
+            if (recordBuckets.isEnabled()) {
+                updatedRecord = recordBuckets.update(previous, record);
+            } else {
+                updatedRecord = investmentRecordRepository.save(record);
+                analyticsRollupService.recordRemoved(previous);
+                analyticsRollupService.recordAdded(updatedRecord);
+            }
+            dataVersionService.bump(userId);
+            log.info("Investment record updated: '{}' ({}) -> '{}' ({})",
+                oldMatchName, oldAmount, updatedRecord.getMatchName(), updatedRecord.getAmountInvested());
             return updatedRecord;
         } catch (Exception e) {
-            System.err.println("❌ Failed to update investment record: " + e.getMessage());
+            log.error("Failed to update investment record", e);
             throw new RuntimeException("Failed to update investment record: " + e.getMessage(), e);
         }
     }
 
     @Override
-    public void deleteRecord(String id, String username) {
+    public void deleteRecord(String id, String userId) {
         try {
-            User user = findUserByUsername(username);
-            String userId = user.getId();
-            InvestmentRecord record = investmentRecordRepository.findByIdAndUserId(id, userId)
+            InvestmentRecord record = findRecord(id, userId)
                 .orElseThrow(() -> new RuntimeException("Investment record not found or access denied"));
             
             String matchName = record.getMatchName();
             Double amount = record.getAmountInvested();
-            investmentRecordRepository.delete(record);
-            System.out.println("✅ Investment record deleted: " + matchName + " (₹" + amount + ")");
+            if (recordBuckets.isEnabled()) {
+                recordBuckets.remove(record);
+            } else {
+                investmentRecordRepository.delete(record);
+                analyticsRollupService.recordRemoved(record);
+            }
+            dataVersionService.bump(userId);
+            log.info("Investment record deleted: {} ({})", matchName, amount);
         } catch (Exception e) {
-            System.err.println("❌ Failed to delete investment record: " + e.getMessage());
+            log.error("Failed to delete investment record", e);
             throw new RuntimeException("Failed to delete investment record: " + e.getMessage(), e);
         }
     }
 
     @Override
-    public InvestmentRecord getRecordById(String id, String username) {
+    public InvestmentRecord getRecordById(String id, String userId) {
         try {
-            User user = findUserByUsername(username);
-            String userId = user.getId();
-            InvestmentRecord record = investmentRecordRepository.findByIdAndUserId(id, userId)
+            InvestmentRecord record = findRecord(id, userId)
                 .orElseThrow(() -> new RuntimeException("Investment record not found or access denied"));
-            System.out.println("✅ Retrieved investment record: " + record.getMatchName());
+            log.debug("Retrieved investment record: {}", record.getMatchName());
             return record;
         } catch (Exception e) {
-            System.err.println("❌ Failed to get investment record: " + e.getMessage());
+            log.error("Failed to get investment record", e);
             throw new RuntimeException("Failed to get investment record: " + e.getMessage(), e);
         }
     }
 
+    // ================== BULK OPERATIONS ==================
+
+    @Override
+    public BulkWriteResponse updateSchedules(BulkUpdateRequest request, String userId) {
+        BulkUpdateRequest.Changes set = requireChanges(request);
+        if (set.getWinnerOrDraw() != null || set.getSportType() == null) {
+            throw new BadRequestException("Schedules can only be re-tagged with a new sportType");
+        }
+        try {
+            UpdateResult result = mongoTemplate.updateMulti(Query.query(bulkFilter(userId, request, "matchDate")),
+                Update.update("sportType", set.getSportType()), Schedule.class);
+            if (result.getModifiedCount() > 0) {
+                upcomingCalendar.invalidate(userId);
+                dataVersionService.bump(userId);
+            }
+            log.info("Bulk updated {} of {} schedules", result.getModifiedCount(), result.getMatchedCount());
+            return BulkWriteResponse.updated(result.getMatchedCount(), result.getModifiedCount());
+        } catch (Exception e) {
+            log.error("Failed to bulk update schedules", e);
+            throw new RuntimeException("Failed to bulk update schedules: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public BulkWriteResponse deleteSchedules(BulkSelectionRequest request, String userId) {
+        requireSelection(request);
+        try {
+            long deleted = mongoTemplate.remove(Query.query(bulkFilter(userId, request, "matchDate")), Schedule.class)
+                .getDeletedCount();
+            if (deleted > 0) {
+                upcomingCalendar.invalidate(userId);
+                dataVersionService.bump(userId);
+            }
+            log.info("Bulk deleted {} schedules", deleted);
+            return BulkWriteResponse.deleted(deleted);
+        } catch (Exception e) {
+            log.error("Failed to bulk delete schedules", e);
+            throw new RuntimeException("Failed to bulk delete schedules: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public BulkWriteResponse updateRecords(BulkUpdateRequest request, String userId) {
+        BulkUpdateRequest.Changes set = requireChanges(request);
+        try {
+            BulkWriteResponse result;
+            if (recordBuckets.isEnabled()) {
+                result = recordBuckets.rewrite(userId, request.getIds(), request.getSportType(),
+                    request.getStartDate(), request.getEndDate(), record -> applyChanges(set, record));
+            } else if (set.getSportType() != null) {
+                result = updateRecordsAcrossSports(request, set, userId);
+            } else {
+                UpdateResult updated = mongoTemplate.updateMulti(Query.query(bulkFilter(userId, request, "entryDate")),
+                    Update.update("winnerOrDraw", set.getWinnerOrDraw()), InvestmentRecord.class);
+                result = BulkWriteResponse.updated(updated.getMatchedCount(), updated.getModifiedCount());
+            }
+            if (result.getModified() > 0) {
+                dataVersionService.bump(userId);
+            }
+            log.info("Bulk updated {} of {} investment records", result.getModified(), result.getMatched());
+            return result;
+        } catch (Exception e) {
+            log.error("Failed to bulk update investment records", e);
+            throw new RuntimeException("Failed to bulk update investment records: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public BulkWriteResponse deleteRecords(BulkSelectionRequest request, String userId) {
+        requireSelection(request);
+        try {
+            BulkWriteResponse result;
+            if (recordBuckets.isEnabled()) {
+                result = recordBuckets.rewrite(userId, request.getIds(), request.getSportType(),
+                    request.getStartDate(), request.getEndDate(), null);
+            } else {
+                // The rollup deltas need the amounts, which deleteMany does not return:
+                // one projected read, the deleteMany by id, then one bulk write of deltas
+                List<InvestmentRecord> selected = findRollupFields(bulkFilter(userId, request, "entryDate"));
+                long deleted = 0;
+                if (!selected.isEmpty()) {
+                    deleted = mongoTemplate.remove(Query.query(Criteria.where("userId").is(userId)
+                        .and("_id").in(idsOf(selected))), InvestmentRecord.class).getDeletedCount();
+                    if (deleted == selected.size()) {
+                        analyticsRollupService.recordsRemoved(selected);
+                    } else {
+                        // Some went to a concurrent delete, which took them off itself; which ones is unknown
+                        analyticsRollupService.requestRepair(userId);
+                    }
+                }
+                result = BulkWriteResponse.deleted(deleted);
+            }
+            if (result.getDeleted() > 0) {
+                dataVersionService.bump(userId);
+            }
+            log.info("Bulk deleted {} investment records", result.getDeleted());
+            return result;
+        } catch (Exception e) {
+            log.error("Failed to bulk delete investment records", e);
+            throw new RuntimeException("Failed to bulk delete investment records: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Rollups are kept per sport, so records changing sport move between rollup buckets:
+     * the selection is read (rollup fields only) and updated by id and the sport it was
+     * read with, then the moved records are taken off their old buckets and added to
+     * the new ones. If a record was deleted or changed sport in between, the deltas
+     * are skipped and the user's rollups are queued for repair instead.
+     */
+    private BulkWriteResponse updateRecordsAcrossSports(BulkUpdateRequest request, BulkUpdateRequest.Changes set,
+                                                        String userId) {
+        List<InvestmentRecord> selected = findRollupFields(bulkFilter(userId, request, "entryDate"));
+        if (selected.isEmpty()) {
+            return BulkWriteResponse.updated(0, 0);
+        }
+
+        Update update = Update.update("sportType", set.getSportType());
+        if (set.getWinnerOrDraw() != null) {
+            update.set("winnerOrDraw", set.getWinnerOrDraw());
+        }
+        Criteria[] asRead = selected.stream()
+            .collect(Collectors.groupingBy(record -> Objects.toString(record.getSportType(), ""), Collectors.toList()))
+            .values().stream()
+            .map(records -> Criteria.where("sportType").is(records.get(0).getSportType()).and("_id").in(idsOf(records)))
+            .toArray(Criteria[]::new);
+        UpdateResult updated = mongoTemplate.updateMulti(Query.query(Criteria.where("userId").is(userId)
+            .orOperator(asRead)), update, InvestmentRecord.class);
+        if (updated.getMatchedCount() != selected.size()) {
+            analyticsRollupService.requestRepair(userId);
+            return BulkWriteResponse.updated(updated.getMatchedCount(), updated.getModifiedCount());
+        }
+
+        List<InvestmentRecord> moved = selected.stream()
+            .filter(record -> !set.getSportType().equals(record.getSportType()))
+            .collect(Collectors.toList());
+        List<InvestmentRecord> arrived = new ArrayList<>(moved.size());
+        for (InvestmentRecord record : moved) {
+            InvestmentRecord copy = rollupSnapshot(record);
+            copy.setSportType(set.getSportType());
+            arrived.add(copy);
+        }
+        analyticsRollupService.recordsRemoved(moved);
+        analyticsRollupService.recordsAdded(arrived);
+        return BulkWriteResponse.updated(updated.getMatchedCount(), updated.getModifiedCount());
+    }
+
+    /**
+     * The selected entries of the user; ids that belong to someone else simply do not match.
+     */
+    private static Criteria bulkFilter(String userId, BulkSelectionRequest selection, String dateField) {
+        Criteria criteria = userFilter(userId, selection.getSportType());
+        if (selection.getIds() != null && !selection.getIds().isEmpty()) {
+            criteria = criteria.and("_id").in(selection.getIds());
+        }
+        if (selection.getStartDate() != null || selection.getEndDate() != null) {
+            Criteria dates = criteria.and(dateField);
+            if (selection.getStartDate() != null) {
+                dates.gte(selection.getStartDate());
+            }
+            if (selection.getEndDate() != null) {
+                dates.lte(selection.getEndDate());
+            }
+        }
+        return criteria;
+    }
+
+    private List<InvestmentRecord> findRollupFields(Criteria criteria) {
+        Query query = Query.query(criteria);
+        query.fields().include("userId", "sportType", "entryDate", "amountInvested", "estimatedProfit");
+        return mongoTemplate.find(query, InvestmentRecord.class);
+    }
+
+    private static List<String> idsOf(List<InvestmentRecord> records) {
+        return records.stream().map(InvestmentRecord::getId).collect(Collectors.toList());
+    }
+
+    // Without a criterion the write would cover everything the user owns
+    private static void requireSelection(BulkSelectionRequest selection) {
+        if (selection.isEmpty()) {
+            throw new BadRequestException("Select entries by ids, sportType or date range");
+        }
+    }
+
+    private static BulkUpdateRequest.Changes requireChanges(BulkUpdateRequest request) {
+        requireSelection(request);
+        if (request.getSet() == null || request.getSet().isEmpty()) {
+            throw new BadRequestException("Nothing to update");
+        }
+        return request.getSet();
+    }
+
+    private static boolean applyChanges(BulkUpdateRequest.Changes set, InvestmentRecord record) {
+        boolean changed = false;
+        if (set.getSportType() != null && !set.getSportType().equals(record.getSportType())) {
+            record.setSportType(set.getSportType());
+            changed = true;
+        }
+        if (set.getWinnerOrDraw() != null && !set.getWinnerOrDraw().equals(record.getWinnerOrDraw())) {
+            record.setWinnerOrDraw(set.getWinnerOrDraw());
+            changed = true;
+        }
+        return changed;
+    }
+
     // ================== ANALYTICS OPERATIONS ==================
 
     @Override
-    public Double getTotalInvestment(String username) {
+    public Double getTotalInvestment(String userId) {
         try {
-            User user = findUserByUsername(username);
-            String userId = user.getId();
-            Double totalInvestment = investmentRecordRepository.findByUserIdOrderByEntryDateDesc(userId).stream()
-                .mapToDouble(record -> record.getAmountInvested() != null ? record.getAmountInvested() : 0.0)
-                .sum();
-            System.out.println("✅ Total investment calculated for " + username + ": ₹" + totalInvestment);
+            Double totalInvestment = recordBuckets.isEnabled()
+                ? recordBuckets.findTotals(userId).stream().mapToDouble(RecordBucket::getTotalInvestment).sum()
+                : investmentRecordRepository.findAmountsByUserId(userId).stream()
+                    .mapToDouble(record -> record.getAmountInvested() != null ? record.getAmountInvested() : 0.0)
+                    .sum();
+            log.debug("Total investment calculated for {}: {}", userId, totalInvestment);
             return totalInvestment;
         } catch (Exception e) {
-            System.err.println("❌ Failed to calculate total investment: " + e.getMessage());
+            log.error("Failed to calculate total investment", e);
             throw new RuntimeException("Failed to calculate total investment: " + e.getMessage(), e);
         }
     }
 
     @Override
-    public Double getTotalEstimatedProfit(String username) {
+    public Double getTotalEstimatedProfit(String userId) {
         try {
-            User user = findUserByUsername(username);
-            String userId = user.getId();
-            Double totalProfit = investmentRecordRepository.findByUserIdOrderByEntryDateDesc(userId).stream()
-                .mapToDouble(record -> record.getEstimatedProfit() != null ? record.getEstimatedProfit() : 0.0)
-                .sum();
-            System.out.println("✅ Total estimated profit calculated for " + username + ": ₹" + totalProfit);
+            Double totalProfit = recordBuckets.isEnabled()
+                ? recordBuckets.findTotals(userId).stream().mapToDouble(RecordBucket::getProfitSum).sum()
+                : investmentRecordRepository.findAmountsByUserId(userId).stream()
+                    .mapToDouble(record -> record.getEstimatedProfit() != null ? record.getEstimatedProfit() : 0.0)
+                    .sum();
+            log.debug("Total estimated profit calculated for {}: {}", userId, totalProfit);
             return totalProfit;
         } catch (Exception e) {
-            System.err.println("❌ Failed to calculate total estimated profit: " + e.getMessage());
+            log.error("Failed to calculate total estimated profit", e);
             throw new RuntimeException("Failed to calculate total estimated profit: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * One aggregated read for the record totals, counts and wins, with the schedule
+     * count running alongside it instead of loading both collections.
+     */
+    @Override
+    public DashboardStats getDashboardStats(String userId) {
+        try {
+            CompletableFuture<Long> scheduleCount =
+                CompletableFuture.supplyAsync(() -> scheduleRepository.countByUserId(userId), taskExecutor);
+            DashboardStats stats;
+            if (recordBuckets.isEnabled()) {
+                stats = bucketDashboardStats(recordBuckets.findTotals(userId), scheduleCount.join());
+            } else {
+                Document totals = mongoTemplate.aggregate(AnalyticsAggregationEngine.dashboardPipeline(userId),
+                    InvestmentRecord.class, Document.class).getUniqueMappedResult();
+                stats = AnalyticsAggregationEngine.toDashboardStats(totals, scheduleCount.join());
+            }
+            log.debug("Dashboard calculated for {}: {} records, {} schedules",
+                userId, stats.getTotalRecords(), stats.getTotalSchedules());
+            return stats;
+        } catch (CompletionException e) {
+            log.error("Failed to calculate dashboard stats", e.getCause());
+            throw new RuntimeException("Failed to calculate dashboard stats: " + e.getCause().getMessage(), e.getCause());
+        } catch (Exception e) {
+            log.error("Failed to calculate dashboard stats", e);
+            throw new RuntimeException("Failed to calculate dashboard stats: " + e.getMessage(), e);
+        }
+    }
+
+    // The pre-summed bucket totals answer the dashboard without reading any entries
+    private static DashboardStats bucketDashboardStats(List<RecordBucket> buckets, long scheduleCount) {
+        double totalInvestment = 0;
+        double totalProfit = 0;
+        long totalRecords = 0;
+        long winningRecords = 0;
+        for (RecordBucket bucket : buckets) {
+            totalInvestment += bucket.getTotalInvestment();
+            totalProfit += bucket.getProfitSum();
+            totalRecords += bucket.getCount();
+            winningRecords += bucket.getStakeBeaten();
+        }
+        return new DashboardStats(totalInvestment, totalProfit, totalRecords, winningRecords, scheduleCount);
+    }
+
+    // ================== EXPORT OPERATIONS ==================
+
+    @Override
+    public Stream<InvestmentRecord> streamUserRecords(String userId, String sportType, LocalDate start, LocalDate end) {
+        try {
+            if (recordBuckets.isEnabled()) {
+                return streamBuckets(userId, sportType, start, end);
+            }
+            if (start != null && end != null) {
+                return investmentRecordRepository.streamByUserIdAndEntryDateBetween(userId, start, end);
+            } else if (sportType != null && !"ALL".equals(sportType)) {
+                return investmentRecordRepository.streamByUserIdAndSportType(userId, sportType);
+            }
+            return investmentRecordRepository.streamByUserIdOrderByEntryDateDesc(userId);
+        } catch (Exception e) {
+            log.error("Failed to stream user records", e);
+            throw new RuntimeException("Failed to stream user records: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Stream<Schedule> streamUserSchedules(String userId, String sportType, LocalDate start, LocalDate end) {
+        try {
+            if (start != null && end != null) {
+                return scheduleRepository.streamByUserIdAndMatchDateBetween(userId, start, end);
+            } else if (sportType != null && !"ALL".equals(sportType)) {
+                return scheduleRepository.streamByUserIdAndSportType(userId, sportType);
+            }
+            return scheduleRepository.streamByUserIdOrderByMatchDateDesc(userId);
+        } catch (Exception e) {
+            log.error("Failed to stream user schedules", e);
+            throw new RuntimeException("Failed to stream user schedules: " + e.getMessage(), e);
+        }
+    }
+
     // ================== UTILITY METHODS ==================
 
     /**
      * Get count of schedules for a user
      */
-    public Long getScheduleCount(String username) {
+    public Long getScheduleCount(String userId) {
         try {
-            User user = findUserByUsername(username);
-            return scheduleRepository.countByUserId(user.getId());
+            return scheduleRepository.countByUserId(userId);
         } catch (Exception e) {
-            System.err.println("❌ Failed to get schedule count: " + e.getMessage());
+            log.error("Failed to get schedule count", e);
             throw new RuntimeException("Failed to get schedule count: " + e.getMessage(), e);
         }
     }
@@ -350,12 +752,14 @@ public class SportsServiceImpl implements SportsService {
     /**
      * Get count of investment records for a user
      */
-    public Long getRecordCount(String username) {
+    public Long getRecordCount(String userId) {
         try {
-            User user = findUserByUsername(username);
-            return investmentRecordRepository.countByUserId(user.getId());
+            if (recordBuckets.isEnabled()) {
+                return recordBuckets.findTotals(userId).stream().mapToLong(RecordBucket::getCount).sum();
+            }
+            return investmentRecordRepository.countByUserId(userId);
         } catch (Exception e) {
-            System.err.println("❌ Failed to get record count: " + e.getMessage());
+            log.error("Failed to get record count", e);
             throw new RuntimeException("Failed to get record count: " + e.getMessage(), e);
         }
     }
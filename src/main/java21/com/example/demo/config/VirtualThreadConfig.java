@@ -0,0 +1,64 @@
+package com.example.demo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Virtual-thread request execution (Java 21 build profile, "virtual-threads"
+ * Spring profile). Tomcat hands each request to a new virtual thread instead of
+ * its 200-thread pool, and the application task executor used for internal
+ * fan-out does the same, so a request waiting on MongoDB no longer holds a
+ * platform thread.
+ *
+ * Pinning audit (a virtual thread blocking while it holds a monitor keeps its
+ * carrier thread):
+ * - filter chain: JwtAuthenticationFilter and JwtTokenProvider take no locks;
+ *   the verified-token cache is read and written outside any compute lock.
+ * - logging: request threads only enqueue into the non-blocking AsyncAppender;
+ *   the System.out PrintStream lock is taken by the logback worker alone.
+ * - MongoDB driver 4.9: connection checkout and the pool wait queue use
+ *   ReentrantLock/Condition, and socket reads hold no monitor, so waiting for a
+ *   connection unmounts. The pool (app.mongo.pool.*) becomes the effective
+ *   concurrency limit, hence the short max wait in this profile.
+ * Run with -Djdk.tracePinnedThreads=short (or record jdk.VirtualThreadPinned
+ * with JFR) to catch pinning introduced later.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    @ConditionalOnWebApplication(type = Type.SERVLET)
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            protocolHandler.setExecutor(virtualThreadExecutor("http-vt-"));
+            log.info("Tomcat requests run on virtual threads");
+        };
+    }
+
+    // Replaces Boot's pooled applicationTaskExecutor (@Async and other internal fan-out)
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(virtualThreadExecutor("task-vt-"));
+    }
+
+    private static ExecutorService virtualThreadExecutor(String namePrefix) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix, 0).factory());
+    }
+}
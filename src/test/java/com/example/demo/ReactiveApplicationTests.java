@@ -0,0 +1,28 @@
+package com.example.demo;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(properties = "app.mongo.indexes.ensure-on-startup=false")
+@ActiveProfiles("reactive")
+@AutoConfigureWebTestClient
+class ReactiveApplicationTests {
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@Test
+	void servesPublicEndpointsAndRejectsAnonymousCallers() {
+		webTestClient.get().uri("/api/sports/health").exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.status").isEqualTo("UP");
+
+		webTestClient.get().uri("/api/analytics/dashboard").exchange()
+				.expectStatus().isUnauthorized();
+	}
+
+}
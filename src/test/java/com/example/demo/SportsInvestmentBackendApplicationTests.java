@@ -3,7 +3,7 @@ package com.example.demo;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "app.mongo.indexes.ensure-on-startup=false")
 class SportsInvestmentBackendApplicationTests {
 
 	@Test
@@ -0,0 +1,52 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.dto.response.AnalyticsResponse;
+import com.example.demo.model.InvestmentRecord;
+import com.example.demo.service.AnalyticsAccumulator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-pass AnalyticsAccumulator versus the original multi-pass stream pipeline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class AnalyticsBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int records;
+
+    private List<InvestmentRecord> data;
+
+    @Setup
+    public void setUp() {
+        data = BenchmarkData.records(records);
+    }
+
+    @Benchmark
+    public AnalyticsResponse legacyMultiPass() {
+        return LegacyAnalytics.calculateAnalytics(data);
+    }
+
+    @Benchmark
+    public AnalyticsResponse singlePassAccumulator() {
+        return AnalyticsAccumulator.calculate(data);
+    }
+}
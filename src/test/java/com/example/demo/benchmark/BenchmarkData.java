@@ -0,0 +1,70 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.model.InvestmentRecord;
+import com.example.demo.model.Schedule;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic datasets shared by the benchmarks and tests.
+ */
+public final class BenchmarkData {
+
+    private static final String[] SPORTS = {"CRICKET", "KABADDI", "FOOTBALL", "TENNIS"};
+    private static final String[] RESULTS = {"TEAM_A", "TEAM_B", "DRAW"};
+
+    private BenchmarkData() {}
+
+    public static List<InvestmentRecord> records(int count) {
+        Random random = new Random(42);
+        LocalDate firstDay = LocalDate.of(2022, 1, 1);
+        LocalDateTime firstCreated = firstDay.atStartOfDay();
+        List<InvestmentRecord> records = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            InvestmentRecord record = new InvestmentRecord();
+            record.setId(Integer.toHexString(i));
+            record.setUserId("user-1");
+            record.setSportType(SPORTS[random.nextInt(SPORTS.length)]);
+            record.setMatchName(i % 7 == 0 ? "Final, \"Day " + i + "\"" : "Match " + i);
+            record.setTeamA("Team " + random.nextInt(20));
+            record.setTeamB("Team " + (20 + random.nextInt(20)));
+            record.setWinnerOrDraw(RESULTS[random.nextInt(RESULTS.length)]);
+
+            double amount = 100 + random.nextInt(9_900);
+            double ratio = Math.round((random.nextDouble() * 4 - 1.5) * 100) / 100.0;
+            record.setAmountInvested(amount);
+            record.setRatio(ratio);
+            record.setEstimatedProfit(amount * ratio);
+
+            record.setEntryDate(firstDay.plusDays(random.nextInt(3 * 365)));
+            record.setCreatedDate(firstCreated.plusMinutes(random.nextInt(3 * 365 * 24 * 60)));
+            records.add(record);
+        }
+        return records;
+    }
+
+    public static List<Schedule> schedules(int count) {
+        Random random = new Random(7);
+        LocalDate firstDay = LocalDate.now().minusYears(1);
+        List<Schedule> schedules = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            Schedule schedule = new Schedule();
+            schedule.setId(Integer.toHexString(i));
+            schedule.setUserId("user-1");
+            schedule.setSportType(SPORTS[random.nextInt(SPORTS.length)]);
+            schedule.setMatchName(i % 5 == 0 ? "Semi \"Final\", leg " + i : "Fixture " + i);
+            schedule.setTeamA("Team " + random.nextInt(20));
+            schedule.setTeamB("Team " + (20 + random.nextInt(20)));
+            schedule.setMatchDate(firstDay.plusDays(random.nextInt(2 * 365)));
+            schedule.setCreatedDate(firstDay);
+            schedules.add(schedule);
+        }
+        return schedules;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.model.Schedule;
+import com.example.demo.service.GroupCommitWriter;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Schedule insert throughput against a real MongoDB: one insert per create versus
+ * GroupCommitWriter, with 1 to 128 callers creating concurrently. Each invocation
+ * performs 1024 creates split across the callers, so scores are creates per second.
+ *
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.args="GroupCommitBenchmark -p mongoUri=mongodb://localhost:27017"
+ *
+ * Writes to (and drops) the sports_benchmark database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GroupCommitBenchmark {
+
+    private static final int CREATES = 1024;
+
+    @Param({"mongodb://localhost:27017"})
+    private String mongoUri;
+
+    @Param({"1", "8", "32", "128"})
+    private int concurrency;
+
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private GroupCommitWriter writer;
+    private ExecutorService callers;
+
+    @Setup
+    public void setUp() {
+        client = MongoClients.create(mongoUri);
+        mongoTemplate = new MongoTemplate(client, "sports_benchmark");
+        mongoTemplate.dropCollection(Schedule.class);
+
+        writer = new GroupCommitWriter();
+        ReflectionTestUtils.setField(writer, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(writer, "enabled", true);
+        ReflectionTestUtils.setField(writer, "queueCapacity", 10000);
+        ReflectionTestUtils.setField(writer, "maxBatchSize", 500);
+        ReflectionTestUtils.setField(writer, "maxDelay", Duration.ofMillis(5));
+        ReflectionTestUtils.setField(writer, "enqueueTimeout", Duration.ofSeconds(1));
+        writer.start();
+
+        callers = Executors.newFixedThreadPool(concurrency);
+    }
+
+    @TearDown
+    public void tearDown() {
+        callers.shutdownNow();
+        writer.stop();
+        mongoTemplate.getDb().drop();
+        client.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CREATES)
+    public void directInsert() throws Exception {
+        create(schedule -> mongoTemplate.insert(schedule));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CREATES)
+    public void groupCommit() throws Exception {
+        create(writer::insertSchedule);
+    }
+
+    private void create(Consumer<Schedule> insert) throws Exception {
+        int perCaller = CREATES / concurrency;
+        List<Future<?>> done = new ArrayList<>(concurrency);
+        for (int c = 0; c < concurrency; c++) {
+            done.add(callers.submit(() -> {
+                for (int i = 0; i < perCaller; i++) {
+                    insert.accept(schedule(i));
+                }
+            }));
+        }
+        for (Future<?> future : done) {
+            future.get();
+        }
+    }
+
+    private static Schedule schedule(int i) {
+        Schedule schedule = new Schedule();
+        schedule.setUserId("user-1");
+        schedule.setSportType("CRICKET");
+        schedule.setMatchName("Fixture " + i);
+        schedule.setTeamA("Team A");
+        schedule.setTeamB("Team B");
+        schedule.setMatchDate(LocalDate.of(2025, 3, 9).plusDays(i % 30));
+        schedule.setCreatedDate(LocalDate.of(2025, 3, 1));
+        return schedule;
+    }
+}
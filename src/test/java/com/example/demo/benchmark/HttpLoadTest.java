@@ -0,0 +1,125 @@
+package com.example.demo.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load driver for comparing execution modes (servlet on
+ * platform threads, servlet on virtual threads, reactive): each of the concurrent
+ * clients sends the next GET as soon as the previous one returns, so throughput
+ * is bounded by the server, not the driver. Use a client count well above
+ * server.tomcat.threads.max (200) to see the thread pool become the limit.
+ *
+ * Start the server under test with a fixed heap, e.g.
+ *   java -Xmx256m -jar target/sports-investment-backend.jar
+ *       [--spring.profiles.active=reactive | --spring.profiles.active=virtual-threads]
+ * then run
+ *   mvn -Pload-test test-compile exec:exec -Dload.args="http://localhost:8080/api/sports/records 200 30"
+ * Arguments: url [concurrency=64] [seconds=30] [warmup seconds=5]; a bearer token
+ * is taken from the LOAD_TOKEN environment variable.
+ */
+public class HttpLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("usage: HttpLoadTest url [concurrency] [seconds] [warmupSeconds]");
+            System.exit(2);
+        }
+        URI uri = URI.create(args[0]);
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int warmup = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET();
+        String token = System.getenv("LOAD_TOKEN");
+        if (token != null && !token.isBlank()) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpRequest request = builder.build();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newFixedThreadPool(Math.max(2, concurrency / 8)))
+                .build();
+
+        System.out.printf("%s: %d clients, %ds warmup, %ds measured%n", uri, concurrency, warmup, seconds);
+        run(client, request, concurrency, warmup);
+        Result result = run(client, request, concurrency, seconds);
+
+        System.out.printf("requests: %d (%d errors, %d non-2xx)%n", result.count, result.errors, result.non2xx);
+        System.out.printf("throughput: %.1f req/s%n", result.count / (double) seconds);
+        System.out.printf("latency ms: p50 %.2f  p95 %.2f  p99 %.2f  max %.2f%n",
+                result.percentile(50), result.percentile(95), result.percentile(99), result.percentile(100));
+        System.exit(0);
+    }
+
+    private static Result run(HttpClient client, HttpRequest request, int concurrency, int seconds) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+        AtomicLong non2xx = new AtomicLong();
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<long[]>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(workers.submit(() -> {
+                long[] latencies = new long[1024];
+                int n = 0;
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() / 100 != 2) {
+                            non2xx.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                        continue;
+                    }
+                    if (n == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, n * 2);
+                    }
+                    latencies[n++] = System.nanoTime() - start;
+                }
+                return Arrays.copyOf(latencies, n);
+            }));
+        }
+
+        List<long[]> perWorker = new ArrayList<>(concurrency);
+        for (Future<long[]> future : futures) {
+            perWorker.add(future.get());
+        }
+        workers.shutdown();
+        return new Result(perWorker, errors.get(), non2xx.get());
+    }
+
+    private static final class Result {
+        private final long[] latencies;
+        private final long count;
+        private final long errors;
+        private final long non2xx;
+
+        Result(List<long[]> perWorker, long errors, long non2xx) {
+            this.latencies = perWorker.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            this.count = latencies.length;
+            this.errors = errors;
+            this.non2xx = non2xx;
+        }
+
+        double percentile(double p) {
+            if (latencies.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(p / 100.0 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(index, latencies.length - 1))] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.dto.response.AnalyticsResponse;
+import com.example.demo.model.InvestmentRecord;
+import com.example.demo.service.AnalyticsAccumulator;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the analytics payload and of a record listing page,
+ * with the same mapper settings as application.properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"100", "500", "10000"})
+    private int records;
+
+    private ObjectMapper objectMapper;
+    private AnalyticsResponse analytics;
+    private List<InvestmentRecord> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        page = BenchmarkData.records(records);
+        analytics = AnalyticsAccumulator.calculate(page);
+    }
+
+    @Benchmark
+    public byte[] analyticsResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(analytics);
+    }
+
+    @Benchmark
+    public byte[] recordPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
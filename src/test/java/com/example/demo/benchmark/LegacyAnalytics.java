@@ -0,0 +1,153 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.dto.response.AnalyticsResponse;
+import com.example.demo.dto.response.AnalyticsResponse.SportStats;
+import com.example.demo.dto.response.AnalyticsResponse.MonthlyData;
+import com.example.demo.dto.response.AnalyticsResponse.RecentActivity;
+import com.example.demo.model.InvestmentRecord;
+
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * The original multi-pass stream implementation of AnalyticsService.calculateAnalytics,
+ * kept as the reference result and benchmark baseline for AnalyticsAccumulator.
+ */
+public final class LegacyAnalytics {
+
+    private LegacyAnalytics() {}
+
+    public static AnalyticsResponse calculateAnalytics(List<InvestmentRecord> records) {
+        AnalyticsResponse analytics = new AnalyticsResponse();
+        
+        if (records.isEmpty()) {
+            return analytics;
+        }
+        
+        // Basic calculations
+        double totalInvestment = records.stream()
+                .mapToDouble(InvestmentRecord::getAmountInvested)
+                .sum();
+        
+        double totalProfit = records.stream()
+                .mapToDouble(record -> Math.max(0, record.getEstimatedProfit()))
+                .sum();
+        
+        double totalLoss = records.stream()
+                .mapToDouble(record -> Math.min(0, record.getEstimatedProfit()))
+                .sum();
+        
+        double netProfit = totalProfit + totalLoss;
+        
+        int totalBets = records.size();
+        
+        int winningBets = (int) records.stream()
+                .filter(record -> record.getEstimatedProfit() > 0)
+                .count();
+        
+        int losingBets = totalBets - winningBets;
+        
+        double winPercentage = totalBets > 0 ? (winningBets * 100.0 / totalBets) : 0.0;
+        
+        double averageBetAmount = totalInvestment / totalBets;
+        
+        double bestProfit = records.stream()
+                .mapToDouble(InvestmentRecord::getEstimatedProfit)
+                .max()
+                .orElse(0.0);
+        
+        double worstLoss = records.stream()
+                .mapToDouble(InvestmentRecord::getEstimatedProfit)
+                .min()
+                .orElse(0.0);
+        
+        // Set basic analytics
+        analytics.setTotalInvestment(totalInvestment);
+        analytics.setTotalProfit(totalProfit);
+        analytics.setTotalLoss(Math.abs(totalLoss));
+        analytics.setNetProfit(netProfit);
+        analytics.setTotalBets(totalBets);
+        analytics.setWinningBets(winningBets);
+        analytics.setLosingBets(losingBets);
+        analytics.setWinPercentage(winPercentage);
+        analytics.setAverageBetAmount(averageBetAmount);
+        analytics.setBestProfit(bestProfit);
+        analytics.setWorstLoss(worstLoss);
+        
+        // Sport-wise statistics
+        Map<String, SportStats> sportWiseStats = calculateSportWiseStats(records);
+        analytics.setSportWiseStats(sportWiseStats);
+        
+        // Monthly data for charts
+        List<MonthlyData> monthlyData = calculateMonthlyData(records);
+        analytics.setMonthlyData(monthlyData);
+        
+        // Recent activities
+        List<RecentActivity> recentActivities = getRecentActivities(records);
+        analytics.setRecentActivities(recentActivities);
+        
+        return analytics;
+    }
+    
+    private static Map<String, SportStats> calculateSportWiseStats(List<InvestmentRecord> records) {
+        return records.stream()
+                .collect(Collectors.groupingBy(InvestmentRecord::getSportType))
+                .entrySet().stream()
+                .collect(Collectors.toMap(
+                        Map.Entry::getKey,
+                        entry -> {
+                            List<InvestmentRecord> sportRecords = entry.getValue();
+                            double investment = sportRecords.stream()
+                                    .mapToDouble(InvestmentRecord::getAmountInvested)
+                                    .sum();
+                            double profit = sportRecords.stream()
+                                    .mapToDouble(InvestmentRecord::getEstimatedProfit)
+                                    .sum();
+                            int totalBets = sportRecords.size();
+                            int winningBets = (int) sportRecords.stream()
+                                    .filter(record -> record.getEstimatedProfit() > 0)
+                                    .count();
+                            
+                            return new SportStats(investment, profit, totalBets, winningBets);
+                        }
+                ));
+    }
+    
+    private static List<MonthlyData> calculateMonthlyData(List<InvestmentRecord> records) {
+        return records.stream()
+                .collect(Collectors.groupingBy(
+                        record -> record.getEntryDate().format(DateTimeFormatter.ofPattern("yyyy-MM"))
+                ))
+                .entrySet().stream()
+                .map(entry -> {
+                    List<InvestmentRecord> monthRecords = entry.getValue();
+                    double investment = monthRecords.stream()
+                            .mapToDouble(InvestmentRecord::getAmountInvested)
+                            .sum();
+                    double profit = monthRecords.stream()
+                            .mapToDouble(InvestmentRecord::getEstimatedProfit)
+                            .sum();
+                    int totalBets = monthRecords.size();
+                    
+                    return new MonthlyData(entry.getKey(), investment, profit, totalBets);
+                })
+                .sorted(Comparator.comparing(MonthlyData::getMonth))
+                .collect(Collectors.toList());
+    }
+    
+    private static List<RecentActivity> getRecentActivities(List<InvestmentRecord> records) {
+        return records.stream()
+                .sorted(Comparator.comparing(InvestmentRecord::getCreatedDate).reversed())
+                .limit(10)
+                .map(record -> new RecentActivity(
+                        record.getMatchName(),
+                        record.getSportType(),
+                        record.getAmountInvested(),
+                        record.getEstimatedProfit(),
+                        record.getEntryDate().toString(),
+                        record.getWinnerOrDraw()
+                ))
+                .collect(Collectors.toList());
+    }
+}
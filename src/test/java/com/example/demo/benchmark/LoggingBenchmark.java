@@ -0,0 +1,128 @@
+package com.example.demo.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.example.demo.config.SamplingTurboFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost seen by request threads: synchronous println with eager concatenation
+ * (the old style) versus parameterized SLF4J calls through the async ring-buffer
+ * appender, level-gated calls and sampled categories. Both sinks write to /dev/null,
+ * so the difference is lock contention, syscalls on the caller and allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class LoggingBenchmark {
+
+    private PrintStream console;
+    private LoggerContext context;
+    private Logger service;
+    private Logger sampled;
+
+    private final String userId = "65f1c0ffee00000000000001";
+    private final int size = 42;
+
+    @Setup
+    public void setUp() throws FileNotFoundException {
+        console = new PrintStream(sink(), true);
+
+        context = new LoggerContext();
+        // As in the application's context; without an adapter every deferred event throws and catches an NPE
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        SamplingTurboFilter sampling = new SamplingTurboFilter();
+        sampling.setCategories("bench.sampled=100");
+        sampling.setContext(context);
+        sampling.start();
+        context.addTurboFilter(sampling);
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d %-5level [%thread] %logger - %msg%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> output = new OutputStreamAppender<>();
+        output.setContext(context);
+        output.setEncoder(encoder);
+        output.setOutputStream(sink());
+        output.start();
+
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setQueueSize(8192);
+        async.setNeverBlock(true);
+        async.addAppender(output);
+        async.start();
+
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(async);
+        service = context.getLogger("bench.service");
+        sampled = context.getLogger("bench.sampled");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+        console.close();
+    }
+
+    @Benchmark
+    public void printlnConcatenated() {
+        console.println("✅ Retrieved " + size + " investment records for user: " + userId);
+    }
+
+    @Benchmark
+    public void asyncParameterized() {
+        service.info("Retrieved {} investment records for user: {}", size, userId);
+    }
+
+    @Benchmark
+    public void asyncStructured() {
+        service.atInfo().addKeyValue("userId", userId).addKeyValue("count", size).log("Retrieved investment records");
+    }
+
+    @Benchmark
+    public void levelGatedDebug() {
+        service.debug("Retrieved {} investment records for user: {}", size, userId);
+    }
+
+    @Benchmark
+    public void sampledOneInHundred() {
+        sampled.info("Retrieved {} investment records for user: {}", size, userId);
+    }
+
+    private static OutputStream sink() throws FileNotFoundException {
+        File devNull = new File("/dev/null");
+        return devNull.exists() ? new FileOutputStream(devNull) : OutputStream.nullOutputStream();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.demo.config;
+
+import com.example.demo.repository.InvestmentRecordRepository;
+import com.example.demo.repository.ReactiveInvestmentRecordRepository;
+import com.example.demo.repository.ReactiveScheduleRepository;
+import com.example.demo.repository.ScheduleRepository;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MongoIndexInitializerTests {
+
+	@Test
+	void everyRepositoryQueryHasAPlanCheck() {
+		Set<String> checked = MongoIndexInitializer.queryShapes().stream()
+				.map(shape -> shape.name.replaceAll("\\(.*\\)$", ""))
+				.collect(Collectors.toSet());
+
+		for (Class<?> repository : List.of(InvestmentRecordRepository.class, ScheduleRepository.class,
+				ReactiveInvestmentRecordRepository.class, ReactiveScheduleRepository.class)) {
+			String entity = repository.getSimpleName().replace("Reactive", "").replace("Repository", "");
+			for (Method method : repository.getDeclaredMethods()) {
+				assertThat(checked).as("plan check for %s.%s", repository.getSimpleName(), method.getName())
+						.contains(entity + "." + method.getName());
+			}
+		}
+	}
+
+	@Test
+	void detectsNestedCollectionScan() {
+		Document indexed = Document.parse(
+				"{stage: 'FETCH', inputStage: {stage: 'IXSCAN', indexName: 'user_entry_date'}}");
+		Document scanned = Document.parse(
+				"{stage: 'SORT', inputStage: {stage: 'SUBPLAN', inputStages: [{stage: 'COLLSCAN'}]}}");
+
+		assertThat(MongoIndexInitializer.containsStage(indexed, "COLLSCAN")).isFalse();
+		assertThat(MongoIndexInitializer.containsStage(scanned, "COLLSCAN")).isTrue();
+	}
+
+}
@@ -0,0 +1,52 @@
+package com.example.demo.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SamplingTurboFilterTests {
+
+	private final LoggerContext context = new LoggerContext();
+	private final SamplingTurboFilter filter = new SamplingTurboFilter();
+
+	@BeforeEach
+	void setUp() {
+		filter.setContext(context);
+		filter.setCategories("com.example.chatty=10, com.example.chatty.quiet=1");
+		context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.DEBUG);
+	}
+
+	@Test
+	void keepsOneInRateForSampledCategory() {
+		Logger logger = context.getLogger("com.example.chatty.Filter");
+
+		int passed = 0;
+		for (int i = 0; i < 100; i++) {
+			if (filter.decide(null, logger, Level.INFO, "event {}", new Object[] {i}, null) == FilterReply.NEUTRAL) {
+				passed++;
+			}
+		}
+
+		assertThat(passed).isEqualTo(10);
+	}
+
+	@Test
+	void neverSamplesWarningsLevelChecksOrOtherCategories() {
+		Logger chatty = context.getLogger("com.example.chatty.Filter");
+		Logger quiet = context.getLogger("com.example.chatty.quiet.Service");
+		Logger other = context.getLogger("com.example.other.Service");
+
+		for (int i = 0; i < 20; i++) {
+			assertThat(filter.decide(null, chatty, Level.WARN, "warn", null, null)).isEqualTo(FilterReply.NEUTRAL);
+			assertThat(filter.decide(null, chatty, Level.DEBUG, null, null, null)).isEqualTo(FilterReply.NEUTRAL);
+			assertThat(filter.decide(null, quiet, Level.INFO, "info", null, null)).isEqualTo(FilterReply.NEUTRAL);
+			assertThat(filter.decide(null, other, Level.INFO, "info", null, null)).isEqualTo(FilterReply.NEUTRAL);
+		}
+	}
+
+}
@@ -0,0 +1,58 @@
+package com.example.demo.config;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlowMongoCommandListenerTests {
+
+	private static final ConnectionDescription CONNECTION =
+			new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final SlowMongoCommandListener listener = new SlowMongoCommandListener();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(listener, "meterRegistry", registry);
+		ReflectionTestUtils.setField(listener, "thresholdMs", 100L);
+	}
+
+	@Test
+	void describesCommandWithoutFilterValues() {
+		BsonDocument find = BsonDocument.parse(
+				"{find: 'investment_records', filter: {userId: 'u1', entryDate: {$gte: 1}}, sort: {entryDate: -1}}");
+
+		assertThat(SlowMongoCommandListener.describe("find", find))
+				.isEqualTo("find investment_records [userId, entryDate]");
+		assertThat(SlowMongoCommandListener.describe("ping", BsonDocument.parse("{ping: 1}")))
+				.isEqualTo("ping");
+	}
+
+	@Test
+	void countsOnlyCommandsOverThreshold() {
+		BsonDocument find = BsonDocument.parse("{find: 'schedules', filter: {userId: 'u1'}}");
+
+		listener.commandStarted(new CommandStartedEvent(1, CONNECTION, "db", "find", find));
+		listener.commandSucceeded(new CommandSucceededEvent(1, CONNECTION, "find", new BsonDocument(),
+				TimeUnit.MILLISECONDS.toNanos(20)));
+		listener.commandStarted(new CommandStartedEvent(2, CONNECTION, "db", "find", find));
+		listener.commandSucceeded(new CommandSucceededEvent(2, CONNECTION, "find", new BsonDocument(),
+				TimeUnit.MILLISECONDS.toNanos(250)));
+
+		assertThat(registry.get("mongodb.driver.commands.slow").tag("command", "find").counter().count())
+				.isEqualTo(1.0);
+	}
+}
@@ -0,0 +1,76 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.response.DashboardStats;
+import com.example.demo.security.UserPrincipal;
+import com.example.demo.service.DataVersionService;
+import com.example.demo.service.SportsService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ConditionalGetTests {
+
+	private static final String ETAG = "W/\"user-1.7\"";
+
+	private final SportsService sportsService = mock(SportsService.class);
+	private final DataVersionService dataVersionService = mock(DataVersionService.class);
+	private final UsernamePasswordAuthenticationToken user = new UsernamePasswordAuthenticationToken(
+			new UserPrincipal("user-1", "alice"), null, List.of());
+	private final MockMvc mockMvc;
+
+	ConditionalGetTests() {
+		SportsController controller = new SportsController();
+		ReflectionTestUtils.setField(controller, "sportsService", sportsService);
+		ReflectionTestUtils.setField(controller, "dataVersionService", dataVersionService);
+		mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+		when(dataVersionService.etag("user-1")).thenReturn(ETAG);
+	}
+
+	@Test
+	void firstPollGetsBodyAndEtag() throws Exception {
+		when(sportsService.getDashboardStats("user-1")).thenReturn(new DashboardStats(100.0, 150.0, 2, 1, 3));
+
+		mockMvc.perform(get("/api/sports/analytics/dashboard").principal(user))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, ETAG))
+				.andExpect(jsonPath("$.netProfit").value(50.0))
+				.andExpect(jsonPath("$.winRate").value(50.0));
+	}
+
+	@Test
+	void unchangedPollIsNotModifiedWithoutReadingData() throws Exception {
+		mockMvc.perform(get("/api/sports/analytics/dashboard").principal(user)
+						.header(HttpHeaders.IF_NONE_MATCH, ETAG))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, ETAG));
+
+		verify(sportsService, never()).getDashboardStats(any());
+	}
+
+	@Test
+	void staleEtagRecomputes() throws Exception {
+		when(sportsService.getDashboardStats("user-1")).thenReturn(new DashboardStats(0.0, 0.0, 0, 0, 0));
+
+		mockMvc.perform(get("/api/sports/analytics/dashboard").principal(user)
+						.header(HttpHeaders.IF_NONE_MATCH, "\"user-1.6\""))
+				.andExpect(status().isOk());
+
+		verify(sportsService).getDashboardStats("user-1");
+	}
+}
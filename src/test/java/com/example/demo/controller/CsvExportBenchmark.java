@@ -0,0 +1,67 @@
+package com.example.demo.controller;
+
+import com.example.demo.benchmark.BenchmarkData;
+import com.example.demo.model.InvestmentRecord;
+import com.example.demo.model.Schedule;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV export formatting (SportsController.writeCsvContent) into a discarding writer,
+ * so only row formatting and escaping are measured, not Mongo or the socket.
+ *
+ * Lives in the controller package because the CSV helpers are package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class CsvExportBenchmark {
+
+    @Param({"1000", "100000"})
+    private int rows;
+
+    private List<InvestmentRecord> records;
+    private List<Schedule> schedules;
+    private String[] cells;
+
+    @Setup
+    public void setUp() {
+        records = BenchmarkData.records(rows);
+        schedules = BenchmarkData.schedules(rows / 10);
+        cells = records.stream().limit(1024).map(InvestmentRecord::getMatchName).toArray(String[]::new);
+    }
+
+    @Benchmark
+    public void writeCsvContent() throws IOException {
+        try (Writer csv = new BufferedWriter(Writer.nullWriter())) {
+            SportsController.writeCsvContent(csv, records::stream, schedules::stream);
+        }
+    }
+
+    @Benchmark
+    public void escapeForCsv(Blackhole blackhole) {
+        for (String cell : cells) {
+            blackhole.consume(SportsController.escapeForCsv(cell));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.InvestmentRecord;
+import com.example.demo.security.UserPrincipal;
+import com.example.demo.service.SportsService;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CsvExportTests {
+
+	private final SportsService sportsService = mock(SportsService.class);
+	private final SportsController controller = new SportsController();
+	private final UsernamePasswordAuthenticationToken user = new UsernamePasswordAuthenticationToken(
+			new UserPrincipal("user-1", "alice"), null, List.of());
+	private final WebAsyncManager asyncManager = mock(WebAsyncManager.class);
+	private final ServletWebRequest webRequest = new ServletWebRequest(new MockHttpServletRequest());
+
+	CsvExportTests() {
+		ReflectionTestUtils.setField(controller, "sportsService", sportsService);
+		webRequest.setAttribute(WebAsyncUtils.WEB_ASYNC_MANAGER_ATTRIBUTE, asyncManager, ServletWebRequest.SCOPE_REQUEST);
+	}
+
+	@Test
+	void failingRecordsQueryIsAnErrorStatus() {
+		when(sportsService.streamUserRecords(any(), any(), any(), any()))
+			.thenReturn(Stream.<InvestmentRecord>generate(() -> { throw new IllegalStateException("mongo down"); }));
+
+		ResponseEntity<?> response = controller.exportOverallData(user, webRequest);
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+	}
+
+	@Test
+	void failureAfterTheStatusEndsTheFileWithAnErrorRow() {
+		InvestmentRecord record = new InvestmentRecord();
+		record.setMatchName("Final");
+		record.setSportType("CRICKET");
+		record.setEntryDate(LocalDate.of(2025, 3, 9));
+		when(sportsService.streamUserRecords(any(), any(), any(), any())).thenReturn(Stream.of(record));
+		when(sportsService.streamUserSchedules(any(), any(), any(), any()))
+			.thenThrow(new IllegalStateException("mongo down"));
+
+		ResponseEntity<?> response = controller.exportOverallData(user, webRequest);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThatThrownBy(() -> ((StreamingResponseBody) response.getBody()).writeTo(out))
+			.hasMessage("mongo down");
+		assertThat(out.toString(StandardCharsets.UTF_8))
+			.startsWith(SportsController.CSV_HEADER + "Investment,Final,CRICKET")
+			.endsWith(SportsController.EXPORT_FAILED_ROW);
+	}
+
+	@Test
+	void recordsCursorIsClosedWhenTheBodyNeverRuns() throws Exception {
+		AtomicBoolean closed = new AtomicBoolean();
+		when(sportsService.streamUserRecords(any(), any(), any(), any()))
+			.thenReturn(Stream.of(new InvestmentRecord()).onClose(() -> closed.set(true)));
+		ArgumentCaptor<CallableProcessingInterceptor> completion = ArgumentCaptor.forClass(CallableProcessingInterceptor.class);
+
+		ResponseEntity<?> response = controller.exportOverallData(user, webRequest);
+		verify(asyncManager).registerCallableInterceptor(any(), completion.capture());
+		completion.getValue().afterCompletion(webRequest, null);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		((StreamingResponseBody) response.getBody()).writeTo(out);
+
+		assertThat(closed).isTrue();
+		assertThat(out.size()).isZero();
+		verify(sportsService, never()).streamUserSchedules(any(), any(), any(), any());
+	}
+
+}
@@ -0,0 +1,55 @@
+package com.example.demo.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.web.server.WebFilterChain;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtAuthenticationWebFilterTests {
+
+	private final JwtTokenProvider tokenProvider = new JwtTokenProvider();
+
+	@Test
+	void validTokenAuthenticatesTheRequest() {
+		tokenProvider.init();
+		String token = tokenProvider.generateToken("alice", "user-1");
+
+		Authentication authentication = filter("Bearer " + token);
+
+		assertThat(authentication).isNotNull();
+		assertThat(UserPrincipal.userIdOf(authentication)).isEqualTo("user-1");
+	}
+
+	@Test
+	void missingOrInvalidTokenLeavesTheRequestAnonymous() {
+		tokenProvider.init();
+
+		assertThat(filter(null)).isNull();
+		assertThat(filter("Bearer not-a-jwt")).isNull();
+	}
+
+	private Authentication filter(String authorization) {
+		MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/analytics/dashboard");
+		if (authorization != null) {
+			request.header(HttpHeaders.AUTHORIZATION, authorization);
+		}
+		AtomicReference<Authentication> seen = new AtomicReference<>();
+		WebFilterChain chain = exchange -> ReactiveSecurityContextHolder.getContext()
+				.map(SecurityContext::getAuthentication)
+				.doOnNext(seen::set)
+				.then();
+
+		new JwtAuthenticationWebFilter(tokenProvider, null)
+				.filter(MockServerWebExchange.from(request), chain)
+				.block();
+		return seen.get();
+	}
+}
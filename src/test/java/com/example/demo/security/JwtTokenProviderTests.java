@@ -0,0 +1,56 @@
+package com.example.demo.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenProviderTests {
+
+	private JwtTokenProvider tokenProvider;
+
+	@BeforeEach
+	void setUp() {
+		tokenProvider = new JwtTokenProvider();
+		tokenProvider.init();
+	}
+
+	@Test
+	void authenticateReturnsPrincipalWithUserId() {
+		String token = tokenProvider.generateToken("alice", "user-1");
+
+		UserPrincipal principal = tokenProvider.authenticate(token);
+
+		assertThat(principal.getUserId()).isEqualTo("user-1");
+		assertThat(principal.getName()).isEqualTo("alice");
+		assertThat(tokenProvider.authenticate(token)).isSameAs(principal);
+	}
+
+	@Test
+	void tamperedTokenIsRejected() {
+		String token = tokenProvider.generateToken("alice", "user-1");
+		String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+		assertThat(tokenProvider.authenticate(tampered)).isNull();
+		assertThat(tokenProvider.validateToken(tampered)).isFalse();
+	}
+
+	@Test
+	void legacyTokenKeepsTheResolvedPrincipal() {
+		String legacy = Jwts.builder()
+				.claim("sub", "alice")
+				.expiration(new Date(System.currentTimeMillis() + 60_000))
+				.signWith(Keys.hmacShaKeyFor("sportsInvestmentSecretKey2025ForJWTAuthentication".getBytes(StandardCharsets.UTF_8)))
+				.compact();
+		assertThat(tokenProvider.authenticate(legacy).getUserId()).isNull();
+
+		tokenProvider.cachePrincipal(legacy, new UserPrincipal("user-1", "alice"));
+
+		assertThat(tokenProvider.authenticate(legacy).getUserId()).isEqualTo("user-1");
+	}
+}
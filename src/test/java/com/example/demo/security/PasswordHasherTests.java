@@ -0,0 +1,84 @@
+package com.example.demo.security;
+
+import com.example.demo.exception.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PasswordHasherTests {
+
+	@Test
+	void hashesOnThePoolAndRecordsTimings() {
+		PasswordEncoder encoder = mock(PasswordEncoder.class);
+		when(encoder.encode("secret")).thenAnswer(invocation -> Thread.currentThread().getName());
+		when(encoder.matches("secret", "hash")).thenReturn(true);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		PasswordHasher hasher = hasher(encoder, registry, 1, 1);
+
+		try {
+			assertThat(hasher.encode("secret")).startsWith("password-hash-");
+			assertThat(hasher.matches("secret", "hash")).isTrue();
+
+			assertThat(registry.get("sports.auth.hash.time").tag("operation", "encode").timer().count()).isEqualTo(1);
+			assertThat(registry.get("sports.auth.hash.queue-wait").tag("operation", "matches").timer().count()).isEqualTo(1);
+		} finally {
+			hasher.stop();
+		}
+	}
+
+	@Test
+	void saturatedPoolFailsFastWith503() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		PasswordEncoder encoder = mock(PasswordEncoder.class);
+		when(encoder.encode(anyString())).thenAnswer(invocation -> {
+			started.countDown();
+			release.await();
+			return "hash";
+		});
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		PasswordHasher hasher = hasher(encoder, registry, 1, 1);
+
+		try {
+			// One hash running, one queued: the third has nowhere to go
+			CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.encode("first"));
+			assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+			CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.encode("second"));
+			while (registry.get("sports.auth.hash.queue").gauge().value() < 1) {
+				Thread.onSpinWait();
+			}
+
+			assertThatThrownBy(() -> hasher.encode("third")).isInstanceOf(ServiceUnavailableException.class);
+			assertThat(registry.get("sports.auth.hash.rejections").tag("operation", "encode").counter().count()).isEqualTo(1);
+
+			release.countDown();
+			assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash");
+			assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash");
+		} finally {
+			release.countDown();
+			hasher.stop();
+		}
+	}
+
+	private static PasswordHasher hasher(PasswordEncoder encoder, SimpleMeterRegistry registry, int threads, int queueCapacity) {
+		PasswordHasher hasher = new PasswordHasher();
+		ReflectionTestUtils.setField(hasher, "passwordEncoder", encoder);
+		ReflectionTestUtils.setField(hasher, "meterRegistry", registry);
+		ReflectionTestUtils.setField(hasher, "threads", threads);
+		ReflectionTestUtils.setField(hasher, "queueCapacity", queueCapacity);
+		hasher.start();
+		return hasher;
+	}
+}
@@ -0,0 +1,83 @@
+package com.example.demo.security;
+
+import com.example.demo.security.RateLimiter.EndpointClass;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTests {
+
+	private static final long SECOND = 1_000_000_000L;
+
+	@Test
+	void bucketAllowsABurstUpToCapacityThenRefills() {
+		AtomicLong bucket = new AtomicLong(Long.MIN_VALUE);
+		long now = 0;
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(RateLimiter.tryAcquire(bucket, 10, now, SECOND, 30)).isZero();
+		}
+		assertThat(RateLimiter.tryAcquire(bucket, 10, now, SECOND, 30)).isEqualTo(10 * SECOND);
+		assertThat(RateLimiter.tryAcquire(bucket, 2, now, SECOND, 30)).isEqualTo(2 * SECOND);
+
+		assertThat(RateLimiter.tryAcquire(bucket, 2, now + 2 * SECOND, SECOND, 30)).isZero();
+		assertThat(RateLimiter.tryAcquire(bucket, 10, now + 60 * SECOND, SECOND, 30)).isZero();
+	}
+
+	@Test
+	void exportRequestsAreRejectedWithRetryAfter() throws Exception {
+		RateLimitFilter filter = new RateLimitFilter(rateLimiter(10, 0.5));
+
+		MockHttpServletResponse first = filter(filter, "/api/sports/export/overall");
+		MockHttpServletResponse second = filter(filter, "/api/sports/export/overall");
+		MockHttpServletResponse other = filter(filter, "/api/sports/records");
+
+		assertThat(first.getStatus()).isEqualTo(200);
+		assertThat(second.getStatus()).isEqualTo(429);
+		assertThat(Long.parseLong(second.getHeader("Retry-After"))).isBetween(19L, 20L);
+		assertThat(second.getContentAsString()).contains("\"success\":false");
+		assertThat(other.getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	void endpointClassesAndClientKeys() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setRemoteAddr("10.0.0.1");
+
+		assertThat(RateLimitFilter.endpointClass("/api/sports/export/monthly")).isEqualTo(EndpointClass.EXPORT);
+		assertThat(RateLimitFilter.endpointClass("/api/analytics/overview")).isEqualTo(EndpointClass.ANALYTICS);
+		assertThat(RateLimitFilter.endpointClass("/api/sports/analytics/dashboard")).isEqualTo(EndpointClass.ANALYTICS);
+		assertThat(RateLimitFilter.endpointClass("/api/sports/schedules")).isNull();
+		assertThat(RateLimitFilter.clientKey(null, request)).isEqualTo("ip:10.0.0.1");
+	}
+
+	private static RateLimiter rateLimiter(int capacity, double refillPerSecond) {
+		RateLimiter rateLimiter = new RateLimiter();
+		ReflectionTestUtils.setField(rateLimiter, "enabled", true);
+		ReflectionTestUtils.setField(rateLimiter, "capacity", capacity);
+		ReflectionTestUtils.setField(rateLimiter, "refillPerSecond", refillPerSecond);
+		ReflectionTestUtils.setField(rateLimiter, "exportCost", 10);
+		ReflectionTestUtils.setField(rateLimiter, "analyticsCost", 2);
+		ReflectionTestUtils.setField(rateLimiter, "idleExpiry", Duration.ofMinutes(10));
+		ReflectionTestUtils.setField(rateLimiter, "maxClients", 1000L);
+		rateLimiter.init();
+		return rateLimiter;
+	}
+
+	private static MockHttpServletResponse filter(RateLimitFilter filter, String uri) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+		request.setRemoteAddr("10.0.0.1");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response;
+	}
+
+}
@@ -0,0 +1,43 @@
+package com.example.demo.service;
+
+import com.example.demo.benchmark.BenchmarkData;
+import com.example.demo.benchmark.LegacyAnalytics;
+import com.example.demo.dto.response.AnalyticsResponse;
+import com.example.demo.model.InvestmentRecord;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalyticsAccumulatorTests {
+
+	@Test
+	void matchesLegacyCalculation() {
+		List<InvestmentRecord> records = BenchmarkData.records(5_000);
+
+		AnalyticsResponse expected = LegacyAnalytics.calculateAnalytics(records);
+		AnalyticsResponse actual = AnalyticsAccumulator.calculate(records);
+
+		assertThat(actual).usingRecursiveComparison()
+				.withComparatorForType(AnalyticsAccumulatorTests::compareWithTolerance, Double.class)
+				.ignoringCollectionOrder()
+				.isEqualTo(expected);
+		assertThat(actual.getRecentActivities()).usingRecursiveFieldByFieldElementComparator()
+				.containsExactlyElementsOf(expected.getRecentActivities());
+	}
+
+	// DoubleStream.sum() uses compensated summation, so totals may differ in the last bits
+	private static int compareWithTolerance(Double a, Double b) {
+		return Math.abs(a - b) <= 1e-9 * Math.max(1.0, Math.abs(a)) ? 0 : Double.compare(a, b);
+	}
+
+	@Test
+	void emptyInputLeavesResponseBlank() {
+		AnalyticsResponse actual = AnalyticsAccumulator.calculate(List.of());
+
+		assertThat(actual.getTotalBets()).isNull();
+		assertThat(actual.getSportWiseStats()).isNull();
+	}
+}
@@ -0,0 +1,90 @@
+package com.example.demo.service;
+
+import com.example.demo.model.AnalyticsRollup;
+import com.example.demo.model.InvestmentRecord;
+import com.example.demo.repository.InvestmentRecordRepository;
+
+import com.mongodb.client.result.DeleteResult;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AnalyticsRollupServiceTests {
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final InvestmentRecordRepository recordRepository = mock(InvestmentRecordRepository.class);
+	private final DataVersionService dataVersionService = mock(DataVersionService.class);
+	private final AnalyticsRollupService service = new AnalyticsRollupService();
+
+	AnalyticsRollupServiceTests() {
+		ReflectionTestUtils.setField(service, "mongoTemplate", mongoTemplate);
+		ReflectionTestUtils.setField(service, "recordRepository", recordRepository);
+		ReflectionTestUtils.setField(service, "dataVersionService", dataVersionService);
+		when(mongoTemplate.remove(any(Query.class), eq(AnalyticsRollup.class))).thenReturn(DeleteResult.acknowledged(0));
+	}
+
+	@Test
+	void failedDeltaWithholdsEtagsUntilTheRepairHasRun() {
+		when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(AnalyticsRollup.class)))
+			.thenThrow(new IllegalStateException("mongo down"));
+		when(recordRepository.streamByUserIdOrderByEntryDateDesc("user-1")).thenReturn(Stream.empty());
+
+		service.recordAdded(record());
+		verify(dataVersionService).withhold("user-1");
+		verify(dataVersionService, never()).release("user-1");
+
+		service.repairRequested();
+		InOrder order = inOrder(recordRepository, dataVersionService);
+		order.verify(recordRepository).streamByUserIdOrderByEntryDateDesc("user-1");
+		order.verify(dataVersionService).release("user-1");
+	}
+
+	@Test
+	void failedRepairStaysQueuedAndWithheld() {
+		when(recordRepository.streamByUserIdOrderByEntryDateDesc("user-1"))
+			.thenThrow(new IllegalStateException("mongo down"))
+			.thenReturn(Stream.empty());
+
+		service.requestRepair("user-1");
+		service.repairRequested();
+		verify(dataVersionService, never()).release("user-1");
+
+		service.repairRequested();
+		verify(dataVersionService).release("user-1");
+	}
+
+	@Test
+	void backfillRunsOnlyUntilItsMarkerExists() {
+		when(mongoTemplate.exists(any(Query.class), eq(AnalyticsRollupService.MIGRATIONS_COLLECTION))).thenReturn(true);
+
+		service.rebuildOnStartup();
+
+		verify(mongoTemplate, never()).findDistinct(any(Query.class), eq("userId"), eq(InvestmentRecord.class), eq(String.class));
+	}
+
+	private static InvestmentRecord record() {
+		InvestmentRecord record = new InvestmentRecord();
+		record.setId("a1");
+		record.setUserId("user-1");
+		record.setSportType("CRICKET");
+		record.setEntryDate(LocalDate.of(2025, 3, 9));
+		record.setAmountInvested(100.0);
+		record.setEstimatedProfit(150.0);
+		return record;
+	}
+
+}
@@ -0,0 +1,54 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.response.DashboardStats;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DashboardAggregationTests {
+
+	@Test
+	void pipelineGroupsOnceWithoutFacet() {
+		Aggregation pipeline = AnalyticsAggregationEngine.dashboardPipeline("user-1");
+
+		List<Document> stages = pipeline.toPipeline(Aggregation.DEFAULT_CONTEXT);
+
+		assertThat(stages).hasSize(2);
+		assertThat(stages.get(0)).isEqualTo(new Document("$match", new Document("userId", "user-1")));
+		Document group = stages.get(1).get("$group", Document.class);
+		assertThat(group.keySet()).containsExactly("_id", "totalInvestment", "totalProfit", "totalRecords", "winningRecords");
+	}
+
+	@Test
+	void mapsGroupResult() {
+		Document totals = new Document("totalInvestment", 300.0)
+				.append("totalProfit", 450.0)
+				.append("totalRecords", 4)
+				.append("winningRecords", 1);
+
+		DashboardStats stats = AnalyticsAggregationEngine.toDashboardStats(totals, 7L);
+
+		assertThat(stats.getTotalInvestment()).isEqualTo(300.0);
+		assertThat(stats.getTotalProfit()).isEqualTo(450.0);
+		assertThat(stats.getNetProfit()).isEqualTo(150.0);
+		assertThat(stats.getTotalRecords()).isEqualTo(4);
+		assertThat(stats.getTotalSchedules()).isEqualTo(7);
+		assertThat(stats.getWinRate()).isEqualTo(25.0);
+	}
+
+	@Test
+	void userWithoutRecordsGetsZeros() {
+		DashboardStats stats = AnalyticsAggregationEngine.toDashboardStats(null, 2L);
+
+		assertThat(stats.getTotalInvestment()).isZero();
+		assertThat(stats.getNetProfit()).isZero();
+		assertThat(stats.getTotalRecords()).isZero();
+		assertThat(stats.getTotalSchedules()).isEqualTo(2);
+		assertThat(stats.getWinRate()).isZero();
+	}
+}
@@ -0,0 +1,87 @@
+package com.example.demo.service;
+
+import com.example.demo.model.UserDataVersion;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DataVersionServiceTests {
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final DataVersionService service = new DataVersionService();
+
+	DataVersionServiceTests() {
+		ReflectionTestUtils.setField(service, "mongoTemplate", mongoTemplate);
+	}
+
+	@Test
+	void etagCarriesUserVersionAndVariants() {
+		UserDataVersion current = new UserDataVersion();
+		current.setUserId("user-1");
+		current.setVersion(42);
+		when(mongoTemplate.findOne(any(Query.class), eq(UserDataVersion.class))).thenReturn(current);
+
+		assertThat(service.etag("user-1")).isEqualTo("W/\"user-1.42\"");
+		assertThat(service.etag("user-1", LocalDate.of(2025, 3, 1))).isEqualTo("W/\"user-1.42.2025-03-01\"");
+	}
+
+	@Test
+	void userWithoutWritesStartsAtZero() {
+		assertThat(service.currentVersion("user-1")).isZero();
+		assertThat(service.etag("user-1")).isEqualTo("W/\"user-1.0\"");
+	}
+
+	@Test
+	void bumpIncrementsWithUpsert() {
+		service.bump("user-1");
+
+		verify(mongoTemplate).upsert(DataVersionService.versionQuery("user-1"), DataVersionService.increment(),
+				UserDataVersion.class);
+		assertThat(DataVersionService.increment().getUpdateObject().get("$inc", Document.class))
+				.containsEntry("version", 1);
+	}
+
+	@Test
+	void failedBumpDoesNotFailTheWrite() {
+		when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(UserDataVersion.class)))
+				.thenThrow(new IllegalStateException("down"));
+
+		assertThatNoException().isThrownBy(() -> service.bump("user-1"));
+	}
+
+	@Test
+	void failedBumpWithholdsTheEtagUntilARetrySucceeds() {
+		when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(UserDataVersion.class)))
+				.thenThrow(new IllegalStateException("down"))
+				.thenReturn(null);
+
+		service.bump("user-1");
+		assertThat(service.etag("user-1")).isNull();
+
+		service.retryFailedBumps();
+		assertThat(service.etag("user-1")).isEqualTo("W/\"user-1.0\"");
+	}
+
+	@Test
+	void withheldUserHasNoEtagUntilReleased() {
+		service.withhold("user-1");
+		assertThat(service.etag("user-1")).isNull();
+
+		service.release("user-1");
+		assertThat(service.etag("user-1")).isEqualTo("W/\"user-1.0\"");
+	}
+}
@@ -0,0 +1,43 @@
+package com.example.demo.service;
+
+import com.example.demo.exception.BadRequestException;
+import com.example.demo.model.InvestmentRecord;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FieldSelectionTests {
+
+	@Test
+	void blankSelectsEverything() {
+		assertThat(FieldSelection.parse(null, InvestmentRecord.class).isAll()).isTrue();
+		assertThat(FieldSelection.parse(" , ", InvestmentRecord.class).isAll()).isTrue();
+
+		Query query = FieldSelection.all().applyTo(new Query(), "entryDate", "id");
+
+		assertThat(query.getFieldsObject()).isEmpty();
+	}
+
+	@Test
+	void projectsSelectedFieldsAndPagingKeys() {
+		FieldSelection fields = FieldSelection.parse("matchName, amountInvested,matchName", InvestmentRecord.class);
+
+		Query query = fields.applyTo(new Query(), "entryDate", "id");
+
+		assertThat(fields.getFields()).containsExactly("matchName", "amountInvested");
+		assertThat(query.getFieldsObject()).isEqualTo(new Document("matchName", 1)
+			.append("amountInvested", 1).append("entryDate", 1).append("id", 1));
+	}
+
+	@Test
+	void rejectsUnknownFields() {
+		assertThatThrownBy(() -> FieldSelection.parse("matchName,passwordHash", InvestmentRecord.class))
+			.isInstanceOf(BadRequestException.class)
+			.hasMessageContaining("passwordHash");
+	}
+
+}
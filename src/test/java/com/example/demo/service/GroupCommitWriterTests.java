@@ -0,0 +1,184 @@
+package com.example.demo.service;
+
+import com.example.demo.model.InvestmentRecord;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.WriteConcernError;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GroupCommitWriterTests {
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final BulkOperations bulk = mock(BulkOperations.class);
+	private final AnalyticsRollupService analyticsRollupService = mock(AnalyticsRollupService.class);
+	private final GroupCommitWriter writer = new GroupCommitWriter();
+	private final ExecutorService callers = Executors.newFixedThreadPool(20);
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(writer, "mongoTemplate", mongoTemplate);
+		ReflectionTestUtils.setField(writer, "analyticsRollupService", analyticsRollupService);
+		ReflectionTestUtils.setField(writer, "recordBuckets", new RecordBucketStore());
+		ReflectionTestUtils.setField(writer, "enabled", true);
+		ReflectionTestUtils.setField(writer, "maxBatchSize", 100);
+		ReflectionTestUtils.setField(writer, "maxDelay", Duration.ofMillis(50));
+		ReflectionTestUtils.setField(writer, "enqueueTimeout", Duration.ofMillis(50));
+		ReflectionTestUtils.setField(writer, "ackTimeout", Duration.ofSeconds(5));
+
+		when(mongoTemplate.bulkOps(BulkMode.UNORDERED, InvestmentRecord.class)).thenReturn(bulk);
+		when(bulk.insert(anyList())).thenReturn(bulk);
+	}
+
+	@AfterEach
+	void tearDown() {
+		callers.shutdownNow();
+		writer.stop();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void concurrentCreatesShareOneInsertMany() throws Exception {
+		start(10000);
+
+		List<Future<InvestmentRecord>> acks = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			InvestmentRecord record = record("Match " + i);
+			acks.add(callers.submit(() -> writer.insertRecord(record)));
+		}
+		for (Future<InvestmentRecord> ack : acks) {
+			assertThat(ack.get(5, TimeUnit.SECONDS).getId()).isNotNull();
+		}
+
+		ArgumentCaptor<List<Object>> batches = ArgumentCaptor.forClass(List.class);
+		verify(bulk, atLeastOnce()).insert(batches.capture());
+		assertThat(batches.getAllValues()).hasSizeLessThan(20);
+		assertThat(batches.getAllValues().stream().mapToInt(List::size).sum()).isEqualTo(20);
+		verify(analyticsRollupService, atLeastOnce()).recordsAdded(anyList());
+	}
+
+	@Test
+	void failedDocumentIsReportedToItsCaller() {
+		start(10000);
+		BulkWriteError error = new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 0);
+		when(bulk.execute()).thenThrow(new BulkOperationException("duplicate", new MongoBulkWriteException(
+			BulkWriteResult.unacknowledged(), List.of(error), null, new ServerAddress(), Set.of())));
+
+		assertThatThrownBy(() -> writer.insertRecord(record("Duplicate")))
+			.isInstanceOf(RuntimeException.class)
+			.hasMessageContaining("duplicate key");
+	}
+
+	@Test
+	void writeConcernErrorFailsTheWholeBatch() {
+		start(10000);
+		WriteConcernError writeConcern = new WriteConcernError(64, "WriteConcernFailed", "waiting for replication timed out",
+			new BsonDocument());
+		// What DefaultBulkOperations throws for a bulk write with a write concern error
+		when(bulk.execute()).thenThrow(new DataIntegrityViolationException("write concern", new MongoBulkWriteException(
+			BulkWriteResult.unacknowledged(), List.of(), writeConcern, new ServerAddress(), Set.of())));
+
+		assertThatThrownBy(() -> writer.insertRecord(record("Unreplicated")))
+			.isInstanceOf(DataIntegrityViolationException.class);
+		verify(analyticsRollupService, never()).recordsAdded(anyList());
+	}
+
+	@Test
+	void committedRecordsAreAcknowledgedWhenTheRollupUpdateFails() {
+		start(10000);
+		doThrow(new RuntimeException("rollups unavailable")).when(analyticsRollupService).recordsAdded(anyList());
+
+		assertThat(writer.insertRecord(record("Committed")).getId()).isNotNull();
+	}
+
+	@Test
+	void callerGivesUpWhenTheFlusherNeverAnswers() {
+		start(10000);
+		ReflectionTestUtils.setField(writer, "ackTimeout", Duration.ofMillis(100));
+		CountDownLatch release = new CountDownLatch(1);
+		when(bulk.execute()).thenAnswer(invocation -> {
+			release.await(5, TimeUnit.SECONDS);
+			return null;
+		});
+
+		assertThatThrownBy(() -> writer.insertRecord(record("Stuck")))
+			.hasMessageContaining("Timed out waiting for the records group commit");
+		release.countDown();
+	}
+
+	@Test
+	void fullQueueRejectsAfterTheEnqueueTimeout() throws Exception {
+		start(1);
+		CountDownLatch inserting = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		when(bulk.execute()).thenAnswer(invocation -> {
+			inserting.countDown();
+			release.await(5, TimeUnit.SECONDS);
+			return null;
+		});
+
+		Future<InvestmentRecord> first = callers.submit(() -> writer.insertRecord(record("First")));
+		assertThat(inserting.await(5, TimeUnit.SECONDS)).isTrue();
+		Future<InvestmentRecord> queued = callers.submit(() -> writer.insertRecord(record("Queued")));
+		Object lane = ReflectionTestUtils.getField(writer, "records");
+		while (((Collection<?>) ReflectionTestUtils.getField(lane, "queue")).isEmpty()) {
+			Thread.onSpinWait();
+		}
+
+		assertThatThrownBy(() -> writer.insertRecord(record("Rejected")))
+			.hasMessageContaining("Too many pending records writes");
+
+		release.countDown();
+		assertThat(first.get(5, TimeUnit.SECONDS)).isNotNull();
+		assertThat(queued.get(5, TimeUnit.SECONDS)).isNotNull();
+	}
+
+	private void start(int queueCapacity) {
+		ReflectionTestUtils.setField(writer, "queueCapacity", queueCapacity);
+		writer.start();
+	}
+
+	private static InvestmentRecord record(String matchName) {
+		InvestmentRecord record = new InvestmentRecord();
+		record.setUserId("user-1");
+		record.setMatchName(matchName);
+		record.setAmountInvested(100.0);
+		record.setEntryDate(LocalDate.of(2025, 3, 9));
+		return record;
+	}
+
+}
@@ -0,0 +1,39 @@
+package com.example.demo.service;
+
+import com.example.demo.exception.BadRequestException;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTests {
+
+	@Test
+	void roundTripsDateAndId() {
+		String token = new KeysetCursor(LocalDate.of(2025, 3, 9), "65f1c0ffee00000000000001").encode();
+
+		KeysetCursor cursor = KeysetCursor.decode(token);
+
+		assertThat(token).doesNotContain("2025", "|", "=");
+		assertThat(cursor.getDate()).isEqualTo(LocalDate.of(2025, 3, 9));
+		assertThat(cursor.getId()).isEqualTo("65f1c0ffee00000000000001");
+	}
+
+	@Test
+	void roundTripsMissingDate() {
+		KeysetCursor cursor = KeysetCursor.decode(new KeysetCursor(null, "abc").encode());
+
+		assertThat(cursor.getDate()).isNull();
+		assertThat(cursor.getId()).isEqualTo("abc");
+	}
+
+	@Test
+	void rejectsTamperedTokens() {
+		assertThatThrownBy(() -> KeysetCursor.decode("not a cursor")).isInstanceOf(BadRequestException.class);
+		assertThatThrownBy(() -> KeysetCursor.decode("MnwyMDI1LTAxLTAxfGFi")).isInstanceOf(BadRequestException.class);
+	}
+
+}
@@ -0,0 +1,38 @@
+package com.example.demo.service;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeysetPagerTests {
+
+	private final KeysetPager pager = new KeysetPager();
+	private final String cursor = new KeysetCursor(LocalDate.of(2025, 3, 9), "a2").encode();
+
+	@Test
+	void unboundedListingContinuesIntoUndatedDocuments() {
+		Document query = pager.query(Criteria.where("userId").is("user-1"), "entryDate", null, null, cursor, 10)
+				.getQueryObject();
+
+		assertThat(query.getList("$or", Document.class)).containsExactly(
+				new Document("entryDate", new Document("$lt", LocalDate.of(2025, 3, 9))),
+				new Document("entryDate", LocalDate.of(2025, 3, 9)).append("id", new Document("$lt", "a2")),
+				new Document("entryDate", null));
+		assertThat(query).doesNotContainKey("entryDate");
+	}
+
+	@Test
+	void dateRangeLeavesUndatedDocumentsOut() {
+		Document query = pager.query(Criteria.where("userId").is("user-1"), "entryDate",
+				LocalDate.of(2025, 1, 1), null, cursor, 10).getQueryObject();
+
+		assertThat(query.getList("$or", Document.class)).hasSize(2)
+				.doesNotContain(new Document("entryDate", null));
+		assertThat(query.get("entryDate")).isEqualTo(new Document("$gte", LocalDate.of(2025, 1, 1))
+				.append("$lte", LocalDate.of(2025, 3, 9)));
+	}
+}
@@ -0,0 +1,106 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Schedule;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PublicScheduleFeedTests {
+
+	private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final PublicScheduleFeed feed = new PublicScheduleFeed();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(feed, "mongoTemplate", mongoTemplate);
+		ReflectionTestUtils.setField(feed, "objectMapper", objectMapper);
+		ReflectionTestUtils.setField(feed, "pageSize", 2);
+		ReflectionTestUtils.setField(feed, "maxSize", 5);
+	}
+
+	@Test
+	void pagesAreServedFromOneCappedQuery() throws Exception {
+		when(mongoTemplate.find(any(Query.class), eq(Schedule.class))).thenReturn(schedules(5));
+
+		JsonNode first = objectMapper.readTree(feed.page(0).getBody());
+		JsonNode last = objectMapper.readTree(feed.page(2).getBody());
+		JsonNode beyond = objectMapper.readTree(feed.page(7).getBody());
+
+		assertThat(first.get("schedules")).hasSize(2);
+		assertThat(first.get("hasMore").asBoolean()).isTrue();
+		assertThat(first.get("totalPages").asInt()).isEqualTo(3);
+		assertThat(last.get("schedules")).hasSize(1);
+		assertThat(last.get("hasMore").asBoolean()).isFalse();
+		assertThat(feed.page(2).getNextCursor()).isNull();
+		assertThat(beyond.get("schedules")).isEmpty();
+		assertThat(feed.page(0)).isSameAs(feed.page(0));
+		verify(mongoTemplate, times(1)).find(any(Query.class), eq(Schedule.class));
+	}
+
+	@Test
+	void cursorsResumeAfterTheScheduleTheyPointAt() throws Exception {
+		when(mongoTemplate.find(any(Query.class), eq(Schedule.class))).thenReturn(schedules(5));
+
+		PublicScheduleFeed.FeedPage first = feed.page(0);
+		JsonNode firstBody = objectMapper.readTree(first.getBody());
+		String midPage = new KeysetCursor(LocalDate.of(2025, 3, 18), "s2").encode();
+
+		assertThat(firstBody.get("nextCursor").asText()).isEqualTo(first.getNextCursor());
+		assertThat(feed.after(first.getNextCursor())).isSameAs(feed.page(1));
+		assertThat(objectMapper.readTree(feed.after(midPage).getBody()).get("schedules"))
+			.extracting(schedule -> schedule.get("id").asText()).containsExactly("s3", "s4");
+		assertThat(feed.after(new KeysetCursor(LocalDate.of(2025, 3, 16), "s4").encode())).isSameAs(feed.page(7));
+	}
+
+	@Test
+	void refreshIsIdleUntilTheFeedIsRequested() {
+		feed.refresh();
+
+		verify(mongoTemplate, never()).find(any(Query.class), eq(Schedule.class));
+	}
+
+	@Test
+	void failedRefreshKeepsThePreviousSnapshot() {
+		when(mongoTemplate.find(any(Query.class), eq(Schedule.class)))
+			.thenReturn(schedules(3))
+			.thenThrow(new RuntimeException("mongo down"));
+		PublicScheduleFeed.FeedPage before = feed.page(1);
+
+		feed.refresh();
+
+		assertThat(feed.page(1)).isSameAs(before);
+	}
+
+	private static List<Schedule> schedules(int count) {
+		List<Schedule> schedules = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			Schedule schedule = new Schedule();
+			schedule.setId("s" + i);
+			schedule.setMatchName("Match " + i);
+			schedule.setMatchDate(LocalDate.of(2025, 3, 20).minusDays(i));
+			schedules.add(schedule);
+		}
+		return schedules;
+	}
+
+}
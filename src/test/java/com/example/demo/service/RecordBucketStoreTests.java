@@ -0,0 +1,191 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.response.BulkWriteResponse;
+import com.example.demo.dto.response.KeysetPage;
+import com.example.demo.model.InvestmentRecord;
+import com.example.demo.model.RecordBucket;
+
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.UpdateMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RecordBucketStoreTests {
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final RecordBucketStore store = new RecordBucketStore();
+	private MappingMongoConverter converter;
+
+	@BeforeEach
+	void setUp() {
+		MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+		MongoMappingContext mappingContext = new MongoMappingContext();
+		mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+		converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+		converter.setCustomConversions(conversions);
+		converter.afterPropertiesSet();
+
+		ReflectionTestUtils.setField(store, "mongoTemplate", mongoTemplate);
+		ReflectionTestUtils.setField(store, "storage", "buckets");
+	}
+
+	@Test
+	void storesEntriesUnderCompactKeysWithRunningTotals() {
+		InvestmentRecord win = record("a1", LocalDate.of(2025, 3, 9), 100.0, 150.0);
+		InvestmentRecord loss = record("a2", LocalDate.of(2025, 3, 1), 50.0, 40.0);
+
+		Document update = new UpdateMapper(converter).getMappedObject(
+				RecordBucketStore.pushUpdate("user-1", "2025-03", 0, List.of(win, loss)).getUpdateObject(),
+				converter.getMappingContext().getPersistentEntity(RecordBucket.class));
+
+		List<?> pushed = update.get("$push", Document.class).get("e", Document.class).getList("$each", Object.class);
+		assertThat(pushed).hasSize(2);
+		assertThat((Document) pushed.get(0)).containsKeys("i", "a", "p", "d").doesNotContainKey("amountInvested");
+		assertThat(update.get("$inc", Document.class)).isEqualTo(new Document("count", 2)
+				.append("totalInvestment", 150.0).append("profitSum", 190.0).append("stakeBeaten", 1));
+	}
+
+	@Test
+	void insertAllFillsTheLastBucketAndOpensOverflowBuckets() {
+		ReflectionTestUtils.setField(store, "maxEntries", 2);
+		RecordBucket last = RecordBucketStore.newBucket("user-1", "2025-03", List.of(
+				record("a1", LocalDate.of(2025, 3, 1), 10.0, 5.0)));
+		BulkOperations bulk = mock(BulkOperations.class);
+		when(mongoTemplate.find(any(Query.class), eq(RecordBucket.class))).thenReturn(List.of(last));
+		when(mongoTemplate.bulkOps(BulkMode.UNORDERED, RecordBucket.class)).thenReturn(bulk);
+
+		store.insertAll(List.of(
+				record("a2", LocalDate.of(2025, 3, 2), 10.0, 5.0),
+				record("a3", LocalDate.of(2025, 3, 3), 10.0, 5.0),
+				record("a4", LocalDate.of(2025, 3, 4), 10.0, 5.0),
+				record("a5", LocalDate.of(2025, 3, 5), 10.0, 5.0)));
+
+		ArgumentCaptor<Query> targets = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> pushes = ArgumentCaptor.forClass(Update.class);
+		verify(bulk, times(3)).upsert(targets.capture(), pushes.capture());
+		assertThat(targets.getAllValues()).extracting(query -> query.getQueryObject().get("_id"))
+				.containsExactly("user-1:2025-03", "user-1:2025-03:1", "user-1:2025-03:2");
+		assertThat(targets.getAllValues()).extracting(query -> query.getQueryObject().get("count"))
+				.containsExactly(new Document("$lte", 1), new Document("$lte", 0), new Document("$lte", 1));
+		assertThat(pushes.getAllValues()).extracting(update -> update.getUpdateObject().get("$inc", Document.class).get("count"))
+				.containsExactly(1, 2, 1);
+	}
+
+	@Test
+	void sameMonthUpdateAppliesTheNetDeltaToTheTotals() {
+		InvestmentRecord previous = record("a1", LocalDate.of(2025, 3, 9), 100.0, 150.0);
+		InvestmentRecord updated = record("a1", LocalDate.of(2025, 3, 12), 80.0, 60.0);
+
+		store.update(previous, updated);
+
+		ArgumentCaptor<Update> captured = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate).updateFirst(any(Query.class), captured.capture(), eq(RecordBucket.class));
+		verify(mongoTemplate, never()).remove(any(Query.class), eq(RecordBucket.class));
+		Document update = new UpdateMapper(converter).getMappedObject(captured.getValue().getUpdateObject(),
+				converter.getMappingContext().getPersistentEntity(RecordBucket.class));
+
+		assertThat(update.get("$inc", Document.class)).isEqualTo(new Document("count", 0)
+				.append("totalInvestment", -20.0).append("profitSum", -90.0).append("stakeBeaten", -1));
+		assertThat(update.get("$set", Document.class).get("e.$", Document.class)).containsEntry("a", 80.0);
+	}
+
+	@Test
+	void pagesAcrossMonthsInKeysetOrder() {
+		RecordBucket march = RecordBucketStore.newBucket("user-1", "2025-03", List.of(
+				record("a1", LocalDate.of(2025, 3, 1), 10.0, 5.0),
+				record("a3", LocalDate.of(2025, 3, 9), 10.0, 5.0),
+				record("a2", LocalDate.of(2025, 3, 9), 10.0, 5.0)));
+		RecordBucket february = RecordBucketStore.newBucket("user-1", "2025-02", List.of(
+				record("b1", LocalDate.of(2025, 2, 20), 10.0, 5.0)));
+		when(mongoTemplate.stream(any(Query.class), eq(RecordBucket.class)))
+				.thenAnswer(invocation -> Stream.of(march, february));
+
+		KeysetPage<InvestmentRecord> first = store.page("user-1", null, null, null, null, 2);
+		KeysetPage<InvestmentRecord> second = store.page("user-1", null, null, null, first.getNextCursor(), 2);
+
+		assertThat(first.getItems()).extracting(InvestmentRecord::getId).containsExactly("a3", "a2");
+		assertThat(second.getItems()).extracting(InvestmentRecord::getId).containsExactly("a1", "b1");
+		assertThat(second.getNextCursor()).isNull();
+		assertThat(second.getItems()).allSatisfy(record -> assertThat(record.getUserId()).isEqualTo("user-1"));
+	}
+
+	@Test
+	void newBucketSumsItsRecords() {
+		RecordBucket bucket = RecordBucketStore.newBucket("user-1", "2025-03", List.of(
+				record("a1", LocalDate.of(2025, 3, 1), 100.0, 150.0),
+				record("a2", LocalDate.of(2025, 3, 2), 100.0, null)));
+
+		assertThat(bucket.getId()).isEqualTo("user-1:2025-03");
+		assertThat(bucket.getCount()).isEqualTo(2);
+		assertThat(bucket.getTotalInvestment()).isEqualTo(200.0);
+		assertThat(bucket.getProfitSum()).isEqualTo(150.0);
+		assertThat(bucket.getStakeBeaten()).isEqualTo(1);
+	}
+
+	@Test
+	void bulkRemovalRewritesEachAffectedBucketOnce() {
+		RecordBucket march = RecordBucketStore.newBucket("user-1", "2025-03", List.of(
+				record("a1", LocalDate.of(2025, 3, 1), 10.0, 5.0),
+				record("a2", LocalDate.of(2025, 3, 2), 20.0, 5.0),
+				record("a3", LocalDate.of(2025, 3, 9), 30.0, 5.0)));
+		RecordBucket february = RecordBucketStore.newBucket("user-1", "2025-02", List.of(
+				record("b1", LocalDate.of(2025, 2, 20), 10.0, 5.0)));
+		BulkOperations bulk = mock(BulkOperations.class);
+		BulkWriteResult result = mock(BulkWriteResult.class);
+		when(mongoTemplate.find(any(Query.class), eq(RecordBucket.class))).thenReturn(List.of(march, february));
+		when(mongoTemplate.bulkOps(BulkMode.UNORDERED, RecordBucket.class)).thenReturn(bulk);
+		when(bulk.execute()).thenReturn(result);
+		when(result.getMatchedCount()).thenReturn(1);
+		when(result.getDeletedCount()).thenReturn(1);
+
+		BulkWriteResponse response = store.rewrite("user-1", List.of("a1", "a2", "b1", "x9"), null, null, null, null);
+
+		ArgumentCaptor<Query> replaced = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<RecordBucket> rewritten = ArgumentCaptor.forClass(RecordBucket.class);
+		verify(bulk).replaceOne(replaced.capture(), rewritten.capture());
+		verify(bulk).remove(Query.query(Criteria
+				.where("_id").is("user-1:2025-02").and("count").is(1)));
+		assertThat(replaced.getValue().getQueryObject()).isEqualTo(new Document("_id", "user-1:2025-03").append("count", 3));
+		assertThat(rewritten.getValue().getEntries()).extracting(RecordBucket.Entry::getId).containsExactly("a3");
+		assertThat(rewritten.getValue().getTotalInvestment()).isEqualTo(30.0);
+		assertThat(response.getDeleted()).isEqualTo(3);
+	}
+
+	private static InvestmentRecord record(String id, LocalDate entryDate, Double amount, Double profit) {
+		InvestmentRecord record = new InvestmentRecord();
+		record.setId(id);
+		record.setUserId("user-1");
+		record.setSportType("CRICKET");
+		record.setEntryDate(entryDate);
+		record.setAmountInvested(amount);
+		record.setEstimatedProfit(profit);
+		return record;
+	}
+
+}
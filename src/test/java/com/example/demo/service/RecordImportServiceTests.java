@@ -0,0 +1,102 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.response.BulkImportResponse;
+import com.example.demo.model.InvestmentRecord;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RecordImportServiceTests {
+
+	private static final String VALID = "{\"matchName\":\"Final\",\"sportType\":\"CRICKET\",\"teamA\":\"A\",\"teamB\":\"B\","
+			+ "\"winnerOrDraw\":\"A\",\"amountInvested\":100,\"ratio\":1.5,\"entryDate\":\"2025-01-02\"}";
+
+	private static final String MISSING_AMOUNT = "{\"matchName\":\"Final\",\"sportType\":\"CRICKET\",\"teamA\":\"A\","
+			+ "\"teamB\":\"B\",\"winnerOrDraw\":\"A\",\"ratio\":1.5,\"entryDate\":\"2025-01-02\"}";
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final BulkOperations bulkOperations = mock(BulkOperations.class);
+	private final AnalyticsRollupService rollupService = mock(AnalyticsRollupService.class);
+	private final DataVersionService dataVersionService = mock(DataVersionService.class);
+	private final RecordBucketStore recordBuckets = mock(RecordBucketStore.class);
+	private final RecordImportService importService = new RecordImportService();
+	private final List<List<InvestmentRecord>> insertedChunks = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		when(mongoTemplate.bulkOps(BulkMode.UNORDERED, InvestmentRecord.class)).thenReturn(bulkOperations);
+		when(bulkOperations.insert(anyList())).thenAnswer(invocation -> {
+			insertedChunks.add(new ArrayList<>(invocation.<List<InvestmentRecord>>getArgument(0)));
+			return bulkOperations;
+		});
+
+		ReflectionTestUtils.setField(importService, "mongoTemplate", mongoTemplate);
+		ReflectionTestUtils.setField(importService, "objectMapper", new ObjectMapper().findAndRegisterModules());
+		ReflectionTestUtils.setField(importService, "validator",
+				Validation.buildDefaultValidatorFactory().getValidator());
+		ReflectionTestUtils.setField(importService, "analyticsRollupService", rollupService);
+		ReflectionTestUtils.setField(importService, "dataVersionService", dataVersionService);
+		ReflectionTestUtils.setField(importService, "recordBuckets", recordBuckets);
+		ReflectionTestUtils.setField(importService, "chunkSize", 2);
+	}
+
+	@Test
+	void importsJsonArrayInChunksAndReportsInvalidItems() throws Exception {
+		BulkImportResponse response = importService.importRecords(
+				body("[" + VALID + "," + MISSING_AMOUNT + "," + VALID + "," + VALID + "]"), "user-1");
+
+		assertThat(response.getReceived()).isEqualTo(4);
+		assertThat(response.getInserted()).isEqualTo(3);
+		assertThat(response.getFailed()).isEqualTo(1);
+		assertThat(response.getErrors()).singleElement().satisfies(error -> {
+			assertThat(error.getIndex()).isEqualTo(1);
+			assertThat(error.getMessages()).singleElement().asString().startsWith("amountInvested:");
+		});
+
+		assertThat(insertedChunks).extracting(List::size).containsExactly(2, 1);
+		verify(bulkOperations, times(2)).execute();
+		verify(rollupService, times(2)).recordsAdded(any());
+		verify(dataVersionService).bump("user-1");
+
+		InvestmentRecord first = insertedChunks.get(0).get(0);
+		assertThat(first.getUserId()).isEqualTo("user-1");
+		assertThat(first.getEstimatedProfit()).isEqualTo(150.0);
+		assertThat(first.getCreatedDate()).isNotNull();
+	}
+
+	@Test
+	void importsNdjsonAndStopsAtMalformedLine() throws Exception {
+		BulkImportResponse response = importService.importRecords(
+				body(VALID + "\n" + "{\"matchName\": 1, \"amountInvested\": \"lots\"}\n" + VALID + "\n{oops\n"), "user-1");
+
+		assertThat(response.getReceived()).isEqualTo(4);
+		assertThat(response.getInserted()).isEqualTo(2);
+		assertThat(response.getFailed()).isEqualTo(2);
+		assertThat(response.getErrors()).extracting(BulkImportResponse.ItemError::getIndex).containsExactly(1, 3);
+		assertThat(response.getErrors().get(1).getMessages().get(0)).startsWith("Malformed JSON");
+	}
+
+	private static ByteArrayInputStream body(String json) {
+		return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
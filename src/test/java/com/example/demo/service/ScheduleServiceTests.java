@@ -0,0 +1,60 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Schedule;
+import com.example.demo.repository.ScheduleRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ScheduleServiceTests {
+
+	private final ScheduleRepository scheduleRepository = mock(ScheduleRepository.class);
+	private final ScheduleService scheduleService = new ScheduleService();
+
+	ScheduleServiceTests() {
+		ReflectionTestUtils.setField(scheduleService, "scheduleRepository", scheduleRepository);
+	}
+
+	@Test
+	void existenceCheckQueriesTheNormalisedNameKey() {
+		LocalDate matchDate = LocalDate.of(2025, 3, 9);
+		when(scheduleRepository.existsByUserIdAndMatchNameKeyAndMatchDate("user-1", "ipl final", matchDate))
+			.thenReturn(true);
+
+		assertThat(scheduleService.scheduleExists("IPL Final", "user-1", matchDate)).isTrue();
+		verify(scheduleRepository, never()).findByUserId(anyString());
+	}
+
+	@Test
+	void matchNameKeyFollowsTheMatchName() {
+		Schedule schedule = new Schedule();
+		schedule.setMatchName("IPL Final");
+
+		assertThat(ReflectionTestUtils.getField(schedule, "matchNameKey")).isEqualTo("ipl final");
+		assertThat(Schedule.matchNameKey(null)).isNull();
+	}
+
+	@Test
+	void dateFiltersAreRepositoryQueries() {
+		LocalDate start = LocalDate.of(2025, 3, 1);
+		LocalDate end = LocalDate.of(2025, 3, 31);
+
+		scheduleService.getTodaySchedules("user-1");
+		scheduleService.getSchedulesByDateRange("user-1", start, end);
+
+		verify(scheduleRepository).findByUserIdAndMatchDate("user-1", LocalDate.now());
+		verify(scheduleRepository).findByUserIdAndDateRange("user-1", start, end);
+		verify(scheduleRepository, never()).findByUserId(any());
+	}
+
+}
@@ -0,0 +1,86 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Schedule;
+import com.example.demo.repository.ScheduleRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UpcomingScheduleCalendarTests {
+
+	private final LocalDate today = LocalDate.now();
+	private final ScheduleRepository scheduleRepository = mock(ScheduleRepository.class);
+	private final UpcomingScheduleCalendar calendar = new UpcomingScheduleCalendar();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(calendar, "scheduleRepository", scheduleRepository);
+		ReflectionTestUtils.setField(calendar, "maxEntries", 1000L);
+		ReflectionTestUtils.setField(calendar, "idleExpiry", Duration.ofMinutes(30));
+		ReflectionTestUtils.setField(calendar, "maxStaleness", Duration.ofMinutes(5));
+		calendar.init();
+
+		when(scheduleRepository.findByUserIdAndMatchDateAfterOrderByMatchDateAsc(eq("user-1"), any()))
+			.thenReturn(new ArrayList<>(List.of(schedule("s2", 5), schedule("s1", 2))));
+	}
+
+	@Test
+	void loadsOnceAndAnswersFromMemory() {
+		assertThat(calendar.upcoming("user-1")).extracting(Schedule::getId).containsExactly("s1", "s2");
+		assertThat(calendar.upcoming("user-1")).extracting(Schedule::getId).containsExactly("s1", "s2");
+
+		verify(scheduleRepository, times(1)).findByUserIdAndMatchDateAfterOrderByMatchDateAsc("user-1", today);
+	}
+
+	@Test
+	void followsScheduleWrites() {
+		calendar.upcoming("user-1");
+
+		calendar.scheduleSaved(schedule("s3", 3));
+		calendar.scheduleSaved(schedule("s2", 0));   // moved to today: no longer upcoming
+		calendar.scheduleDeleted(schedule("s1", 2));
+		calendar.scheduleSaved(schedule("x1", 1, "user-2"));   // no calendar loaded for user-2
+
+		assertThat(calendar.upcoming("user-1")).extracting(Schedule::getId).containsExactly("s3");
+		verify(scheduleRepository, times(1)).findByUserIdAndMatchDateAfterOrderByMatchDateAsc(eq("user-1"), any());
+	}
+
+	@Test
+	void rollOverDropsMatchesThatAreNoLongerUpcoming() {
+		UpcomingScheduleCalendar.UserCalendar loaded = new UpcomingScheduleCalendar.UserCalendar(
+			List.of(schedule("s1", 1), schedule("s2", 2)), today, System.nanoTime());
+
+		UpcomingScheduleCalendar.UserCalendar rolled = loaded.trimmedTo(today.plusDays(1));
+
+		assertThat(rolled.schedules).extracting(Schedule::getId).containsExactly("s2");
+		assertThat(loaded.after(today.plusDays(1))).extracting(Schedule::getId).containsExactly("s2");
+	}
+
+	private Schedule schedule(String id, int daysAhead) {
+		return schedule(id, daysAhead, "user-1");
+	}
+
+	private Schedule schedule(String id, int daysAhead, String userId) {
+		Schedule schedule = new Schedule();
+		schedule.setId(id);
+		schedule.setUserId(userId);
+		schedule.setMatchName("Match " + id);
+		schedule.setMatchDate(today.plusDays(daysAhead));
+		return schedule;
+	}
+
+}
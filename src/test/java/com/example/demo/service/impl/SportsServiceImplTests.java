@@ -0,0 +1,103 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.dto.request.BulkSelectionRequest;
+import com.example.demo.dto.response.BulkWriteResponse;
+import com.example.demo.exception.BadRequestException;
+import com.example.demo.model.InvestmentRecord;
+import com.example.demo.service.AnalyticsRollupService;
+import com.example.demo.service.DataVersionService;
+import com.example.demo.service.RecordBucketStore;
+
+import com.mongodb.client.result.DeleteResult;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class SportsServiceImplTests {
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final AnalyticsRollupService analyticsRollupService = mock(AnalyticsRollupService.class);
+	private final DataVersionService dataVersionService = mock(DataVersionService.class);
+	private final SportsServiceImpl sportsService = new SportsServiceImpl();
+
+	SportsServiceImplTests() {
+		ReflectionTestUtils.setField(sportsService, "mongoTemplate", mongoTemplate);
+		ReflectionTestUtils.setField(sportsService, "analyticsRollupService", analyticsRollupService);
+		ReflectionTestUtils.setField(sportsService, "dataVersionService", dataVersionService);
+		ReflectionTestUtils.setField(sportsService, "recordBuckets", new RecordBucketStore());
+	}
+
+	@Test
+	void bulkDeleteIsOneOwnerScopedDeleteMany() {
+		BulkSelectionRequest request = new BulkSelectionRequest();
+		request.setSportType("CRICKET");
+		request.setStartDate(LocalDate.of(2025, 3, 1));
+		List<InvestmentRecord> selected = List.of(record("a1"), record("a2"));
+		when(mongoTemplate.find(any(Query.class), eq(InvestmentRecord.class))).thenReturn(selected);
+		when(mongoTemplate.remove(any(Query.class), eq(InvestmentRecord.class))).thenReturn(DeleteResult.acknowledged(2));
+
+		BulkWriteResponse result = sportsService.deleteRecords(request, "user-1");
+
+		ArgumentCaptor<Query> selection = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Query> removal = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate).find(selection.capture(), eq(InvestmentRecord.class));
+		verify(mongoTemplate).remove(removal.capture(), eq(InvestmentRecord.class));
+		assertThat(selection.getValue().getQueryObject()).isEqualTo(new Document("userId", "user-1")
+			.append("sportType", "CRICKET").append("entryDate", new Document("$gte", LocalDate.of(2025, 3, 1))));
+		assertThat(removal.getValue().getQueryObject()).isEqualTo(new Document("userId", "user-1")
+			.append("_id", new Document("$in", List.of("a1", "a2"))));
+		verify(analyticsRollupService).recordsRemoved(selected);
+		verify(dataVersionService).bump("user-1");
+		assertThat(result.getDeleted()).isEqualTo(2);
+	}
+
+	@Test
+	void bulkDeleteRacingAnotherDeleteQueuesARollupRepair() {
+		BulkSelectionRequest request = new BulkSelectionRequest();
+		request.setSportType("CRICKET");
+		when(mongoTemplate.find(any(Query.class), eq(InvestmentRecord.class))).thenReturn(List.of(record("a1"), record("a2")));
+		when(mongoTemplate.remove(any(Query.class), eq(InvestmentRecord.class))).thenReturn(DeleteResult.acknowledged(1));
+
+		BulkWriteResponse result = sportsService.deleteRecords(request, "user-1");
+
+		verify(analyticsRollupService, never()).recordsRemoved(anyList());
+		verify(analyticsRollupService).requestRepair("user-1");
+		assertThat(result.getDeleted()).isEqualTo(1);
+	}
+
+	@Test
+	void bulkWritesNeedASelection() {
+		assertThatThrownBy(() -> sportsService.deleteRecords(new BulkSelectionRequest(), "user-1"))
+			.isInstanceOf(BadRequestException.class);
+		verifyNoInteractions(mongoTemplate);
+	}
+
+	private static InvestmentRecord record(String id) {
+		InvestmentRecord record = new InvestmentRecord();
+		record.setId(id);
+		record.setUserId("user-1");
+		record.setSportType("CRICKET");
+		record.setEntryDate(LocalDate.of(2025, 3, 9));
+		record.setAmountInvested(100.0);
+		record.setEstimatedProfit(150.0);
+		return record;
+	}
+
+}